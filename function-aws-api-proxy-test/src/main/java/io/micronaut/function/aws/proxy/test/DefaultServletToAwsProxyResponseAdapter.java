@@ -20,6 +20,7 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.function.aws.proxy.MutableMapListOfStringAndMapStringConvertibleMultiValue;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 
 import jakarta.inject.Singleton;
@@ -75,6 +76,12 @@ public class DefaultServletToAwsProxyResponseAdapter implements ServletToAwsProx
         for (String name: entries.names()) {
             response.addHeader(name, String.join(",", entries.getAll(name)));
         }
+        List<String> cookies = apiGatewayV2HTTPResponse.getCookies();
+        if (cookies != null) {
+            for (String cookie : cookies) {
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie);
+            }
+        }
     }
 
     /**
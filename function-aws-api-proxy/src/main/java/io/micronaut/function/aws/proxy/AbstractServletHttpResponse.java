@@ -16,6 +16,7 @@
 package io.micronaut.function.aws.proxy;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
@@ -30,7 +31,6 @@ import io.micronaut.http.cookie.Cookie;
 import io.micronaut.http.cookie.ServerCookieEncoder;
 import io.micronaut.servlet.http.ServletHttpResponse;
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.Optional;
@@ -44,19 +44,67 @@ import java.util.Optional;
  */
 @Internal
 public abstract class AbstractServletHttpResponse<R, B> implements ServletHttpResponse<R, B> {
-    protected final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    protected final ProxyResponseBodyOutputStream body = new ProxyResponseBodyOutputStream();
     protected int status = HttpStatus.OK.getCode();
     protected  final MutableHttpHeaders headers;
     protected final BinaryTypeConfiguration binaryTypeConfiguration;
     private MutableConvertibleValues<Object> attributes;
     private B bodyObject;
     private String reason = HttpStatus.OK.getReason();
+    private ProxyCompressionConfiguration compressionConfiguration;
+    private String contentCoding;
+    private boolean compressed;
 
     protected AbstractServletHttpResponse(ConversionService conversionService, BinaryTypeConfiguration binaryTypeConfiguration) {
         this.headers = new CaseInsensitiveMutableHttpHeaders(conversionService);
         this.binaryTypeConfiguration = binaryTypeConfiguration;
     }
 
+    /**
+     * Chooses the compression of the body from the {@code Accept-Encoding} header of the request.
+     *
+     * @param configuration The compression configuration
+     * @param acceptEncoding The {@code Accept-Encoding} header of the request
+     * @since 4.8.0
+     */
+    public void negotiateCompression(@Nullable ProxyCompressionConfiguration configuration, @Nullable String acceptEncoding) {
+        if (configuration != null && configuration.isEnabled()) {
+            this.compressionConfiguration = configuration;
+            this.contentCoding = ProxyResponseCompression.negotiate(acceptEncoding);
+        }
+    }
+
+    /**
+     * Encodes the body for the native response. The body is compressed if negotiated, and Base 64 encoded if compressed or binary.
+     * Compressing the body sets the {@code Content-Encoding} and {@code Vary} headers, so the body is encoded before the headers are written.
+     *
+     * @return The encoded body
+     * @since 4.8.0
+     */
+    @NonNull
+    protected EncodedBody encodeBody() {
+        if (isCompressed()) {
+            return new EncodedBody(ProxyResponseCompression.compress(body, contentCoding, compressionConfiguration.getLevel()).toBase64String(), true);
+        }
+        if (binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null))) {
+            return new EncodedBody(body.toBase64String(), true);
+        }
+        return new EncodedBody(body.isEmpty() ? null : body.toString(getCharacterEncoding()), false);
+    }
+
+    private boolean isCompressed() {
+        if (!compressed && contentCoding != null
+            && body.size() >= compressionConfiguration.getMinSize()
+            && !headers.contains(HttpHeaders.CONTENT_ENCODING)
+            && !ProxyResponseCompression.isExcluded(compressionConfiguration.getExcludedMediaTypes(), getContentType().orElse(null))) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, contentCoding);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            compressed = true;
+        }
+        return compressed;
+    }
+
     @Override
     public OutputStream getOutputStream() {
         return body;
@@ -126,4 +174,14 @@ public abstract class AbstractServletHttpResponse<R, B> implements ServletHttpRe
     public String reason() {
         return reason;
     }
+
+    /**
+     * The body of the native response.
+     *
+     * @param body The encoded body or {@code null} if there is no body
+     * @param base64Encoded Whether the body is Base 64 encoded
+     * @since 4.8.0
+     */
+    protected record EncodedBody(@Nullable String body, boolean base64Encoded) {
+    }
 }
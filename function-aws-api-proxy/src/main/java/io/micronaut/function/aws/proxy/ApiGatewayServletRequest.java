@@ -28,9 +28,10 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.SupplierUtil;
-import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
 import io.micronaut.http.FullHttpRequest;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpParameters;
@@ -39,6 +40,7 @@ import io.micronaut.http.ServerHttpRequest;
 import io.micronaut.http.body.ByteBody;
 import io.micronaut.http.cookie.Cookie;
 import io.micronaut.http.cookie.Cookies;
+import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.uri.UriBuilder;
 import io.micronaut.servlet.http.MutableServletHttpRequest;
 import io.micronaut.servlet.http.BodyBuilder;
@@ -51,6 +53,7 @@ import org.slf4j.Logger;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -65,6 +68,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Base class for all the versions of the Gateway events.
@@ -79,10 +83,12 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
 
     private static final Set<Class<?>> RAW_BODY_TYPES = CollectionUtils.setOf(String.class, byte[].class, ByteBuffer.class, InputStream.class);
     private static final String SLASH = "/";
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
 
     protected ConversionService conversionService;
     protected final REQ requestEvent;
-    private URI uri;
+    private Supplier<URI> uri;
     private final HttpMethod httpMethod;
     private final Logger log;
     private Cookies cookies;
@@ -92,6 +98,10 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
     private T overriddenBody;
 
     private ByteArrayByteBuffer<T> servletByteBuffer;
+    private byte[] bodyBytes;
+    private int maxDecompressedBodySize = ProxyCompressionConfiguration.DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE;
+    private MutableHttpHeaders headers;
+    private MutableHttpParameters parameters;
 
     protected ApiGatewayServletRequest(
         ConversionService conversionService,
@@ -100,10 +110,30 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
         HttpMethod httpMethod,
         Logger log,
         BodyBuilder bodyBuilder
+    ) {
+        this(conversionService, request, () -> uri, httpMethod, log, bodyBuilder);
+    }
+
+    /**
+     * @param conversionService The conversion service
+     * @param request The request event
+     * @param uriSupplier Supplier of the request URI, called once on the first access to the URI
+     * @param httpMethod The HTTP method
+     * @param log The logger
+     * @param bodyBuilder The body builder
+     * @since 4.8.0
+     */
+    protected ApiGatewayServletRequest(
+        ConversionService conversionService,
+        REQ request,
+        Supplier<URI> uriSupplier,
+        HttpMethod httpMethod,
+        Logger log,
+        BodyBuilder bodyBuilder
     ) {
         this.conversionService = conversionService;
         this.requestEvent = request;
-        this.uri = uri;
+        this.uri = SupplierUtil.memoized(uriSupplier);
         this.httpMethod = httpMethod;
         this.log = log;
         this.body = SupplierUtil.memoizedNonEmpty(() -> {
@@ -121,7 +151,77 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
         }
     }
 
-    public abstract byte[] getBodyBytes() throws EmptyBodyException;
+    /**
+     * Returns the body of the request, decoded from Base 64 and decompressed if needed. The body is decoded once and the same array is returned afterwards.
+     *
+     * @return The body bytes
+     * @throws EmptyBodyException if the body is empty
+     */
+    public byte[] getBodyBytes() throws EmptyBodyException {
+        byte[] bytes = bodyBytes;
+        if (bytes == null) {
+            String requestBody = getEventBody();
+            if (StringUtils.isEmpty(requestBody)) {
+                throw new EmptyBodyException();
+            }
+            bytes = isEventBodyBase64Encoded() ? Base64.getDecoder().decode(requestBody) : requestBody.getBytes(getCharacterEncoding());
+            if (isGzipEncodedBody()) {
+                bytes = gunzip(bytes);
+            }
+            bodyBytes = bytes;
+        }
+        return bytes;
+    }
+
+    private boolean isGzipEncodedBody() {
+        String contentEncoding = getHeaders().get(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding != null && (GZIP.equalsIgnoreCase(contentEncoding.trim()) || X_GZIP.equalsIgnoreCase(contentEncoding.trim()));
+    }
+
+    /**
+     * Applies the limits of the configuration to the decompression of the request body.
+     *
+     * @param configuration The compression configuration
+     * @since 4.8.0
+     */
+    public void configureDecompression(@Nullable ProxyCompressionConfiguration configuration) {
+        if (configuration != null) {
+            this.maxDecompressedBodySize = configuration.getMaxDecompressedRequestSize();
+        }
+    }
+
+    private byte[] gunzip(byte[] bytes) {
+        try (InputStream inputStream = gunzip(new ByteArrayInputStream(bytes))) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw invalidGzipBody();
+        }
+    }
+
+    private InputStream gunzip(InputStream inputStream) {
+        try {
+            return new GzipBodyInputStream(new GZIPInputStream(inputStream), maxDecompressedBodySize);
+        } catch (IOException e) {
+            throw invalidGzipBody();
+        }
+    }
+
+    private static HttpStatusException invalidGzipBody() {
+        return new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid gzip request body");
+    }
+
+    /**
+     * @return The body of the request event, as received
+     * @since 4.8.0
+     */
+    @Nullable
+    protected abstract String getEventBody();
+
+    /**
+     * @return Whether the body of the request event is Base 64 encoded
+     * @since 4.8.0
+     */
+    protected abstract boolean isEventBodyBase64Encoded();
 
     /**
      * Given a path and the query params from the event, build a URI.
@@ -156,7 +256,19 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return servletByteBuffer != null ? servletByteBuffer.toInputStream() : new ByteArrayInputStream(getBodyBytes());
+        if (servletByteBuffer != null) {
+            return servletByteBuffer.toInputStream();
+        }
+        if (bodyBytes == null && isEventBodyBase64Encoded()) {
+            String requestBody = getEventBody();
+            if (StringUtils.isEmpty(requestBody)) {
+                throw new EmptyBodyException();
+            }
+            // decode while reading rather than materializing the decoded body
+            InputStream inputStream = Base64.getDecoder().wrap(new AsciiStringInputStream(requestBody));
+            return isGzipEncodedBody() ? gunzip(inputStream) : inputStream;
+        }
+        return new ByteArrayInputStream(getBodyBytes());
     }
 
     @Override
@@ -182,7 +294,7 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
 
     @Override
     public URI getUri() {
-        return uri;
+        return uri.get();
     }
 
     @NonNull
@@ -247,7 +359,7 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
 
     @Override
     public MutableHttpRequest<T> uri(URI uri) {
-        this.uri = uri;
+        this.uri = () -> uri;
         return this;
     }
 
@@ -266,7 +378,11 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
     protected MapListOfStringAndMapStringMutableHttpParameters getParametersFromBody(Map<String, String> queryStringParameters) {
         Map<String, List<String>> parameters = null;
         try {
-            parameters = new QueryStringDecoder(new String(getBodyBytes(), getCharacterEncoding()), false).parameters();
+            String requestBody = isEventBodyBase64Encoded() || isGzipEncodedBody() ? new String(getBodyBytes(), getCharacterEncoding()) : getEventBody();
+            if (StringUtils.isEmpty(requestBody)) {
+                throw new EmptyBodyException();
+            }
+            parameters = new QueryStringDecoder(requestBody, false).parameters();
         } catch (IOException ex) {
             if (log.isDebugEnabled()) {
                 log.debug("Error decoding form data: " + ex.getMessage(), ex);
@@ -289,7 +405,7 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
     public @Nullable ByteBuffer<?> contents() {
         try {
             if (servletByteBuffer == null) {
-                this.servletByteBuffer = new ByteArrayByteBuffer<>(getInputStream().readAllBytes());
+                this.servletByteBuffer = new ByteArrayByteBuffer<>(getBodyBytes());
             }
             return servletByteBuffer;
         } catch (IOException e) {
@@ -312,7 +428,9 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
      * @param base64EncodedSupplier Whether the body is Base 64 encoded
      * @return body bytes
      * @throws IOException if the body is empty
+     * @deprecated The body is read with {@link #getEventBody()} and {@link #isEventBodyBase64Encoded()} and decoded once by {@link #getBodyBytes()}
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     protected byte[] getBodyBytes(@NonNull Supplier<String> bodySupplier, @NonNull BooleanSupplier base64EncodedSupplier) throws EmptyBodyException {
         String requestBody = bodySupplier.get();
         if (StringUtils.isEmpty(requestBody)) {
@@ -351,17 +469,39 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
     @NonNull
     protected MutableHttpParameters getParameters(@NonNull Supplier<Map<String, String>> queryStringParametersSupplier,
                                                   @NonNull Supplier<Map<String, List<String>>> multiQueryStringParametersSupplier) {
-        Map<String, List<String>> multi = multiQueryStringParametersSupplier.get();
-        Map<String, String> single = queryStringParametersSupplier.get();
-        MediaType mediaType = getContentType().orElse(MediaType.APPLICATION_JSON_TYPE);
-        if (isFormSubmission(mediaType)) {
-            return getParametersFromBody(MapCollapseUtils.collapse(MapCollapseUtils.collapse(multi, single)));
-        } else {
-            return new MapListOfStringAndMapStringMutableHttpParameters(conversionService, multi, single);
+        return getParameters(queryStringParametersSupplier, multiQueryStringParametersSupplier, false);
+    }
+
+    /**
+     * Returns the parameters of the request, created on the first call as a view over the maps of the event.
+     *
+     * @param queryStringParametersSupplier Query String parameters as a map with key string and value string
+     * @param multiQueryStringParametersSupplier Query String parameters as a map with key string and value list of strings
+     * @param splitCommaSeparatedValues Whether the values of the single value parameters are comma separated lists
+     * @return Mutable HTTP parameters
+     * @since 4.8.0
+     */
+    @NonNull
+    protected MutableHttpParameters getParameters(@NonNull Supplier<Map<String, String>> queryStringParametersSupplier,
+                                                  @NonNull Supplier<Map<String, List<String>>> multiQueryStringParametersSupplier,
+                                                  boolean splitCommaSeparatedValues) {
+        MutableHttpParameters result = parameters;
+        if (result == null) {
+            Map<String, List<String>> multi = multiQueryStringParametersSupplier.get();
+            Map<String, String> single = queryStringParametersSupplier.get();
+            MediaType mediaType = getContentType().orElse(MediaType.APPLICATION_JSON_TYPE);
+            if (isFormSubmission(mediaType)) {
+                result = getParametersFromBody(MapCollapseUtils.collapse(MapCollapseUtils.collapse(multi, single)));
+            } else {
+                result = new ProxyEventHttpParameters(conversionService, multi, single, splitCommaSeparatedValues);
+            }
+            parameters = result;
         }
+        return result;
     }
 
     /**
+     * Returns the headers of the request, created on the first call as a view over the maps of the event.
      *
      * @param singleHeaders Single value headers
      * @param multiValueHeaders Multi-value headers
@@ -369,7 +509,12 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
      */
     @NonNull
     protected MutableHttpHeaders getHeaders(@NonNull Supplier<Map<String, String>> singleHeaders, @NonNull Supplier<Map<String, List<String>>> multiValueHeaders) {
-        return new CaseInsensitiveMutableHttpHeaders(MapCollapseUtils.collapse(multiValueHeaders.get(), singleHeaders.get()), conversionService);
+        MutableHttpHeaders result = headers;
+        if (result == null) {
+            result = new ProxyEventHttpHeaders(conversionService, multiValueHeaders.get(), singleHeaders.get());
+            headers = result;
+        }
+        return result;
     }
 
     public static final class EmptyBodyException extends IOException {
@@ -377,4 +522,63 @@ public abstract class ApiGatewayServletRequest<T, REQ, RES> implements MutableSe
             super("Empty body");
         }
     }
+
+    /**
+     * Decompresses a gzip request body while it is read, rejecting a malformed body with a bad request status and a body inflating
+     * beyond the maximum size with a request entity too large status.
+     */
+    private static final class GzipBodyInputStream extends FilterInputStream {
+
+        private final int maxSize;
+        private long size;
+
+        private GzipBodyInputStream(GZIPInputStream in, int maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() {
+            try {
+                int b = super.read();
+                if (b != -1) {
+                    count(1);
+                }
+                return b;
+            } catch (IOException e) {
+                throw invalidGzipBody();
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    count(n);
+                }
+                return n;
+            } catch (IOException e) {
+                throw invalidGzipBody();
+            }
+        }
+
+        @Override
+        public long skip(long n) {
+            try {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            } catch (IOException e) {
+                throw invalidGzipBody();
+            }
+        }
+
+        private void count(long n) {
+            size += n;
+            if (size > maxSize) {
+                throw new HttpStatusException(HttpStatus.REQUEST_ENTITY_TOO_LARGE, "Decompressed request body exceeds " + maxSize + " bytes");
+            }
+        }
+    }
 }
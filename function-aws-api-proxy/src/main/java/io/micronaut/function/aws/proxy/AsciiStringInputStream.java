@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * {@link InputStream} over the characters of an ASCII string, such as a Base 64 encoded body, which reads the string directly instead of copying it into a byte array.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class AsciiStringInputStream extends InputStream {
+
+    private final String value;
+    private int position;
+
+    AsciiStringInputStream(@NonNull String value) {
+        this.value = value;
+    }
+
+    @Override
+    public int read() {
+        return position < value.length() ? value.charAt(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        int remaining = value.length() - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int count = Math.min(len, remaining);
+        for (int i = 0; i < count; i++) {
+            b[off + i] = (byte) value.charAt(position + i);
+        }
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long count = Math.max(0, Math.min(n, value.length() - position));
+        position += (int) count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return value.length() - position;
+    }
+}
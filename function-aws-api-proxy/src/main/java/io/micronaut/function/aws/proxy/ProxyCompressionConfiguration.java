@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Configuration of the compression of the proxy responses and of the decompression of the proxy request bodies.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(ProxyCompressionConfiguration.PREFIX)
+public class ProxyCompressionConfiguration {
+
+    /**
+     * Prefix for the response compression configuration.
+     */
+    public static final String PREFIX = "aws.lambda.proxy.compression";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default minimum size in bytes of the compressed bodies.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    /**
+     * The default compression level.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_LEVEL = 6;
+
+    /**
+     * The default maximum size in bytes of a decompressed request body.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE = 10 * 1024 * 1024;
+
+    private static final List<String> DEFAULT_EXCLUDED_MEDIA_TYPES = List.of(
+        "image/*",
+        "audio/*",
+        "video/*",
+        "font/woff",
+        "font/woff2",
+        "application/zip",
+        "application/gzip",
+        "application/x-gzip",
+        "application/x-7z-compressed",
+        "application/x-rar-compressed",
+        "application/pdf"
+    );
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int minSize = DEFAULT_MIN_SIZE;
+    private int level = DEFAULT_LEVEL;
+    private List<String> excludedMediaTypes = DEFAULT_EXCLUDED_MEDIA_TYPES;
+    private int maxDecompressedRequestSize = DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE;
+
+    /**
+     * @return Whether the responses are compressed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_ENABLED}). The responses are compressed with gzip or deflate when the client accepts it.
+     * @param enabled Whether the responses are compressed
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The minimum size in bytes of the compressed bodies
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MIN_SIZE}). Smaller bodies are sent as is.
+     * @param minSize The minimum size in bytes of the compressed bodies
+     */
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * @return The compression level, from 1 (fastest) to 9 (smallest)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_LEVEL}).
+     * @param level The compression level, from 1 (fastest) to 9 (smallest)
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return The media types which are not compressed
+     */
+    @NonNull
+    public List<String> getExcludedMediaTypes() {
+        return excludedMediaTypes;
+    }
+
+    /**
+     * Defaults to the media types which are already compressed, such as images, archives and PDF documents. Wildcard subtypes such as {@code image/*} are supported.
+     * @param excludedMediaTypes The media types which are not compressed
+     */
+    public void setExcludedMediaTypes(@NonNull List<String> excludedMediaTypes) {
+        this.excludedMediaTypes = excludedMediaTypes;
+    }
+
+    /**
+     * @return The maximum size in bytes of a decompressed request body
+     */
+    public int getMaxDecompressedRequestSize() {
+        return maxDecompressedRequestSize;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_DECOMPRESSED_REQUEST_SIZE}). A gzip encoded request body which inflates beyond this size is
+     * rejected with a 413 response, so that a small compressed body cannot exhaust the memory of the function.
+     * @param maxDecompressedRequestSize The maximum size in bytes of a decompressed request body
+     */
+    public void setMaxDecompressedRequestSize(int maxDecompressedRequestSize) {
+        this.maxDecompressedRequestSize = maxDecompressedRequestSize;
+    }
+}
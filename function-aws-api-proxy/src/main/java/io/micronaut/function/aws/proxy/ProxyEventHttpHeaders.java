@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.http.MutableHttpHeaders;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of {@link MutableHttpHeaders} reading through the headers of a proxy event, see {@link ProxyEventMultiValues}.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class ProxyEventHttpHeaders implements MutableHttpHeaders {
+
+    private final ProxyEventMultiValues values;
+    private ConversionService conversionService;
+
+    ProxyEventHttpHeaders(ConversionService conversionService,
+                          @Nullable Map<String, List<String>> multiValueHeaders,
+                          @Nullable Map<String, String> singleValueHeaders) {
+        this.conversionService = conversionService;
+        this.values = new ProxyEventMultiValues(multiValueHeaders, singleValueHeaders, false, false);
+    }
+
+    @Override
+    public MutableHttpHeaders add(CharSequence header, CharSequence value) {
+        values.add(header.toString(), value.toString());
+        return this;
+    }
+
+    @Override
+    public MutableHttpHeaders remove(CharSequence header) {
+        values.remove(header.toString());
+        return this;
+    }
+
+    @Override
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public List<String> getAll(CharSequence name) {
+        return values.getAll(name != null ? name.toString() : null);
+    }
+
+    @Nullable
+    @Override
+    public String get(CharSequence name) {
+        return values.get(name != null ? name.toString() : null);
+    }
+
+    @Override
+    public Set<String> names() {
+        return values.names();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return values.values();
+    }
+
+    @Override
+    public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        final String v = get(name);
+        if (v != null) {
+            return conversionService.convert(v, conversionContext);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * View over the single and multi value maps of a proxy event, such as the headers or the query string parameters.
+ * The view is indexed on first read, referencing the values of the event without copying them, and the values are only copied on the first write.
+ * As with {@link MapCollapseUtils#collapse(Map, Map)}, the multi value map takes precedence over the single value map.
+ * <p>
+ * Names are either case-insensitive, as for headers, or kept as received, as for query string parameters, in which case names differing only in
+ * case are distinct and a name which is not found as such is looked up case-insensitively.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class ProxyEventMultiValues {
+
+    @Nullable
+    private final Map<String, List<String>> multi;
+    @Nullable
+    private final Map<String, String> single;
+    private final boolean splitCommaSeparatedValues;
+    private final boolean caseSensitiveNames;
+    private Map<String, List<String>> values;
+    @Nullable
+    private Map<String, List<String>> caseInsensitiveValues;
+    private boolean copied;
+
+    /**
+     * @param multi The multi value map of the event
+     * @param single The single value map of the event
+     * @param splitCommaSeparatedValues Whether the values of the single value map are comma separated lists
+     * @param caseSensitiveNames Whether the names are kept as received rather than merged case-insensitively
+     */
+    ProxyEventMultiValues(@Nullable Map<String, List<String>> multi,
+                          @Nullable Map<String, String> single,
+                          boolean splitCommaSeparatedValues,
+                          boolean caseSensitiveNames) {
+        this.multi = multi;
+        this.single = single;
+        this.splitCommaSeparatedValues = splitCommaSeparatedValues;
+        this.caseSensitiveNames = caseSensitiveNames;
+    }
+
+    @NonNull
+    List<String> getAll(@Nullable String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        List<String> all = index().get(name);
+        if (all == null && caseSensitiveNames) {
+            all = caseInsensitiveIndex().get(name);
+        }
+        return all != null ? all : Collections.emptyList();
+    }
+
+    @Nullable
+    String get(@Nullable String name) {
+        List<String> all = getAll(name);
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    @NonNull
+    Set<String> names() {
+        return index().keySet();
+    }
+
+    @NonNull
+    Collection<List<String>> values() {
+        return index().values();
+    }
+
+    void add(@NonNull String name, @NonNull String value) {
+        mutableValues().computeIfAbsent(name, s -> new ArrayList<>()).add(value);
+        caseInsensitiveValues = null;
+    }
+
+    void addAll(@NonNull String name, @NonNull Collection<String> valuesToAdd) {
+        mutableValues().computeIfAbsent(name, s -> new ArrayList<>()).addAll(valuesToAdd);
+        caseInsensitiveValues = null;
+    }
+
+    void remove(@NonNull String name) {
+        mutableValues().remove(name);
+        caseInsensitiveValues = null;
+    }
+
+    private Map<String, List<String>> index() {
+        Map<String, List<String>> index = values;
+        if (index == null) {
+            index = newMap();
+            if (multi != null) {
+                for (Map.Entry<String, List<String>> entry : multi.entrySet()) {
+                    List<String> entryValues = entry.getValue();
+                    index.putIfAbsent(entry.getKey(), entryValues != null ? Collections.unmodifiableList(entryValues) : Collections.emptyList());
+                }
+            }
+            if (CollectionUtils.isNotEmpty(single)) {
+                for (Map.Entry<String, String> entry : single.entrySet()) {
+                    String value = entry.getValue();
+                    if (value != null && !index.containsKey(entry.getKey())) {
+                        index.put(entry.getKey(), splitCommaSeparatedValues ? Arrays.asList(value.split(",")) : Collections.singletonList(value));
+                    }
+                }
+            }
+            values = index;
+        }
+        return index;
+    }
+
+    private Map<String, List<String>> mutableValues() {
+        if (!copied) {
+            Map<String, List<String>> copy = newMap();
+            for (Map.Entry<String, List<String>> entry : index().entrySet()) {
+                copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            values = copy;
+            copied = true;
+        }
+        return values;
+    }
+
+    private Map<String, List<String>> caseInsensitiveIndex() {
+        Map<String, List<String>> index = caseInsensitiveValues;
+        if (index == null) {
+            index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, List<String>> entry : index().entrySet()) {
+                index.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            caseInsensitiveValues = index;
+        }
+        return index;
+    }
+
+    private Map<String, List<String>> newMap() {
+        return caseSensitiveNames ? new LinkedHashMap<>() : new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Buffer for the body of a proxy response. The buffer is allocated on the first write with a moving average of the size of the previous
+ * responses, so typical bodies are written without growing it, and the body is Base 64 encoded straight from the buffer without the line
+ * breaks of the MIME encoder. Each response can at most double its contribution to the average, so an occasional large response does not
+ * make the following small ones allocate large buffers.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class ProxyResponseBodyOutputStream extends ByteArrayOutputStream {
+
+    private static final int MIN_CAPACITY = 256;
+    private static final int MAX_CAPACITY = 1024 * 1024;
+    private static final int AVERAGE_WEIGHT_SHIFT = 2;
+    private static volatile int averageSize = 1024;
+
+    private final boolean sized;
+
+    public ProxyResponseBodyOutputStream() {
+        super(0);
+        this.sized = true;
+    }
+
+    /**
+     * Creates a buffer with the given capacity, which does not contribute to the size of the next buffers.
+     *
+     * @param capacity The initial capacity
+     */
+    public ProxyResponseBodyOutputStream(int capacity) {
+        super(capacity);
+        this.sized = false;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        ensureAllocated(1);
+        super.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        ensureAllocated(len);
+        super.write(b, off, len);
+    }
+
+    /**
+     * @return Whether nothing was written to the body
+     */
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return The body encoded with the basic Base 64 encoder
+     */
+    @NonNull
+    public synchronized String toBase64String() {
+        updateCapacityHint();
+        ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buf, 0, count));
+        return new String(encoded.array(), 0, encoded.remaining(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @param charset The charset of the body
+     * @return The body decoded with the given charset
+     */
+    @Override
+    @NonNull
+    public synchronized String toString(@NonNull Charset charset) {
+        updateCapacityHint();
+        return super.toString(charset);
+    }
+
+    private void ensureAllocated(int len) {
+        if (buf.length == 0) {
+            buf = new byte[Math.max(sized ? capacityHint() : MIN_CAPACITY, len)];
+        }
+    }
+
+    private void updateCapacityHint() {
+        if (sized && count > 0) {
+            int average = averageSize;
+            int sample = (int) Math.min(count, 2L * average);
+            averageSize = Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, average + ((sample - average) >> AVERAGE_WEIGHT_SHIFT)));
+        }
+    }
+
+    /**
+     * @return The capacity of the buffer
+     */
+    synchronized int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * @return The initial capacity of the next buffers, the moving average of the response sizes rounded up to a power of two
+     */
+    static int capacityHint() {
+        return Math.min(MAX_CAPACITY, Integer.highestOneBit(averageSize - 1) << 1);
+    }
+}
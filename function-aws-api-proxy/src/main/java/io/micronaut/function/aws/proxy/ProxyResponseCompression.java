@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Negotiation and compression of the proxy response bodies.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class ProxyResponseCompression {
+
+    /**
+     * The gzip content coding.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The deflate content coding.
+     */
+    public static final String DEFLATE = "deflate";
+
+    private static final String WILDCARD = "*";
+
+    private ProxyResponseCompression() {
+    }
+
+    /**
+     * Chooses the content coding of the response from the {@code Accept-Encoding} header of the request, preferring gzip over deflate at the same quality.
+     *
+     * @param acceptEncoding The {@code Accept-Encoding} header
+     * @return The content coding or {@code null} if the response is not compressed
+     */
+    @Nullable
+    public static String negotiate(@Nullable String acceptEncoding) {
+        if (StringUtils.isEmpty(acceptEncoding)) {
+            return null;
+        }
+        String chosen = null;
+        float chosenQuality = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String coding = element;
+            float quality = 1;
+            int semicolon = element.indexOf(';');
+            if (semicolon >= 0) {
+                coding = element.substring(0, semicolon);
+                quality = parseQuality(element.substring(semicolon + 1));
+            }
+            coding = coding.trim().toLowerCase(Locale.ENGLISH);
+            if (WILDCARD.equals(coding) || "x-gzip".equals(coding)) {
+                coding = GZIP;
+            }
+            if ((GZIP.equals(coding) || DEFLATE.equals(coding))
+                && (quality > chosenQuality || (quality == chosenQuality && quality > 0 && GZIP.equals(coding)))) {
+                chosen = coding;
+                chosenQuality = quality;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * @param excludedMediaTypes The excluded media types, possibly with a wildcard subtype
+     * @param mediaType The media type of the response
+     * @return Whether the media type is excluded from compression
+     */
+    public static boolean isExcluded(@NonNull List<String> excludedMediaTypes, @Nullable MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        String type = mediaType.getType();
+        String subtype = mediaType.getSubtype();
+        for (String excluded : excludedMediaTypes) {
+            int slash = excluded.indexOf('/');
+            if (slash < 0) {
+                continue;
+            }
+            String excludedSubtype = excluded.substring(slash + 1);
+            if (excluded.regionMatches(true, 0, type, 0, slash) && slash == type.length()
+                && (WILDCARD.equals(excludedSubtype) || excludedSubtype.equalsIgnoreCase(subtype))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compresses the body.
+     *
+     * @param body The body
+     * @param contentCoding The content coding, {@value #GZIP} or {@value #DEFLATE}
+     * @param level The compression level
+     * @return The compressed body
+     */
+    @NonNull
+    public static ProxyResponseBodyOutputStream compress(@NonNull ProxyResponseBodyOutputStream body, @NonNull String contentCoding, int level) {
+        ProxyResponseBodyOutputStream compressed = new ProxyResponseBodyOutputStream(Math.max(64, body.size() / 4));
+        try {
+            if (GZIP.equals(contentCoding)) {
+                try (GZIPOutputStream out = new LeveledGzipOutputStream(compressed, level)) {
+                    body.writeTo(out);
+                }
+            } else {
+                Deflater deflater = new Deflater(level);
+                try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+                    body.writeTo(out);
+                } finally {
+                    deflater.end();
+                }
+            }
+        } catch (IOException e) {
+            // in-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return compressed;
+    }
+
+    private static float parseQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(trimmed.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * {@link GZIPOutputStream} with a compression level.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility methods to write the headers of a response in the shape expected by each proxy payload format.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class ProxyResponseHeaders {
+
+    private ProxyResponseHeaders() {
+    }
+
+    /**
+     * The headers with a single value, for formats merging the single and multi value headers such as the payload format 1.0.
+     *
+     * @param headers The headers
+     * @return The map of headers with exactly one value
+     */
+    @NonNull
+    public static Map<String, String> singleValueHeaders(@NonNull HttpHeaders headers) {
+        Map<String, String> result = null;
+        for (String name : headers.names()) {
+            List<String> values = headers.getAll(name);
+            if (values.size() == 1) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                result.put(name, values.get(0));
+            }
+        }
+        return result != null ? result : Collections.emptyMap();
+    }
+
+    /**
+     * The headers with several values, for formats merging the single and multi value headers such as the payload format 1.0.
+     *
+     * @param headers The headers
+     * @return The map of headers with more than one value
+     */
+    @NonNull
+    public static Map<String, List<String>> multiValueHeaders(@NonNull HttpHeaders headers) {
+        Map<String, List<String>> result = null;
+        for (String name : headers.names()) {
+            List<String> values = headers.getAll(name);
+            if (values.size() > 1) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                result.put(name, values);
+            }
+        }
+        return result != null ? result : Collections.emptyMap();
+    }
+
+    /**
+     * The headers with their values joined with commas, as expected by the payload format 2.0.
+     *
+     * @param headers The headers
+     * @param excludedHeader A header to leave out, such as {@link HttpHeaders#SET_COOKIE} which the payload format 2.0 sends separately
+     * @return The map of headers with comma separated values
+     */
+    @NonNull
+    public static Map<String, String> joinedHeaders(@NonNull HttpHeaders headers, @Nullable String excludedHeader) {
+        Map<String, String> result = new HashMap<>();
+        for (String name : headers.names()) {
+            if (excludedHeader != null && excludedHeader.equalsIgnoreCase(name)) {
+                continue;
+            }
+            List<String> values = headers.getAll(name);
+            if (!values.isEmpty()) {
+                result.put(name, values.size() == 1 ? values.get(0) : String.join(",", values));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The values of a header, or {@code null} if the header is not set.
+     *
+     * @param headers The headers
+     * @param name The name of the header
+     * @return The values of the header or {@code null}
+     */
+    @Nullable
+    public static List<String> valuesOf(@NonNull HttpHeaders headers, @NonNull String name) {
+        List<String> values = headers.getAll(name);
+        return values.isEmpty() ? null : new ArrayList<>(values);
+    }
+}
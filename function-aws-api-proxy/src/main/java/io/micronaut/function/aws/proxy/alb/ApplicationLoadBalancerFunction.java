@@ -22,6 +22,7 @@ import com.amazonaws.services.lambda.runtime.events.ApplicationLoadBalancerRespo
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
 import io.micronaut.function.aws.HandlerUtils;
 import io.micronaut.function.aws.LambdaApplicationContextBuilder;
 import io.micronaut.function.executor.FunctionInitializer;
@@ -35,15 +36,18 @@ import io.micronaut.servlet.http.ServletHttpHandler;
 public class ApplicationLoadBalancerFunction extends FunctionInitializer implements
     RequestHandler<ApplicationLoadBalancerRequestEvent, ApplicationLoadBalancerResponseEvent> {
     private final ServletHttpHandler<ApplicationLoadBalancerRequestEvent, ApplicationLoadBalancerResponseEvent> httpHandler;
+    private final HandlerUtils.Collaborators collaborators;
 
     public ApplicationLoadBalancerFunction() {
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     public ApplicationLoadBalancerFunction(ApplicationContext ctx) {
         super(ctx);
         startThis(applicationContext);
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     private ServletHttpHandler<ApplicationLoadBalancerRequestEvent, ApplicationLoadBalancerResponseEvent> initializeHandler() {
@@ -56,8 +60,12 @@ public class ApplicationLoadBalancerFunction extends FunctionInitializer impleme
 
     @Override
     public ApplicationLoadBalancerResponseEvent handleRequest(ApplicationLoadBalancerRequestEvent input, Context context) {
-        HandlerUtils.configureWithContext(this, context);
-        return httpHandler.exchange(input, new ApplicationLoadBalancerResponseEvent()).getResponse().getNativeResponse();
+        HandlerUtils.configureWithContext(collaborators, context);
+        try {
+            return httpHandler.exchange(input, new ApplicationLoadBalancerResponseEvent()).getResponse().getNativeResponse();
+        } finally {
+            CurrentLambdaContext.unbind();
+        }
     }
 
     @NonNull
@@ -20,6 +20,8 @@ import com.amazonaws.services.lambda.runtime.events.ApplicationLoadBalancerRespo
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.ProxyCompressionConfiguration;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
@@ -31,8 +33,12 @@ import io.micronaut.servlet.http.ServletHttpHandler;
  * @since 4.0.0
  */
 public class ApplicationLoadBalancerHandler extends ServletHttpHandler<ApplicationLoadBalancerRequestEvent, ApplicationLoadBalancerResponseEvent> {
+
+    private final ProxyCompressionConfiguration compressionConfiguration;
+
     public ApplicationLoadBalancerHandler(ApplicationContext applicationContext) {
         super(applicationContext, applicationContext.getBean(ConversionService.class));
+        this.compressionConfiguration = applicationContext.findBean(ProxyCompressionConfiguration.class).orElse(null);
     }
 
     @Override
@@ -40,14 +46,18 @@ public class ApplicationLoadBalancerHandler extends ServletHttpHandler<Applicati
         ApplicationLoadBalancerRequestEvent request,
         ApplicationLoadBalancerResponseEvent response
     ) {
-        return new ApplicationLoadBalancerServletRequest<>(
+        ApplicationLoadBalancerServletResponse<Object> servletResponse = new ApplicationLoadBalancerServletResponse<>(
+            getApplicationContext().getConversionService(),
+            getApplicationContext().getBean(BinaryTypeConfiguration.class)
+        );
+        ApplicationLoadBalancerServletRequest<Object> servletRequest = new ApplicationLoadBalancerServletRequest<>(
             request,
-            new ApplicationLoadBalancerServletResponse<>(
-                getApplicationContext().getConversionService(),
-                getApplicationContext().getBean(BinaryTypeConfiguration.class)
-            ),
+            servletResponse,
             applicationContext.getConversionService(),
             applicationContext.getBean(BodyBuilder.class)
         );
+        servletRequest.configureDecompression(compressionConfiguration);
+        servletResponse.negotiateCompression(compressionConfiguration, servletRequest.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        return servletRequest;
     }
 }
@@ -51,7 +51,7 @@ public class ApplicationLoadBalancerServletRequest<B> extends ApiGatewayServletR
         super(
             conversionService,
             requestEvent,
-            ApiGatewayServletRequest.buildUri(
+            () -> ApiGatewayServletRequest.buildUri(
                 requestEvent.getPath(),
                 requestEvent.getQueryStringParameters(),
                 requestEvent.getMultiValueQueryStringParameters()
@@ -61,11 +61,19 @@ public class ApplicationLoadBalancerServletRequest<B> extends ApiGatewayServletR
             bodyBuilder
         );
         this.response = response;
+        if (response != null) {
+            response.setMultiValueHeaders(requestEvent.getMultiValueHeaders() != null);
+        }
     }
 
     @Override
-    public byte[] getBodyBytes() throws EmptyBodyException {
-        return getBodyBytes(requestEvent::getBody, requestEvent::getIsBase64Encoded);
+    protected String getEventBody() {
+        return requestEvent.getBody();
+    }
+
+    @Override
+    protected boolean isEventBodyBase64Encoded() {
+        return Boolean.TRUE.equals(requestEvent.getIsBase64Encoded());
     }
 
     @Override
@@ -18,13 +18,10 @@ package io.micronaut.function.aws.proxy.alb;
 import com.amazonaws.services.lambda.runtime.events.ApplicationLoadBalancerResponseEvent;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.function.BinaryTypeConfiguration;
 import io.micronaut.function.aws.proxy.AbstractServletHttpResponse;
 import io.micronaut.function.aws.proxy.MapCollapseUtils;
 
-import java.util.Base64;
-
 /**
  * Implementation of {@link io.micronaut.servlet.http.ServletHttpResponse} for {@link ApplicationLoadBalancerResponseEvent}.
  *
@@ -35,26 +32,37 @@ import java.util.Base64;
 @Internal
 public class ApplicationLoadBalancerServletResponse<B> extends AbstractServletHttpResponse<ApplicationLoadBalancerResponseEvent, B> {
 
+    private Boolean multiValueHeaders;
+
     protected ApplicationLoadBalancerServletResponse(ConversionService conversionService, BinaryTypeConfiguration binaryTypeConfiguration) {
         super(conversionService, binaryTypeConfiguration);
     }
 
+    /**
+     * Sets whether the target group has multi value headers enabled, in which case only the multi value headers are sent, and otherwise only the single value headers.
+     * Both are sent when it is not known.
+     *
+     * @param multiValueHeaders Whether multi value headers are enabled
+     * @since 4.8.0
+     */
+    void setMultiValueHeaders(boolean multiValueHeaders) {
+        this.multiValueHeaders = multiValueHeaders;
+    }
+
     @Override
     public ApplicationLoadBalancerResponseEvent getNativeResponse() {
+        EncodedBody encodedBody = encodeBody();
         ApplicationLoadBalancerResponseEvent nativeResponse = new ApplicationLoadBalancerResponseEvent();
-        nativeResponse.setHeaders(MapCollapseUtils.getSingleValueHeaders(headers));
-        nativeResponse.setMultiValueHeaders(MapCollapseUtils.getMultiHeaders(headers));
-        nativeResponse.setStatusCode(status);
-        if (binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null))) {
-            nativeResponse.setIsBase64Encoded(true);
-            nativeResponse.setBody(Base64.getMimeEncoder().encodeToString(body.toByteArray()));
-        } else {
-            nativeResponse.setIsBase64Encoded(false);
-            String bodyStr = body.toString(getCharacterEncoding());
-            if (StringUtils.isNotEmpty(bodyStr)) {
-                nativeResponse.setBody(bodyStr);
-            }
+        // the load balancer reads either the single or the multi value headers, depending on the target group
+        if (!Boolean.TRUE.equals(multiValueHeaders)) {
+            nativeResponse.setHeaders(MapCollapseUtils.getSingleValueHeaders(headers));
+        }
+        if (!Boolean.FALSE.equals(multiValueHeaders)) {
+            nativeResponse.setMultiValueHeaders(MapCollapseUtils.getMultiHeaders(headers));
         }
+        nativeResponse.setStatusCode(status);
+        nativeResponse.setIsBase64Encoded(encodedBody.base64Encoded());
+        nativeResponse.setBody(encodedBody.body());
         return nativeResponse;
     }
 }
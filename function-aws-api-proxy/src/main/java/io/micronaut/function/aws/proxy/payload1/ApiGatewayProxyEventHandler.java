@@ -21,6 +21,8 @@ import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.ProxyCompressionConfiguration;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
@@ -36,8 +38,11 @@ import jakarta.inject.Singleton;
 @Singleton
 public class ApiGatewayProxyEventHandler extends ServletHttpHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+    private final ProxyCompressionConfiguration compressionConfiguration;
+
     public ApiGatewayProxyEventHandler(ApplicationContext applicationContext) {
         super(applicationContext, applicationContext.getBean(ConversionService.class));
+        this.compressionConfiguration = applicationContext.findBean(ProxyCompressionConfiguration.class).orElse(null);
     }
 
     @Override
@@ -45,14 +50,18 @@ public class ApiGatewayProxyEventHandler extends ServletHttpHandler<APIGatewayPr
         APIGatewayProxyRequestEvent request,
         APIGatewayProxyResponseEvent response
     ) {
-        return new ApiGatewayProxyServletRequest<>(
+        ApiGatewayProxyServletResponse<Object> servletResponse = new ApiGatewayProxyServletResponse<>(
+            getApplicationContext().getConversionService(),
+            getApplicationContext().getBean(BinaryTypeConfiguration.class)
+        );
+        ApiGatewayProxyServletRequest<Object> servletRequest = new ApiGatewayProxyServletRequest<>(
             request,
-            new ApiGatewayProxyServletResponse<>(
-                getApplicationContext().getConversionService(),
-                getApplicationContext().getBean(BinaryTypeConfiguration.class)
-            ),
+            servletResponse,
             applicationContext.getConversionService(),
             applicationContext.getBean(BodyBuilder.class)
         );
+        servletRequest.configureDecompression(compressionConfiguration);
+        servletResponse.negotiateCompression(compressionConfiguration, servletRequest.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        return servletRequest;
     }
 }
@@ -22,6 +22,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
 import io.micronaut.function.aws.HandlerUtils;
 import io.micronaut.function.aws.LambdaApplicationContextBuilder;
 import io.micronaut.function.executor.FunctionInitializer;
@@ -34,15 +35,18 @@ public class ApiGatewayProxyRequestEventFunction extends FunctionInitializer imp
     RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private final ServletHttpHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> httpHandler;
+    private final HandlerUtils.Collaborators collaborators;
 
     public ApiGatewayProxyRequestEventFunction() {
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     public ApiGatewayProxyRequestEventFunction(ApplicationContext ctx) {
         super(ctx);
         startThis(applicationContext);
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     private ServletHttpHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> initializeHandler() {
@@ -55,8 +59,12 @@ public class ApiGatewayProxyRequestEventFunction extends FunctionInitializer imp
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-        HandlerUtils.configureWithContext(this, context);
-        return httpHandler.exchange(input, new APIGatewayProxyResponseEvent()).getResponse().getNativeResponse();
+        HandlerUtils.configureWithContext(collaborators, context);
+        try {
+            return httpHandler.exchange(input, new APIGatewayProxyResponseEvent()).getResponse().getNativeResponse();
+        } finally {
+            CurrentLambdaContext.unbind();
+        }
     }
 
     @NonNull
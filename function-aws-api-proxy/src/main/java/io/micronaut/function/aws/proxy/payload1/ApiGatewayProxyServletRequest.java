@@ -19,10 +19,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.function.aws.proxy.ApiGatewayServletRequest;
-import io.micronaut.function.aws.proxy.MapCollapseUtils;
-import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpParameters;
 import io.micronaut.servlet.http.BodyBuilder;
@@ -31,10 +28,6 @@ import io.micronaut.servlet.http.ServletHttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Base64;
-import java.util.List;
-import java.util.Map;
-
 /**
  * Implementation of {@link ServletHttpRequest} for AWS API Gateway Proxy.
  *
@@ -58,7 +51,7 @@ public final class ApiGatewayProxyServletRequest<B> extends ApiGatewayServletReq
         super(
             conversionService,
             requestEvent,
-            ApiGatewayServletRequest.buildUri(
+            () -> ApiGatewayServletRequest.buildUri(
                 requestEvent.getPath(),
                 requestEvent.getQueryStringParameters(),
                 requestEvent.getMultiValueQueryStringParameters()
@@ -71,20 +64,18 @@ public final class ApiGatewayProxyServletRequest<B> extends ApiGatewayServletReq
     }
 
     @Override
-    public byte[] getBodyBytes() throws EmptyBodyException {
-        String body = requestEvent.getBody();
-        if (StringUtils.isEmpty(body)) {
-            throw new EmptyBodyException();
-        }
-        Boolean isBase64Encoded = requestEvent.getIsBase64Encoded();
-        return Boolean.TRUE.equals(isBase64Encoded) ? Base64.getDecoder().decode(body) : body.getBytes(getCharacterEncoding());
+    protected String getEventBody() {
+        return requestEvent.getBody();
+    }
+
+    @Override
+    protected boolean isEventBodyBase64Encoded() {
+        return Boolean.TRUE.equals(requestEvent.getIsBase64Encoded());
     }
 
     @Override
     public MutableHttpHeaders getHeaders() {
-        Map<String, List<String>> multiValueHeaders = requestEvent.getMultiValueHeaders();
-        Map<String, String> singleValueHeaders = requestEvent.getHeaders();
-        return new CaseInsensitiveMutableHttpHeaders(MapCollapseUtils.collapse(multiValueHeaders, singleValueHeaders), conversionService);
+        return getHeaders(requestEvent::getHeaders, requestEvent::getMultiValueHeaders);
     }
 
     @Override
@@ -18,14 +18,11 @@ package io.micronaut.function.aws.proxy.payload1;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.function.BinaryTypeConfiguration;
 import io.micronaut.function.aws.proxy.AbstractServletHttpResponse;
-import io.micronaut.function.aws.proxy.MapCollapseUtils;
+import io.micronaut.function.aws.proxy.ProxyResponseHeaders;
 import io.micronaut.servlet.http.ServletHttpResponse;
 
-import java.util.Base64;
-
 /**
  * Implementation of {@link ServletHttpResponse} for AWS API Gateway Proxy.
  *
@@ -42,23 +39,12 @@ public class ApiGatewayProxyServletResponse<B> extends AbstractServletHttpRespon
 
     @Override
     public APIGatewayProxyResponseEvent getNativeResponse() {
-        APIGatewayProxyResponseEvent apiGatewayProxyResponseEvent = new APIGatewayProxyResponseEvent()
+        EncodedBody encodedBody = encodeBody();
+        return new APIGatewayProxyResponseEvent()
             .withStatusCode(status)
-            .withMultiValueHeaders(MapCollapseUtils.getMultiHeaders(headers))
-            .withHeaders(MapCollapseUtils.getSingleValueHeaders(headers));
-
-        if (binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null))) {
-            apiGatewayProxyResponseEvent
-                .withIsBase64Encoded(true)
-                .withBody(Base64.getMimeEncoder().encodeToString(body.toByteArray()));
-        } else {
-            apiGatewayProxyResponseEvent
-                .withIsBase64Encoded(false);
-            String bodyStr = body.toString(getCharacterEncoding());
-            if (StringUtils.isNotEmpty(bodyStr)) {
-                apiGatewayProxyResponseEvent.withBody(bodyStr);
-            }
-        }
-        return apiGatewayProxyResponseEvent;
+            .withMultiValueHeaders(ProxyResponseHeaders.multiValueHeaders(headers))
+            .withHeaders(ProxyResponseHeaders.singleValueHeaders(headers))
+            .withIsBase64Encoded(encodedBody.base64Encoded())
+            .withBody(encodedBody.body());
     }
 }
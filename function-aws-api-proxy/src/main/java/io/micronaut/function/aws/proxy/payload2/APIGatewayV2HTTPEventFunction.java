@@ -22,6 +22,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
 import io.micronaut.function.aws.HandlerUtils;
 import io.micronaut.function.aws.LambdaApplicationContextBuilder;
 import io.micronaut.function.executor.FunctionInitializer;
@@ -34,15 +35,18 @@ public class APIGatewayV2HTTPEventFunction extends FunctionInitializer implement
     RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
 
     private final ServletHttpHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> httpHandler;
+    private final HandlerUtils.Collaborators collaborators;
 
     public APIGatewayV2HTTPEventFunction() {
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     public APIGatewayV2HTTPEventFunction(ApplicationContext ctx) {
         super(ctx);
         startThis(applicationContext);
         httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
     }
 
     private ServletHttpHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> initializeHandler() {
@@ -55,8 +59,12 @@ public class APIGatewayV2HTTPEventFunction extends FunctionInitializer implement
 
     @Override
     public APIGatewayV2HTTPResponse handleRequest(APIGatewayV2HTTPEvent input, Context context) {
-        HandlerUtils.configureWithContext(this, context);
-        return httpHandler.exchange(input, new APIGatewayV2HTTPResponse()).getResponse().getNativeResponse();
+        HandlerUtils.configureWithContext(collaborators, context);
+        try {
+            return httpHandler.exchange(input, new APIGatewayV2HTTPResponse()).getResponse().getNativeResponse();
+        } finally {
+            CurrentLambdaContext.unbind();
+        }
     }
 
     @NonNull
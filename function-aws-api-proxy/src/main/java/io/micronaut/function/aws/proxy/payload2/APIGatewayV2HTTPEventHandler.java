@@ -21,6 +21,8 @@ import io.micronaut.context.ApplicationContext;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.ProxyCompressionConfiguration;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.servlet.http.BodyBuilder;
 import io.micronaut.servlet.http.ServletExchange;
 import io.micronaut.servlet.http.ServletHttpHandler;
@@ -36,8 +38,11 @@ import jakarta.inject.Singleton;
 @Singleton
 public class APIGatewayV2HTTPEventHandler extends ServletHttpHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
 
+    private final ProxyCompressionConfiguration compressionConfiguration;
+
     public APIGatewayV2HTTPEventHandler(ApplicationContext applicationContext) {
         super(applicationContext, applicationContext.getBean(ConversionService.class));
+        this.compressionConfiguration = applicationContext.findBean(ProxyCompressionConfiguration.class).orElse(null);
     }
 
     @Override
@@ -45,14 +50,32 @@ public class APIGatewayV2HTTPEventHandler extends ServletHttpHandler<APIGatewayV
         APIGatewayV2HTTPEvent request,
         APIGatewayV2HTTPResponse response
     ) {
-        return new APIGatewayV2HTTPEventServletRequest<>(
+        return createServletRequest(request, new APIGatewayV2HTTPResponseServletResponse<>(
+            getApplicationContext().getConversionService(),
+            getApplicationContext().getBean(BinaryTypeConfiguration.class)
+        ));
+    }
+
+    /**
+     * Creates the request of an exchange answered with the given response.
+     *
+     * @param request The API Gateway event
+     * @param servletResponse The response
+     * @return The request
+     * @since 4.8.0
+     */
+    protected APIGatewayV2HTTPEventServletRequest<Object> createServletRequest(
+        APIGatewayV2HTTPEvent request,
+        APIGatewayV2HTTPResponseServletResponse<Object> servletResponse
+    ) {
+        APIGatewayV2HTTPEventServletRequest<Object> servletRequest = new APIGatewayV2HTTPEventServletRequest<>(
             request,
-            new APIGatewayV2HTTPResponseServletResponse<>(
-                getApplicationContext().getConversionService(),
-                getApplicationContext().getBean(BinaryTypeConfiguration.class)
-            ),
+            servletResponse,
             applicationContext.getConversionService(),
             applicationContext.getBean(BodyBuilder.class)
         );
+        servletRequest.configureDecompression(compressionConfiguration);
+        servletResponse.negotiateCompression(compressionConfiguration, servletRequest.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        return servletRequest;
     }
 }
@@ -53,7 +53,7 @@ public final class APIGatewayV2HTTPEventServletRequest<B> extends ApiGatewayServ
         super(
             conversionService,
             requestEvent,
-            ApiGatewayServletRequest.buildUri(
+            () -> ApiGatewayServletRequest.buildUri(
                 requestEvent.getRequestContext().getHttp().getPath(),
                 requestEvent.getQueryStringParameters(),
                 Collections.emptyMap()
@@ -66,8 +66,13 @@ public final class APIGatewayV2HTTPEventServletRequest<B> extends ApiGatewayServ
     }
 
     @Override
-    public byte[] getBodyBytes() throws EmptyBodyException {
-        return getBodyBytes(requestEvent::getBody, requestEvent::getIsBase64Encoded);
+    protected String getEventBody() {
+        return requestEvent.getBody();
+    }
+
+    @Override
+    protected boolean isEventBodyBase64Encoded() {
+        return Boolean.TRUE.equals(requestEvent.getIsBase64Encoded());
     }
 
     @Override
@@ -77,7 +82,7 @@ public final class APIGatewayV2HTTPEventServletRequest<B> extends ApiGatewayServ
 
     @Override
     public MutableHttpParameters getParameters() {
-        return getParameters(Collections::emptyMap, () -> transformCommaSeparatedValue(requestEvent.getQueryStringParameters()));
+        return getParameters(requestEvent::getQueryStringParameters, Collections::emptyMap, true);
     }
 
     @Override
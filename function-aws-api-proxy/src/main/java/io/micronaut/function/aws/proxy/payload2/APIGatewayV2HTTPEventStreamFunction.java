@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy.payload2;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.ApplicationContextBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
+import io.micronaut.function.aws.HandlerUtils;
+import io.micronaut.function.aws.LambdaApplicationContextBuilder;
+import io.micronaut.function.executor.FunctionInitializer;
+import io.micronaut.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Handles requests from function URLs with the {@code RESPONSE_STREAM} invoke mode, which use the payload format 2.0.
+ * Unlike {@link APIGatewayV2HTTPEventFunction}, the response is not buffered: the status and the headers are written first
+ * and the body is written to the output as it is emitted, for example by a {@code Publisher<ByteBuffer>}, a
+ * {@link io.micronaut.http.server.types.files.StreamedFile} or server-sent events.
+ *
+ * @since 4.8.0
+ */
+public class APIGatewayV2HTTPEventStreamFunction extends FunctionInitializer implements RequestStreamHandler {
+
+    private final APIGatewayV2HTTPEventStreamingHandler httpHandler;
+    private final HandlerUtils.Collaborators collaborators;
+    private final JsonMapper jsonMapper;
+
+    public APIGatewayV2HTTPEventStreamFunction() {
+        httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+    }
+
+    public APIGatewayV2HTTPEventStreamFunction(ApplicationContext ctx) {
+        super(ctx);
+        startThis(applicationContext);
+        httpHandler = initializeHandler();
+        collaborators = HandlerUtils.resolveCollaborators(applicationContext);
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+    }
+
+    private APIGatewayV2HTTPEventStreamingHandler initializeHandler() {
+        APIGatewayV2HTTPEventStreamingHandler streamingHandler = new APIGatewayV2HTTPEventStreamingHandler(applicationContext);
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(streamingHandler::close)
+        );
+        return streamingHandler;
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        HandlerUtils.configureWithContext(collaborators, context);
+        try {
+            httpHandler.stream(jsonMapper.readValue(input, APIGatewayV2HTTPEvent.class), output);
+        } finally {
+            CurrentLambdaContext.unbind();
+        }
+    }
+
+    @NonNull
+    @Override
+    protected ApplicationContextBuilder newApplicationContextBuilder() {
+        return new LambdaApplicationContextBuilder();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy.payload2;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.servlet.http.ServletHttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Implementation of {@link ServletHttpHandler} for the payload format 2.0 which streams the responses to the function output
+ * as they are written, for function URLs with the {@code RESPONSE_STREAM} invoke mode.
+ *
+ * @see APIGatewayV2HTTPStreamingServletResponse
+ * @since 4.8.0
+ */
+@Internal
+public class APIGatewayV2HTTPEventStreamingHandler extends APIGatewayV2HTTPEventHandler {
+
+    private final JsonMapper jsonMapper;
+
+    public APIGatewayV2HTTPEventStreamingHandler(ApplicationContext applicationContext) {
+        super(applicationContext);
+        this.jsonMapper = applicationContext.getBean(JsonMapper.class);
+    }
+
+    /**
+     * Handles the request and streams the response to the output: the prelude with the status and the headers first,
+     * then the body as it is emitted.
+     *
+     * @param request The API Gateway event
+     * @param output The function output
+     * @throws IOException if the response cannot be written
+     */
+    public void stream(@NonNull APIGatewayV2HTTPEvent request, @NonNull OutputStream output) throws IOException {
+        APIGatewayV2HTTPStreamingServletResponse<Object> servletResponse = new APIGatewayV2HTTPStreamingServletResponse<>(
+            getApplicationContext().getConversionService(),
+            getApplicationContext().getBean(BinaryTypeConfiguration.class),
+            jsonMapper,
+            output
+        );
+        service(createServletRequest(request, servletResponse));
+        servletResponse.complete();
+    }
+}
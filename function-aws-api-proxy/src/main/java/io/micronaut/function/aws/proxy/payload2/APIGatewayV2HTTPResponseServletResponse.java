@@ -18,14 +18,12 @@ package io.micronaut.function.aws.proxy.payload2;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.function.BinaryTypeConfiguration;
 import io.micronaut.function.aws.proxy.AbstractServletHttpResponse;
-import io.micronaut.function.aws.proxy.MapCollapseUtils;
+import io.micronaut.function.aws.proxy.ProxyResponseHeaders;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.servlet.http.ServletHttpResponse;
 
-import java.util.Base64;
-
 /**
  * Implementation of {@link ServletHttpResponse} for AWS API Gateway Proxy.
  *
@@ -42,23 +40,15 @@ public class APIGatewayV2HTTPResponseServletResponse<B> extends AbstractServletH
 
     @Override
     public APIGatewayV2HTTPResponse getNativeResponse() {
-        APIGatewayV2HTTPResponse.APIGatewayV2HTTPResponseBuilder apiGatewayV2HTTPResponseBuilder = APIGatewayV2HTTPResponse.builder()
-            .withHeaders(MapCollapseUtils.getSingleValueHeaders(headers))
-            .withMultiValueHeaders(MapCollapseUtils.getMultiHeaders(headers))
-            .withStatusCode(status);
-
-        if (binaryTypeConfiguration.isMediaTypeBinary(getHeaders().getContentType().orElse(null))) {
-            apiGatewayV2HTTPResponseBuilder
-                .withIsBase64Encoded(true)
-                .withBody(Base64.getMimeEncoder().encodeToString(body.toByteArray()));
-        } else {
-            String bodyStr = body.toString(getCharacterEncoding());
-            if (StringUtils.isNotEmpty(bodyStr)) {
-                apiGatewayV2HTTPResponseBuilder.withBody(bodyStr);
-            }
-        }
-
-        return apiGatewayV2HTTPResponseBuilder.build();
+        EncodedBody encodedBody = encodeBody();
+        // the payload format 2.0 has no multi value headers, values are comma separated and cookies are sent separately
+        return APIGatewayV2HTTPResponse.builder()
+            .withHeaders(ProxyResponseHeaders.joinedHeaders(headers, HttpHeaders.SET_COOKIE))
+            .withCookies(ProxyResponseHeaders.valuesOf(headers, HttpHeaders.SET_COOKIE))
+            .withStatusCode(status)
+            .withIsBase64Encoded(encodedBody.base64Encoded())
+            .withBody(encodedBody.body())
+            .build();
     }
 
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.proxy.payload2;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.ProxyCompressionConfiguration;
+import io.micronaut.function.aws.proxy.ProxyResponseHeaders;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.servlet.http.ServletHttpResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link ServletHttpResponse} for function URLs with the {@code RESPONSE_STREAM} invoke mode.
+ * The status and the headers are written as a JSON prelude, followed by 8 NUL bytes, when the body is first written or flushed,
+ * and the body is then written to the function output as it is produced. Neither the status nor the headers can be changed once the
+ * prelude has been written, and streamed bodies are not compressed.
+ * <p>
+ * When the exchange fails once the prelude has been written, for example because the body publisher emits an error, the error
+ * response can no longer be sent. Its body is discarded rather than appended to the streamed body, and {@link #complete()} fails, so
+ * that the function fails and the Lambda runtime reports the error, in the trailers of the streamed response for the custom runtime.
+ *
+ * @see <a href="https://docs.aws.amazon.com/lambda/latest/dg/config-rs-write-functions.html">Writing response streaming functions</a>
+ * @param <B> The body type
+ * @since 4.8.0
+ */
+@Internal
+public final class APIGatewayV2HTTPStreamingServletResponse<B> extends APIGatewayV2HTTPResponseServletResponse<B> {
+
+    /**
+     * The content type of the streamed responses of function URLs.
+     */
+    public static final String HTTP_INTEGRATION_RESPONSE = "application/vnd.awslambda.http-integration-response";
+
+    private static final byte[] PRELUDE_DELIMITER = new byte[8];
+    private static final String STATUS_CODE = "statusCode";
+    private static final String HEADERS = "headers";
+    private static final String COOKIES = "cookies";
+
+    private final JsonMapper jsonMapper;
+    private final OutputStream output;
+    private final OutputStream outputStream = new StreamingOutputStream();
+    private boolean committed;
+    private boolean failed;
+
+    APIGatewayV2HTTPStreamingServletResponse(ConversionService conversionService,
+                                             BinaryTypeConfiguration binaryTypeConfiguration,
+                                             JsonMapper jsonMapper,
+                                             OutputStream output) {
+        super(conversionService, binaryTypeConfiguration);
+        this.jsonMapper = jsonMapper;
+        this.output = output;
+    }
+
+    @Override
+    public void negotiateCompression(@Nullable ProxyCompressionConfiguration configuration, @Nullable String acceptEncoding) {
+        // the body is streamed before its size is known
+    }
+
+    @Override
+    public APIGatewayV2HTTPResponse getNativeResponse() {
+        return APIGatewayV2HTTPResponse.builder()
+            .withHeaders(ProxyResponseHeaders.joinedHeaders(headers, HttpHeaders.SET_COOKIE))
+            .withCookies(ProxyResponseHeaders.valuesOf(headers, HttpHeaders.SET_COOKIE))
+            .withStatusCode(status)
+            .build();
+    }
+
+    @Override
+    public MutableHttpResponse<B> status(int status, CharSequence message) {
+        if (committed) {
+            // the status has been sent, an error status set afterwards means that an error response replaces the streamed one
+            if (status != this.status && status >= HttpStatus.BAD_REQUEST.getCode()) {
+                failed = true;
+            }
+            return this;
+        }
+        return super.status(status, message);
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public BufferedWriter getWriter() {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+    }
+
+    /**
+     * @return Whether the prelude has been written to the function output
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return Whether the exchange failed after the prelude had been written
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Writes the prelude if nothing has been written yet and flushes the function output.
+     *
+     * @throws IOException if the function output cannot be written, or if the exchange failed after the prelude had been written
+     */
+    void complete() throws IOException {
+        if (failed) {
+            throw new IOException("The response failed after its status and headers had been streamed");
+        }
+        outputStream.flush();
+    }
+
+    private void commit() throws IOException {
+        if (committed) {
+            return;
+        }
+        committed = true;
+        Map<String, Object> prelude = new LinkedHashMap<>();
+        prelude.put(STATUS_CODE, status);
+        Map<String, String> joinedHeaders = ProxyResponseHeaders.joinedHeaders(headers, HttpHeaders.SET_COOKIE);
+        if (CollectionUtils.isNotEmpty(joinedHeaders)) {
+            prelude.put(HEADERS, joinedHeaders);
+        }
+        List<String> cookies = ProxyResponseHeaders.valuesOf(headers, HttpHeaders.SET_COOKIE);
+        if (CollectionUtils.isNotEmpty(cookies)) {
+            prelude.put(COOKIES, cookies);
+        }
+        output.write(jsonMapper.writeValueAsBytes(prelude));
+        output.write(PRELUDE_DELIMITER);
+    }
+
+    /**
+     * Writes the prelude before the first bytes of the body and passes the body and the flushes through to the function output.
+     * The function output is not closed, it is owned by the Lambda runtime.
+     */
+    private final class StreamingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (failed) {
+                return;
+            }
+            commit();
+            output.write(b);
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) throws IOException {
+            if (len == 0 || failed) {
+                return;
+            }
+            commit();
+            output.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (failed) {
+                return;
+            }
+            commit();
+            output.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.micronaut.function.aws.proxy
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ProxyResponseBodyOutputStreamSpec extends Specification {
+
+    void "a small response after a large one allocates a small buffer"() {
+        given:
+        respond(100, 32)
+
+        when:
+        ProxyResponseBodyOutputStream large = respond(1024 * 1024, 1)
+        ProxyResponseBodyOutputStream small = new ProxyResponseBodyOutputStream()
+        small.write(new byte[100])
+
+        then:
+        large.capacity() >= 1024 * 1024
+        ProxyResponseBodyOutputStream.capacityHint() <= 1024
+        small.capacity() <= 1024
+    }
+
+    void "the buffers grow to the size of sustained large responses"() {
+        given:
+        respond(100, 32)
+
+        when:
+        respond(64 * 1024, 48)
+
+        then:
+        ProxyResponseBodyOutputStream.capacityHint() == 64 * 1024
+    }
+
+    private static ProxyResponseBodyOutputStream respond(int size, int times) {
+        ProxyResponseBodyOutputStream body = null
+        times.times {
+            body = new ProxyResponseBodyOutputStream()
+            body.write(new byte[size])
+            body.toString(StandardCharsets.UTF_8)
+        }
+        body
+    }
+}
@@ -0,0 +1,176 @@
+package io.micronaut.function.aws.proxy
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.function.BinaryTypeConfiguration
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletRequest
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletResponse
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.exceptions.HttpStatusException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import java.util.zip.InflaterInputStream
+
+class ProxyResponseCompressionSpec extends Specification {
+
+    @Unroll
+    void "content coding negotiated from #acceptEncoding is #expected"(String acceptEncoding, String expected) {
+        expect:
+        ProxyResponseCompression.negotiate(acceptEncoding) == expected
+
+        where:
+        acceptEncoding                | expected
+        null                          | null
+        'identity'                    | null
+        'gzip'                        | 'gzip'
+        'deflate, gzip'               | 'gzip'
+        'gzip;q=0.5, deflate'         | 'deflate'
+        'gzip;q=0, deflate;q=0'       | null
+        'br, *'                       | 'gzip'
+    }
+
+    void "large bodies are compressed and Base 64 encoded"() {
+        given:
+        String json = '[' + (1..500).collect { '{"id":' + it + '}' }.join(',') + ']'
+        ApiGatewayProxyServletResponse<Object> response = response('gzip')
+        response.contentType(MediaType.APPLICATION_JSON_TYPE)
+        response.outputStream.write(json.getBytes(StandardCharsets.UTF_8))
+
+        when:
+        APIGatewayProxyResponseEvent event = response.nativeResponse
+
+        then:
+        event.isBase64Encoded
+        event.headers[HttpHeaders.CONTENT_ENCODING] == 'gzip'
+        event.headers[HttpHeaders.VARY] == HttpHeaders.ACCEPT_ENCODING
+        new String(new GZIPInputStream(new ByteArrayInputStream(event.body.decodeBase64())).readAllBytes(), StandardCharsets.UTF_8) == json
+
+        when: 'the native response is built again'
+        event = response.nativeResponse
+
+        then:
+        event.headers[HttpHeaders.CONTENT_ENCODING] == 'gzip'
+        new String(new GZIPInputStream(new ByteArrayInputStream(event.body.decodeBase64())).readAllBytes(), StandardCharsets.UTF_8) == json
+    }
+
+    void "deflate bodies use the zlib format"() {
+        given:
+        String text = 'hello ' * 500
+        ApiGatewayProxyServletResponse<Object> response = response('deflate')
+        response.contentType(MediaType.TEXT_PLAIN_TYPE)
+        response.outputStream.write(text.bytes)
+
+        when:
+        APIGatewayProxyResponseEvent event = response.nativeResponse
+
+        then:
+        event.headers[HttpHeaders.CONTENT_ENCODING] == 'deflate'
+        new String(new InflaterInputStream(new ByteArrayInputStream(event.body.decodeBase64())).readAllBytes()) == text
+    }
+
+    @Unroll
+    void "#description are not compressed"(String description, MediaType mediaType, int size) {
+        given:
+        ApiGatewayProxyServletResponse<Object> response = response('gzip')
+        response.contentType(mediaType)
+        response.outputStream.write(('x' * size).bytes)
+
+        when:
+        APIGatewayProxyResponseEvent event = response.nativeResponse
+
+        then:
+        !event.headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+
+        where:
+        description            | mediaType                    | size
+        'small bodies'         | MediaType.TEXT_PLAIN_TYPE    | 100
+        'excluded media types' | MediaType.IMAGE_PNG_TYPE     | 10_000
+    }
+
+    void "gzip request bodies are decompressed"() {
+        given:
+        String json = '{"name":"' + ('x' * 1000) + '"}'
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream()
+        new GZIPOutputStream(compressed).withCloseable { it.write(json.bytes) }
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withHeaders([(HttpHeaders.CONTENT_ENCODING): 'gzip', (HttpHeaders.CONTENT_TYPE): MediaType.APPLICATION_JSON])
+                .withBody(compressed.toByteArray().encodeBase64().toString())
+                .withIsBase64Encoded(true)
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+
+        expect:
+        new String(servletRequest.inputStream.readAllBytes()) == json
+        new String(servletRequest.bodyBytes) == json
+    }
+
+    @Unroll
+    void "#description gzip request bodies are rejected with a bad request status"(String description, byte[] body) {
+        given:
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withHeaders([(HttpHeaders.CONTENT_ENCODING): 'gzip', (HttpHeaders.CONTENT_TYPE): MediaType.APPLICATION_JSON])
+                .withBody(body.encodeBase64().toString())
+                .withIsBase64Encoded(true)
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+
+        when:
+        servletRequest.inputStream.readAllBytes()
+
+        then:
+        HttpStatusException e = thrown()
+        e.status == HttpStatus.BAD_REQUEST
+
+        where:
+        description  | body
+        'malformed'  | 'not gzip'.bytes
+        'truncated'  | gzip('x' * 1000).with { Arrays.copyOf(it, it.length - 10) }
+    }
+
+    @Unroll
+    void "gzip request bodies inflating beyond the maximum size are rejected when #description"(String description, Closure<?> read) {
+        given:
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withHeaders([(HttpHeaders.CONTENT_ENCODING): 'gzip', (HttpHeaders.CONTENT_TYPE): MediaType.APPLICATION_JSON])
+                .withBody(gzip('x' * 2000).encodeBase64().toString())
+                .withIsBase64Encoded(true)
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+        ProxyCompressionConfiguration configuration = new ProxyCompressionConfiguration()
+        configuration.maxDecompressedRequestSize = 1000
+        servletRequest.configureDecompression(configuration)
+
+        when:
+        read(servletRequest)
+
+        then:
+        HttpStatusException e = thrown()
+        e.status == HttpStatus.REQUEST_ENTITY_TOO_LARGE
+
+        where:
+        description         | read
+        'streamed'          | { ApiGatewayProxyServletRequest r -> r.inputStream.readAllBytes() }
+        'read as an array'  | { ApiGatewayProxyServletRequest r -> r.bodyBytes }
+    }
+
+    private static byte[] gzip(String text) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream()
+        new GZIPOutputStream(compressed).withCloseable { it.write(text.bytes) }
+        compressed.toByteArray()
+    }
+
+    private static ApiGatewayProxyServletResponse<Object> response(String acceptEncoding) {
+        ApiGatewayProxyServletResponse<Object> response = new ApiGatewayProxyServletResponse<>(ConversionService.SHARED, new BinaryTypeConfiguration())
+        ProxyCompressionConfiguration configuration = new ProxyCompressionConfiguration()
+        configuration.enabled = true
+        response.negotiateCompression(configuration, acceptEncoding)
+        response
+    }
+}
@@ -0,0 +1,67 @@
+package io.micronaut.function.aws.proxy
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.function.BinaryTypeConfiguration
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletResponse
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPResponseServletResponse
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.MediaType
+import spock.lang.Specification
+
+class ProxyResponseEncodingSpec extends Specification {
+
+    void "binary bodies are Base 64 encoded without line breaks"() {
+        given:
+        byte[] bytes = new byte[1000]
+        new Random(42).nextBytes(bytes)
+        ApiGatewayProxyServletResponse<Object> response = new ApiGatewayProxyServletResponse<>(ConversionService.SHARED, new BinaryTypeConfiguration())
+        response.contentType(MediaType.IMAGE_PNG_TYPE)
+        response.outputStream.write(bytes)
+
+        when:
+        APIGatewayProxyResponseEvent event = response.nativeResponse
+
+        then:
+        event.isBase64Encoded
+        !event.body.contains('\r\n')
+        Base64.decoder.decode(event.body) == bytes
+    }
+
+    void "payload 1.0 headers are split between the single and the multi value headers"() {
+        given:
+        ApiGatewayProxyServletResponse<Object> response = new ApiGatewayProxyServletResponse<>(ConversionService.SHARED, new BinaryTypeConfiguration())
+        response.contentType(MediaType.TEXT_PLAIN_TYPE)
+        response.header(HttpHeaders.SET_COOKIE, 'a=1')
+        response.header(HttpHeaders.SET_COOKIE, 'b=2')
+        response.outputStream.write('hello'.bytes)
+
+        when:
+        APIGatewayProxyResponseEvent event = response.nativeResponse
+
+        then:
+        event.body == 'hello'
+        event.headers == [(HttpHeaders.CONTENT_TYPE): MediaType.TEXT_PLAIN]
+        event.multiValueHeaders == [(HttpHeaders.SET_COOKIE): ['a=1', 'b=2']]
+    }
+
+    void "payload 2.0 headers are comma separated and cookies are sent separately"() {
+        given:
+        APIGatewayV2HTTPResponseServletResponse<Object> response = new APIGatewayV2HTTPResponseServletResponse<>(ConversionService.SHARED, new BinaryTypeConfiguration())
+        response.contentType(MediaType.TEXT_PLAIN_TYPE)
+        response.header(HttpHeaders.VARY, 'Origin')
+        response.header(HttpHeaders.VARY, 'Accept')
+        response.header(HttpHeaders.SET_COOKIE, 'a=1')
+        response.header(HttpHeaders.SET_COOKIE, 'b=2')
+
+        when:
+        APIGatewayV2HTTPResponse event = response.nativeResponse
+
+        then:
+        event.body == null
+        event.headers == [(HttpHeaders.CONTENT_TYPE): MediaType.TEXT_PLAIN, (HttpHeaders.VARY): 'Origin,Accept']
+        event.multiValueHeaders == null
+        event.cookies == ['a=1', 'b=2']
+    }
+}
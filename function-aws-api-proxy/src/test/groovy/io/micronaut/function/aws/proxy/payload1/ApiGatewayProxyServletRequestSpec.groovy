@@ -1,9 +1,12 @@
 package io.micronaut.function.aws.proxy.payload1
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent
+import io.micronaut.core.convert.ConversionService
 import io.micronaut.function.aws.proxy.ApiGatewayServletRequest
 import spock.lang.Specification
 
+import java.nio.charset.StandardCharsets
+
 class ApiGatewayProxyServletRequestSpec extends Specification {
 
 
@@ -37,4 +40,60 @@ class ApiGatewayProxyServletRequestSpec extends Specification {
         ["Bar"] == servletRequest.getHeaders().getAll("Foo")
         ["value1", "value2", "value3"] == servletRequest.getHeaders().getAll("Key")
     }
+
+    void "base 64 body is decoded once and can be streamed"() {
+        given:
+        String json = '{"name":"' + ('x' * 10_000) + '"}'
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withBody(json.bytes.encodeBase64().toString())
+                .withIsBase64Encoded(true)
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+
+        expect:
+        new String(servletRequest.inputStream.readAllBytes(), StandardCharsets.UTF_8) == json
+        servletRequest.bodyBytes.is(servletRequest.bodyBytes)
+        new String(servletRequest.bodyBytes, StandardCharsets.UTF_8) == json
+        new String(servletRequest.inputStream.readAllBytes(), StandardCharsets.UTF_8) == json
+    }
+
+    void "empty body is rejected when streamed"() {
+        given:
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withIsBase64Encoded(true)
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+
+        when:
+        servletRequest.inputStream
+
+        then:
+        thrown(ApiGatewayServletRequest.EmptyBodyException)
+    }
+
+    void "query parameters whose names differ only in case are kept apart"() {
+        given:
+        Map<String, List<String>> multiValueParameters = new LinkedHashMap<>()
+        multiValueParameters.put("id", ["1"])
+        multiValueParameters.put("ID", ["2"])
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("GET")
+                .withMultiValueQueryStringParameters(multiValueParameters)
+                .withQueryStringParameters([id: "1", ID: "2"])
+        ApiGatewayProxyServletRequest servletRequest = new ApiGatewayProxyServletRequest(request, null, ConversionService.SHARED, null)
+
+        expect:
+        servletRequest.parameters.names() == ["id", "ID"] as Set
+        servletRequest.parameters.getAll("id") == ["1"]
+        servletRequest.parameters.getAll("ID") == ["2"]
+        servletRequest.parameters.getAll("Id") == ["1"]
+
+        when:
+        servletRequest.parameters.add("Id", ["3"] as List<CharSequence>)
+
+        then:
+        servletRequest.parameters.names() == ["id", "ID", "Id"] as Set
+        servletRequest.parameters.getAll("ID") == ["2"]
+        servletRequest.parameters.getAll("Id") == ["3"]
+    }
 }
@@ -1,6 +1,7 @@
 package io.micronaut.function.aws.proxy.payload2
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent
+import io.micronaut.core.convert.ConversionService
 import io.micronaut.http.HttpHeaders
 import spock.lang.Specification
 
@@ -26,4 +27,28 @@ class APIGatewayV2HTTPEventServletRequestSpec extends Specification {
         ["Bar"] == servletRequest.getHeaders().getAll("Foo")
         ["value1,value2,value3"] == servletRequest.getHeaders().getAll("Key")
     }
+
+    void "headers and parameters are cached views copied on the first write"() {
+        given:
+        APIGatewayV2HTTPEvent event = new APIGatewayV2HTTPEvent()
+        Map<String, String> headers = ["X-Foo": "Bar"]
+        event.setHeaders(headers)
+        event.setQueryStringParameters(["ids": "1,2"])
+        event.setRequestContext(APIGatewayV2HTTPEvent.RequestContext.builder().withHttp(APIGatewayV2HTTPEvent.RequestContext.Http.builder().withMethod("GET").withPath("/").build()).build())
+        APIGatewayV2HTTPEventServletRequest servletRequest = new APIGatewayV2HTTPEventServletRequest(event, null, ConversionService.SHARED, null)
+
+        expect:
+        servletRequest.headers.is(servletRequest.headers)
+        servletRequest.parameters.is(servletRequest.parameters)
+        servletRequest.headers.get("x-foo") == "Bar"
+        servletRequest.parameters.getAll("IDS") == ["1", "2"]
+
+        when:
+        servletRequest.headers.add("X-Foo", "Baz").add("X-Other", "value")
+
+        then:
+        servletRequest.headers.getAll("x-foo") == ["Bar", "Baz"]
+        servletRequest.headers.get("x-other") == "value"
+        headers == ["X-Foo": "Bar"]
+    }
 }
@@ -0,0 +1,196 @@
+package io.micronaut.function.aws.proxy.payload2
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.LambdaLogger
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.cookie.Cookie
+import io.micronaut.http.sse.Event
+import io.micronaut.http.server.types.files.StreamedFile
+import io.micronaut.json.JsonMapper
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+class APIGatewayV2HTTPEventStreamFunctionSpec extends Specification {
+
+    private static final byte[] DELIMITER = new byte[8]
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext ctx = ApplicationContext.run('micronaut.security.enabled': false, 'spec.name': 'APIGatewayV2HTTPEventStreamFunctionSpec')
+
+    @Shared
+    APIGatewayV2HTTPEventStreamFunction function = new APIGatewayV2HTTPEventStreamFunction(ctx)
+
+    void "the prelude is written before the streamed body"() {
+        when:
+        byte[] output = invoke('/stream/publisher')
+        int delimiter = indexOf(output, DELIMITER)
+        Map prelude = ctx.getBean(JsonMapper).readValue(Arrays.copyOfRange(output, 0, delimiter), Map)
+
+        then:
+        delimiter > 0
+        200 == prelude.statusCode
+        prelude.headers['Content-Type'].startsWith(MediaType.APPLICATION_OCTET_STREAM)
+        ['session=abc'] == prelude.cookies
+        'abc' == new String(output, delimiter + DELIMITER.length, output.length - delimiter - DELIMITER.length, StandardCharsets.UTF_8)
+    }
+
+    void "each emitted item is flushed to the output"() {
+        given:
+        FlushRecordingOutputStream output = new FlushRecordingOutputStream()
+
+        when:
+        function.handleRequest(event('/stream/publisher'), output, createContext())
+
+        then: 'the prelude and the three items are flushed separately'
+        output.flushedSizes.size() >= 4
+    }
+
+    void "streamed files are copied to the output"() {
+        when:
+        byte[] output = invoke('/stream/file')
+        int delimiter = indexOf(output, DELIMITER)
+
+        then:
+        'file content' == new String(output, delimiter + DELIMITER.length, output.length - delimiter - DELIMITER.length, StandardCharsets.UTF_8)
+    }
+
+    void "the prelude is written for responses without a body"() {
+        when:
+        byte[] output = invoke('/stream/empty')
+        int delimiter = indexOf(output, DELIMITER)
+        Map prelude = ctx.getBean(JsonMapper).readValue(Arrays.copyOfRange(output, 0, delimiter), Map)
+
+        then:
+        204 == prelude.statusCode
+        output.length == delimiter + DELIMITER.length
+    }
+
+    void "each server-sent event is flushed separately"() {
+        given:
+        FlushRecordingOutputStream output = new FlushRecordingOutputStream()
+
+        when:
+        function.handleRequest(event('/stream/events'), output, createContext())
+        byte[] bytes = output.toByteArray()
+        int bodyStart = indexOf(bytes, DELIMITER) + DELIMITER.length
+        List<Integer> ends = output.flushedSizes.findAll { it > bodyStart }
+        List<String> flushedEvents = [[bodyStart] + ends, ends].transpose()
+                .collect { int start, int end -> new String(bytes, start, end - start, StandardCharsets.UTF_8) }
+                .findAll { it.contains('data:') }
+
+        then:
+        flushedEvents.size() == 3
+        flushedEvents.every { it.count('data:') == 1 }
+        flushedEvents[0].contains('data: a')
+        flushedEvents[1].contains('data: b')
+        flushedEvents[2].contains('data: c')
+    }
+
+    void "an error after the prelude fails the invocation instead of appending an error response"() {
+        given:
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+
+        when:
+        function.handleRequest(event('/stream/failing'), output, createContext())
+
+        then:
+        thrown(IOException)
+
+        when:
+        byte[] bytes = output.toByteArray()
+        int delimiter = indexOf(bytes, DELIMITER)
+        Map prelude = ctx.getBean(JsonMapper).readValue(Arrays.copyOfRange(bytes, 0, delimiter), Map)
+
+        then: 'the client sees the streamed part of the response only'
+        200 == prelude.statusCode
+        'a' == new String(bytes, delimiter + DELIMITER.length, bytes.length - delimiter - DELIMITER.length, StandardCharsets.UTF_8)
+    }
+
+    private byte[] invoke(String path) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream()
+        function.handleRequest(event(path), output, createContext())
+        output.toByteArray()
+    }
+
+    private static InputStream event(String path) {
+        new ByteArrayInputStream("""{"version":"2.0","rawPath":"$path","headers":{},"requestContext":{"http":{"method":"GET","path":"$path"}},"isBase64Encoded":false}""".getBytes(StandardCharsets.UTF_8))
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i
+            }
+        }
+        -1
+    }
+
+    private Context createContext() {
+        Stub(Context) {
+            getAwsRequestId() >> 'XXX'
+            getLogger() >> Mock(LambdaLogger)
+        }
+    }
+
+    static class FlushRecordingOutputStream extends ByteArrayOutputStream {
+        List<Integer> flushedSizes = []
+
+        @Override
+        void flush() {
+            if (!flushedSizes || flushedSizes.last() != size()) {
+                flushedSizes << size()
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'APIGatewayV2HTTPEventStreamFunctionSpec')
+    @Controller('/stream')
+    static class StreamController {
+
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        @Get('/publisher')
+        HttpResponse<Publisher<ByteBuffer>> publisher() {
+            HttpResponse.ok(Flux.just('a', 'b', 'c').map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))) as Publisher<ByteBuffer>)
+                .cookie(Cookie.of('session', 'abc'))
+        }
+
+        @Produces(MediaType.TEXT_EVENT_STREAM)
+        @Get('/events')
+        Publisher<Event<String>> events() {
+            Flux.just(Event.of('a'), Event.of('b'), Event.of('c'))
+        }
+
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        @Get('/failing')
+        Publisher<ByteBuffer> failing() {
+            Flux.concat(
+                    Flux.just(ByteBuffer.wrap('a'.getBytes(StandardCharsets.UTF_8))),
+                    Flux.error(new IllegalStateException('The publisher failed'))
+            )
+        }
+
+        @Get('/file')
+        StreamedFile file() {
+            new StreamedFile(new ByteArrayInputStream('file content'.getBytes(StandardCharsets.UTF_8)), MediaType.TEXT_PLAIN_TYPE)
+        }
+
+        @Get('/empty')
+        HttpStatus empty() {
+            HttpStatus.NO_CONTENT
+        }
+    }
+}
@@ -4,13 +4,16 @@ plugins {
 
 dependencies {
     annotationProcessor(mn.micronaut.graal)
+    compileOnly(libs.graal.sdk)
     compileOnly(projects.micronautFunctionAwsApiProxy)
     api(libs.managed.aws.lambda.events)
     api(projects.micronautAwsUa)
+    compileOnly(mnMicrometer.micronaut.micrometer.core)
     testImplementation(mn.micronaut.http.client)
     testImplementation(mn.micronaut.jackson.databind)
     testImplementation(projects.micronautFunctionAws)
 
     testImplementation(projects.micronautFunctionAwsApiProxy)
     testImplementation(mn.micronaut.http.server.netty)
+    testImplementation(mnMicrometer.micronaut.micrometer.core)
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPEventStreamFunction;
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPStreamingServletResponse;
+
+/**
+ * Main entry for function URLs with the {@code RESPONSE_STREAM} invoke mode with Micronaut.
+ * Responses are always sent with the streaming response mode of the Runtime API, whatever the value of
+ * {@link LambdaRuntimeConfiguration#getResponseMode()}.
+ *
+ * @since 4.8.0
+ */
+public class APIGatewayV2HTTPEventStreamMicronautLambdaRuntime extends AbstractRequestStreamHandlerMicronautLambdaRuntime<APIGatewayV2HTTPEvent, Void> {
+
+    @Override
+    protected RequestStreamHandler createRequestStreamHandler(String... args) {
+        return new APIGatewayV2HTTPEventStreamFunction(createApplicationContextBuilderWithArgs(args).build());
+    }
+
+    @Override
+    @NonNull
+    protected LambdaRuntimeConfiguration.ResponseMode getResponseMode() {
+        return LambdaRuntimeConfiguration.ResponseMode.STREAMING;
+    }
+
+    @Override
+    @NonNull
+    protected String getResponseStreamContentType() {
+        return APIGatewayV2HTTPStreamingServletResponse.HTTP_INTEGRATION_RESPONSE;
+    }
+
+    /**
+     *
+     * @param args Command Line args
+     */
+    public static void main(String[] args) throws Exception {
+        new APIGatewayV2HTTPEventStreamMicronautLambdaRuntime().run(args);
+    }
+}
@@ -22,13 +22,13 @@ import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
-import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.amazonaws.services.lambda.runtime.events.ApplicationLoadBalancerRequestEvent;
 import io.micronaut.aws.ua.UserAgentProvider;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.context.ApplicationContextProvider;
 import io.micronaut.context.env.CommandLinePropertySource;
+import io.micronaut.context.env.PropertySource;
 import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
@@ -40,8 +40,12 @@ import io.micronaut.core.reflect.GenericTypeUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.function.aws.CurrentLambdaContext;
+import io.micronaut.function.aws.LambdaResourceSizing;
 import io.micronaut.function.aws.MicronautLambdaContext;
 import io.micronaut.function.aws.XRayUtils;
+import io.micronaut.function.aws.event.AfterExecutionEvent;
+import io.micronaut.function.aws.event.AfterResponseTasks;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -49,24 +53,39 @@ import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
 import io.micronaut.http.client.BlockingHttpClient;
-import io.micronaut.http.client.DefaultHttpClientConfiguration;
-import io.micronaut.http.client.HttpClient;
 import io.micronaut.json.JsonMapper;
 import io.micronaut.logging.LogLevel;
+import org.reactivestreams.Publisher;
 
 import java.io.InputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import static io.micronaut.core.annotation.TypeHint.AccessType.ALL_DECLARED_CONSTRUCTORS;
@@ -137,6 +156,10 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
 
     protected Object handler;
 
+    private static final String HTTP_CLIENT_CLASS = "io.micronaut.http.client.HttpClient";
+    private static final String BLOCKING_HTTP_CLIENT_CLASS = "io.micronaut.http.client.BlockingHttpClient";
+    private static final String XRAY_RECORDER_CLASS = "com.amazonaws.xray.AWSXRay";
+
     @SuppressWarnings("unchecked")
     protected final Class<RequestType> requestType = initTypeArgument(0);
 
@@ -149,6 +172,28 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
     @SuppressWarnings("unchecked")
     protected final Class<HandlerResponseType> handlerResponseType = initTypeArgument(3);
 
+    @Nullable
+    private LambdaRuntimeConfiguration runtimeConfiguration;
+
+    @Nullable
+    private InvocationBufferPool invocationBufferPool;
+
+    @Nullable
+    private volatile ExecutorService afterResponseExecutorService;
+
+    @Nullable
+    private volatile InvocationWatchdog invocationWatchdog;
+
+    @Nullable
+    private volatile InvocationRecording.Writer invocationRecording;
+
+    @Nullable
+    private volatile InvocationCodecPlan codecPlan;
+
+    private final AtomicBoolean coldStart = new AtomicBoolean(true);
+    private final ThreadLocal<InvocationTimings> currentTimings = new ThreadLocal<>();
+    private List<InvocationTimingListener> invocationTimingListeners = Collections.emptyList();
+
     /**
      * Constructor.
      */
@@ -157,10 +202,22 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
 
     /**
      * Starts the runtime API event loop.
+     * If a recording is set with the {@value LambdaRuntimeConfiguration#REPLAY_FILE_PROPERTY} system property or the
+     * {@value LambdaRuntimeConfiguration#REPLAY_FILE_ENV} environment variable, it is replayed with {@link #replay(Path, String...)} instead
+     * and the method returns once the recording is exhausted.
      * @param args Command line arguments
      * @throws MalformedURLException if the lambda endpoint URL is malformed
      **/
     public void run(String... args) throws MalformedURLException {
+        final String replayFile = lookupReplayFile();
+        if (StringUtils.isNotEmpty(replayFile)) {
+            try {
+                replay(Paths.get(replayFile), args);
+            } catch (Exception e) {
+                throw new IllegalStateException("Replay of " + replayFile + " failed: " + e.getMessage(), e);
+            }
+            return;
+        }
         final URL runtimeApiURL = lookupRuntimeApiEndpoint();
         logn(LogLevel.DEBUG, "runtime endpoint: ", runtimeApiURL);
         final Predicate<URL> loopUntil = url -> true;
@@ -204,9 +261,14 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      */
     public ApplicationContextBuilder createApplicationContextBuilderWithArgs(String... args) {
         CommandLine commandLine = CommandLine.parse(args);
-        return ApplicationContext.builder()
+        ApplicationContextBuilder builder = ApplicationContext.builder()
             .environments(MicronautLambdaContext.ENVIRONMENT_LAMBDA)
             .propertySources(new CommandLinePropertySource(commandLine));
+        PropertySource resourceSizing = LambdaResourceSizing.propertySource();
+        if (resourceSizing != null) {
+            builder.propertySources(resourceSizing);
+        }
+        return builder;
     }
 
     /**
@@ -290,11 +352,14 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      */
     @Nullable
     protected ResponseType createResponse(HandlerResponseType handlerResponse) {
-        if (handlerResponseType == responseType) {
+        InvocationCodecPlan.ResponseConversion responseConversion = codecPlan != null
+            ? codecPlan.getResponseConversion()
+            : InvocationCodecPlan.responseConversion(responseType, handlerResponseType);
+        if (responseConversion == InvocationCodecPlan.ResponseConversion.IDENTITY) {
             log(LogLevel.TRACE, "HandlerResponseType and ResponseType are identical\n");
             return (ResponseType) handlerResponse;
 
-        } else if (responseType == APIGatewayProxyResponseEvent.class || responseType == APIGatewayV2HTTPResponse.class) {
+        } else if (responseConversion == InvocationCodecPlan.ResponseConversion.PROXY_RESPONSE) {
             log(LogLevel.TRACE, "response type is APIGatewayProxyResponseEvent\n");
             try {
                 byte[] json = serializeAsByteArray(handlerResponse);
@@ -313,15 +378,20 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      * @param status HTTP Status of the response
      * @param body Body of the response
      * @param contentType HTTP Header Content-Type value
-     * @return a {@link APIGatewayProxyResponseEvent} populated with the supplied status, body and content type
+     * @return a {@link APIGatewayProxyResponseEvent} populated with the supplied status, body and content type. Textual bodies are set as is, other bodies are Base64 encoded
      */
     protected APIGatewayProxyResponseEvent respond(HttpStatus status, byte[] body, String contentType) {
         APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
         Map<String, String> headers = new HashMap<>();
         headers.put(HttpHeaders.CONTENT_TYPE, contentType);
         response.setHeaders(headers);
-        response.setIsBase64Encoded(true);
-        response.setBody(Base64.getEncoder().encodeToString(body));
+        if (InvocationCodecPlan.isTextual(contentType)) {
+            response.setIsBase64Encoded(false);
+            response.setBody(new String(body, StandardCharsets.UTF_8));
+        } else {
+            response.setIsBase64Encoded(true);
+            response.setBody(Base64.getEncoder().encodeToString(body));
+        }
         response.setStatusCode(status.getCode());
         logn(LogLevel.TRACE, "response: ", status.getCode(), " content type: ", headers.get(HttpHeaders.CONTENT_TYPE), " message ", body);
         return response;
@@ -363,7 +433,10 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      * @param userAgentProvider UseAgent Provider
      * @param <T> The Http request type
      * @return a Mutable HTTP Request to the {@value #NEXT_INVOCATION_URI} endpoint.
+     * @deprecated The event loop uses a {@link RuntimeApiTransport} to request the next invocation. Overriding this method makes the
+     * runtime fall back to the event loop based on the Micronaut HTTP Client.
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     @NonNull
     protected <T> MutableHttpRequest<T> createNextInvocationHttpRequest(@Nullable UserAgentProvider userAgentProvider) {
         MutableHttpRequest<T> nextInvocationHttpRequest = HttpRequest.GET(AwsLambdaRuntimeApi.NEXT_INVOCATION_URI);
@@ -384,34 +457,27 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
                                             @NonNull Predicate<URL> loopUntil,
                                             String... args) {
         try {
-            handler = createHandler(args);
-            validateHandler();
-            ApplicationContext applicationContext = getApplicationContext();
-            if (applicationContext == null) {
-                throw new ConfigurationException("Application Context is null");
-            }
-            UserAgentProvider userAgentProvider = applicationContext.findBean(UserAgentProvider.class).orElse(null);
-            populateUserAgent();
-            final DefaultHttpClientConfiguration config = new DefaultHttpClientConfiguration();
-            config.setReadIdleTimeout(null);
-            config.setReadTimeout(null);
-            config.setConnectTimeout(null);
-            try (HttpClient endpointClient = applicationContext.createBean(HttpClient.class, runtimeApiURL, config)) {
-                final BlockingHttpClient blockingHttpClient = endpointClient.toBlocking();
-                try {
-                    while (loopUntil.test(runtimeApiURL)) {
-                        MutableHttpRequest<?> nextInvocationHttpRequest = createNextInvocationHttpRequest(userAgentProvider);
-                        if (handler instanceof RequestStreamHandler) {
-                            handleInvocationForRequestStreamHandler(blockingHttpClient, nextInvocationHttpRequest);
-                        } else if (handler instanceof RequestHandler<?, ?>) {
-                            handleInvocationForRequestHandler(blockingHttpClient, nextInvocationHttpRequest);
-                        }
+            ApplicationContext applicationContext = initializeRuntime(args);
+            try {
+                if (overridesHttpClientEventLoopHooks()) {
+                    runHttpClientEventLoop(runtimeApiURL, loopUntil, applicationContext);
+                    return;
+                }
+                int workers = runtimeConfiguration.getWorkers();
+                CurrentLambdaContext.setConcurrent(workers > 1);
+                if (workers > 1) {
+                    if (ClassUtils.isPresent(XRAY_RECORDER_CLASS, getClass().getClassLoader())) {
+                        logn(LogLevel.WARN, "the X-Ray SDK reads the trace header from the ", XRayUtils.LAMBDA_TRACE_HEADER_PROP,
+                            " system property, which is not set with ", workers, " workers: X-Ray SDK subsegments are not attached to the trace of the invocation");
                     }
-                } finally {
-                    if (handler instanceof Closeable closeable) {
-                        closeable.close();
+                    runWorkers(runtimeApiURL, loopUntil, applicationContext, workers);
+                } else {
+                    try (RuntimeApiTransport transport = openRuntimeApiTransport(runtimeApiURL, applicationContext)) {
+                        runInvocationLoop(transport, runtimeApiURL, loopUntil);
                     }
                 }
+            } finally {
+                shutdownRuntime();
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -420,12 +486,654 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
         }
     }
 
+    /**
+     * Runs the event loop which predates {@link RuntimeApiTransport}, for subclasses which override one of its deprecated hooks.
+     * It communicates with the Runtime API through the Micronaut HTTP Client and ignores the transport, the workers, the
+     * response mode and the deadline watchdog of {@link LambdaRuntimeConfiguration}.
+     */
+    @SuppressWarnings("removal")
+    private void runHttpClientEventLoop(URL runtimeApiURL, Predicate<URL> loopUntil, ApplicationContext applicationContext) throws IOException {
+        if (!ClassUtils.isPresent(HTTP_CLIENT_CLASS, getClass().getClassLoader())) {
+            throw new ConfigurationException(getClass().getName() + " overrides a deprecated event loop hook, which requires the Micronaut HTTP Client");
+        }
+        logn(LogLevel.WARN, getClass().getName(), " overrides a deprecated event loop hook, falling back to the Micronaut HTTP Client event loop");
+        UserAgentProvider userAgentProvider = applicationContext.findBean(UserAgentProvider.class).orElse(null);
+        try (HttpClientRuntimeApiTransport transport = HttpClientRuntimeApiTransport.create(applicationContext, runtimeApiURL, userAgent)) {
+            BlockingHttpClient blockingHttpClient = transport.getBlockingHttpClient();
+            while (loopUntil.test(runtimeApiURL)) {
+                MutableHttpRequest<?> nextInvocationHttpRequest = createNextInvocationHttpRequest(userAgentProvider);
+                if (handler instanceof RequestStreamHandler) {
+                    handleInvocationForRequestStreamHandler(blockingHttpClient, nextInvocationHttpRequest);
+                } else if (handler instanceof RequestHandler<?, ?>) {
+                    handleInvocationForRequestHandler(blockingHttpClient, nextInvocationHttpRequest);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether this runtime, or one of its superclasses below {@link AbstractMicronautLambdaRuntime}, overrides one of the
+     * deprecated hooks of the HTTP client event loop.
+     */
+    private boolean overridesHttpClientEventLoopHooks() {
+        for (Class<?> type = getClass(); type != null && type != AbstractMicronautLambdaRuntime.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isSynthetic() && !method.isBridge() && isHttpClientEventLoopHook(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHttpClientEventLoopHook(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return switch (method.getName()) {
+            case "createNextInvocationHttpRequest", "handleInvocationForRequestHandler", "handleInvocationForRequestStreamHandler" -> true;
+            case "handleInvocationException" -> parameterTypes.length == 3 && parameterTypes[0].getName().equals(BLOCKING_HTTP_CLIENT_CLASS);
+            case "createRuntimeContext" -> parameterTypes.length == 1 && parameterTypes[0] == HttpResponse.class;
+            default -> false;
+        };
+    }
+
+    /**
+     * Feeds the invocation events of a recording, captured with {@link LambdaRuntimeConfiguration#getRecordFile()}, through the handler
+     * without a Runtime API and returns once every event has been handled. Responses are discarded.
+     * This allows running the function against real traffic shapes at build time, for example as the training run which generates
+     * an AppCDS archive or a GraalVM profile-guided optimization profile.
+     *
+     * @param recording The recording file
+     * @param args Command line arguments
+     * @return The number of invocation events replayed
+     * @throws Exception if the runtime cannot be initialized or the recording cannot be read
+     */
+    public int replay(@NonNull Path recording, String... args) throws Exception {
+        try (InvocationRecording.Reader reader = InvocationRecording.read(recording)) {
+            initializeRuntime(args);
+            try (ReplayRuntimeApiTransport transport = new ReplayRuntimeApiTransport(reader, getInvocationBufferPool())) {
+                while (transport.hasNext()) {
+                    handleInvocation(transport);
+                }
+                logn(LogLevel.INFO, "replayed ", transport.getResponses() + transport.getErrors(), " invocations from ", recording, ", ", transport.getErrors(), " failed");
+                return transport.getResponses() + transport.getErrors();
+            } finally {
+                shutdownRuntime();
+            }
+        }
+    }
+
+    private ApplicationContext initializeRuntime(String... args) throws Exception {
+        handler = createHandler(args);
+        validateHandler();
+        ApplicationContext applicationContext = getApplicationContext();
+        if (applicationContext == null) {
+            throw new ConfigurationException("Application Context is null");
+        }
+        populateUserAgent();
+        runtimeConfiguration = resolveRuntimeConfiguration(applicationContext);
+        invocationBufferPool = InvocationBufferPool.of(runtimeConfiguration);
+        invocationTimingListeners = resolveInvocationTimingListeners(applicationContext);
+        codecPlan = createCodecPlan(applicationContext);
+        return applicationContext;
+    }
+
+    private void shutdownRuntime() throws IOException {
+        ExecutorService executorService = afterResponseExecutorService;
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+        InvocationWatchdog watchdog = invocationWatchdog;
+        if (watchdog != null) {
+            watchdog.close();
+        }
+        InvocationRecording.Writer recording = invocationRecording;
+        if (recording != null) {
+            recording.close();
+        }
+        if (handler instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private RuntimeApiTransport openRuntimeApiTransport(@NonNull URL runtimeApiURL, @NonNull ApplicationContext applicationContext) throws IOException {
+        RuntimeApiTransport transport = createRuntimeApiTransport(runtimeApiURL, applicationContext);
+        String recordFile = getRuntimeConfiguration().getRecordFile();
+        if (StringUtils.isEmpty(recordFile)) {
+            return transport;
+        }
+        InvocationRecording.Writer recording = invocationRecording;
+        if (recording == null) {
+            synchronized (this) {
+                recording = invocationRecording;
+                if (recording == null) {
+                    recording = InvocationRecording.append(Paths.get(recordFile));
+                    invocationRecording = recording;
+                    logn(LogLevel.INFO, "recording invocation events to ", recordFile);
+                }
+            }
+        }
+        return new RecordingRuntimeApiTransport(transport, recording);
+    }
+
+    /**
+     * Runs the event loop on several workers. Each worker uses its own {@link RuntimeApiTransport}.
+     * If a worker fails, the transports of the other workers are closed and the failure is rethrown.
+     *
+     * @param runtimeApiURL The runtime API URL
+     * @param loopUntil A predicate which allows to stop the event loop
+     * @param applicationContext The application context
+     * @param workers The number of workers
+     * @throws Exception if a worker fails
+     */
+    protected void runWorkers(@NonNull URL runtimeApiURL,
+                              @NonNull Predicate<URL> loopUntil,
+                              @NonNull ApplicationContext applicationContext,
+                              int workers) throws Exception {
+        List<RuntimeApiTransport> transports = new ArrayList<>(workers);
+        ExecutorService executorService = createWorkerExecutorService(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                RuntimeApiTransport transport = openRuntimeApiTransport(runtimeApiURL, applicationContext);
+                transports.add(transport);
+                futures.add(executorService.submit(() -> {
+                    runInvocationLoop(transport, runtimeApiURL, loopUntil);
+                    return null;
+                }));
+            }
+            logn(LogLevel.DEBUG, "started ", workers, " invocation workers");
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            for (RuntimeApiTransport transport : transports) {
+                try {
+                    transport.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the executor service the invocation workers run on. Virtual threads are used if
+     * {@link LambdaRuntimeConfiguration#isVirtualThreads()} is enabled and the JVM supports them.
+     *
+     * @param workers The number of workers
+     * @return The executor service
+     */
+    @NonNull
+    protected ExecutorService createWorkerExecutorService(int workers) {
+        if (getRuntimeConfiguration().isVirtualThreads()) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log(LogLevel.WARN, "virtual threads are not supported by the JVM, using platform threads\n");
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "lambda-runtime-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Handles invocations with the supplied transport until the predicate returns false.
+     *
+     * @param transport The Runtime API transport
+     * @param runtimeApiURL The runtime API URL
+     * @param loopUntil A predicate which allows to stop the event loop
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    protected void runInvocationLoop(@NonNull RuntimeApiTransport transport,
+                                     @NonNull URL runtimeApiURL,
+                                     @NonNull Predicate<URL> loopUntil) throws IOException {
+        while (loopUntil.test(runtimeApiURL)) {
+            handleInvocation(transport);
+        }
+    }
+
+    /**
+     * Creates the transport used to communicate with the Runtime API. By default, a {@link SocketRuntimeApiTransport} is used.
+     * A {@link HttpClientRuntimeApiTransport} is used if {@link LambdaRuntimeConfiguration#getTransport()} is {@link LambdaRuntimeConfiguration.TransportType#HTTP_CLIENT} and a Micronaut HTTP Client is present.
+     *
+     * @param runtimeApiURL The runtime API URL
+     * @param applicationContext The application context or {@code null} if the application context could not be started
+     * @return The transport
+     */
+    @NonNull
+    protected RuntimeApiTransport createRuntimeApiTransport(@NonNull URL runtimeApiURL, @Nullable ApplicationContext applicationContext) {
+        if (applicationContext != null
+            && getRuntimeConfiguration().getTransport() == LambdaRuntimeConfiguration.TransportType.HTTP_CLIENT
+            && ClassUtils.isPresent(HTTP_CLIENT_CLASS, getClass().getClassLoader())) {
+            log(LogLevel.DEBUG, "using the Micronaut HTTP Client to communicate with the runtime API\n");
+            return HttpClientRuntimeApiTransport.create(applicationContext, runtimeApiURL, userAgent);
+        }
+        return new SocketRuntimeApiTransport(runtimeApiURL, userAgent);
+    }
+
+    /**
+     * Retrieves the next invocation event from the Runtime API, invokes the handler and sends the response.
+     *
+     * @param transport The Runtime API transport
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    protected void handleInvocation(@NonNull RuntimeApiTransport transport) throws IOException {
+        InvocationBufferPool bufferPool = getInvocationBufferPool();
+        InvocationBuffer requestBuffer = bufferPool.acquire();
+        InvocationBuffer responseBuffer = null;
+        InvocationTimings timings = startInvocationTimings();
+        try {
+            long phaseStart = System.nanoTime();
+            HttpHeaders headers = transport.next(requestBuffer);
+            markPhase(timings, InvocationPhase.NEXT, phaseStart);
+            if (requestBuffer.size() == 0) {
+                log(LogLevel.WARN, "request body is empty\n");
+                return;
+            }
+            Context context = createRuntimeContext(headers);
+            String requestId = context.getAwsRequestId();
+            if (StringUtils.isEmpty(requestId)) {
+                log(LogLevel.WARN, "request id is empty\n");
+                return;
+            }
+            if (timings != null) {
+                timings.setRequestId(requestId);
+                currentTimings.set(timings);
+            }
+            AfterResponseTasks afterResponseTasks = AfterResponseTasks.bind();
+            try {
+                if (getResponseMode() == LambdaRuntimeConfiguration.ResponseMode.STREAMING) {
+                    handleStreamingInvocation(transport, requestId, requestBuffer, context);
+                    return;
+                }
+                responseBuffer = bufferPool.acquire();
+                try {
+                    invokeHandler(requestBuffer, responseBuffer.outputStream(), context);
+                    log(LogLevel.TRACE, "sending function response\n");
+                    phaseStart = System.nanoTime();
+                    transport.respond(requestId, responseBuffer);
+                    markPhase(timings, InvocationPhase.RESPOND, phaseStart);
+                } catch (Exception e) {
+                    phaseStart = System.nanoTime();
+                    handleInvocationException(transport, requestId, e);
+                    markPhase(timings, InvocationPhase.RESPOND, phaseStart);
+                    if (timings != null) {
+                        timings.failed();
+                    }
+                }
+            } finally {
+                AfterResponseTasks.unbind();
+                List<Runnable> tasks = afterResponseTasks.drain();
+                if (!tasks.isEmpty()) {
+                    phaseStart = System.nanoTime();
+                    runAfterResponseTasks(tasks);
+                    markPhase(timings, InvocationPhase.AFTER_RESPONSE, phaseStart);
+                }
+                if (timings != null) {
+                    currentTimings.remove();
+                    notifyInvocationTimingListeners(timings);
+                }
+            }
+        } finally {
+            bufferPool.release(requestBuffer);
+            if (responseBuffer != null) {
+                bufferPool.release(responseBuffer);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the {@link InvocationTimingListener} beans notified of the timings of every invocation.
+     *
+     * @param applicationContext The application context
+     * @return The listeners
+     */
+    @NonNull
+    protected List<InvocationTimingListener> resolveInvocationTimingListeners(@NonNull ApplicationContext applicationContext) {
+        return new ArrayList<>(applicationContext.getBeansOfType(InvocationTimingListener.class));
+    }
+
+    @Nullable
+    private InvocationTimings startInvocationTimings() {
+        boolean firstInvocation = coldStart.getAndSet(false);
+        return invocationTimingListeners.isEmpty() ? null : new InvocationTimings(firstInvocation);
+    }
+
+    private static long markPhase(@Nullable InvocationTimings timings, InvocationPhase phase, long phaseStart) {
+        return timings != null ? timings.mark(phase, phaseStart) : phaseStart;
+    }
+
+    private void notifyInvocationTimingListeners(InvocationTimings timings) {
+        for (InvocationTimingListener listener : invocationTimingListeners) {
+            try {
+                listener.onInvocation(timings);
+            } catch (Exception e) {
+                logn(LogLevel.WARN, "invocation timing listener failed: ", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks deferred with {@link AfterExecutionEvent#runAfterResponse(Runnable)} once the response has been sent and before polling the next invocation.
+     * The tasks run in order on a separate thread and are interrupted if they do not complete within {@link LambdaRuntimeConfiguration#getAfterResponseTimeout()}.
+     *
+     * @param tasks The deferred tasks
+     */
+    protected void runAfterResponseTasks(@NonNull List<Runnable> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Duration timeout = getRuntimeConfiguration().getAfterResponseTimeout();
+        Future<?> future = getAfterResponseExecutorService().submit(() -> {
+            for (Runnable task : tasks) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logn(LogLevel.WARN, "after response task failed: ", e.getMessage());
+                }
+            }
+        });
+        try {
+            future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logn(LogLevel.WARN, "after response tasks did not complete within ", timeout);
+        } catch (ExecutionException e) {
+            logn(LogLevel.WARN, "after response tasks failed: ", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The executor service the tasks deferred until after the response run on.
+     */
+    @NonNull
+    protected ExecutorService getAfterResponseExecutorService() {
+        ExecutorService executorService = afterResponseExecutorService;
+        if (executorService == null) {
+            synchronized (this) {
+                executorService = afterResponseExecutorService;
+                if (executorService == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    executorService = Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "lambda-runtime-after-response-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    afterResponseExecutorService = executorService;
+                }
+            }
+        }
+        return executorService;
+    }
+
+    /**
+     * Invokes the handler and streams its response to the Runtime API as it is written.
+     * Errors thrown after part of the response has been sent are reported in the trailers of the response.
+     *
+     * @param transport The Runtime API transport
+     * @param requestId AWS Request ID retried via {@link Context#getAwsRequestId()}
+     * @param requestBuffer The invocation payload
+     * @param context The Lambda context
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    protected void handleStreamingInvocation(@NonNull RuntimeApiTransport transport,
+                                             @NonNull String requestId,
+                                             @NonNull InvocationBuffer requestBuffer,
+                                             @NonNull Context context) throws IOException {
+        InvocationTimings timings = currentTimings.get();
+        RuntimeApiResponseStream responseStream = transport.openResponseStream(requestId, getResponseStreamContentType());
+        try {
+            invokeHandler(requestBuffer, responseStream, context);
+        } catch (Exception e) {
+            final StringWriter sw = new StringWriter();
+            e.printStackTrace(new PrintWriter(sw));
+            logn(LogLevel.WARN, "Invocation with requestId [", requestId, "] failed: ", e.getMessage(), sw);
+            long phaseStart = System.nanoTime();
+            responseStream.fail(createInvocationError(e), null);
+            markPhase(timings, InvocationPhase.RESPOND, phaseStart);
+            if (timings != null) {
+                timings.failed();
+            }
+            return;
+        }
+        log(LogLevel.TRACE, "completing streamed function response\n");
+        long phaseStart = System.nanoTime();
+        responseStream.close();
+        markPhase(timings, InvocationPhase.RESPOND, phaseStart);
+    }
+
+    /**
+     * @return The mode responses are sent to the Runtime API with, {@link LambdaRuntimeConfiguration#getResponseMode()} by default.
+     * @since 4.8.0
+     */
+    @NonNull
+    protected LambdaRuntimeConfiguration.ResponseMode getResponseMode() {
+        return getRuntimeConfiguration().getResponseMode();
+    }
+
+    /**
+     * @return HTTP Header Content-Type value of streamed responses.
+     */
+    @NonNull
+    protected String getResponseStreamContentType() {
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * Invokes the handler with the invocation payload and writes its response.
+     * If {@link LambdaRuntimeConfiguration#isDeadlineWatchdog()} is enabled, the handler runs on a worker thread and the invocation
+     * fails with a timeout {@link LambdaRuntimeConfiguration#getDeadlineMargin()} before the invocation deadline if the handler has not completed.
+     * The worker is then interrupted and abandoned, and whatever it writes afterwards is discarded.
+     *
+     * @param requestBuffer The invocation payload
+     * @param responseStream The stream the function response is written to
+     * @param context The Lambda context
+     * @throws IOException if the payload cannot be decoded or the response cannot be written
+     * @throws InvocationTimeoutException if the handler did not complete before the deadline margin
+     */
+    protected void invokeHandler(@NonNull InvocationBuffer requestBuffer,
+                                 @NonNull OutputStream responseStream,
+                                 @NonNull Context context) throws IOException {
+        LambdaRuntimeConfiguration configuration = getRuntimeConfiguration();
+        int remainingTime = context.getRemainingTimeInMillis();
+        if (!configuration.isDeadlineWatchdog() || remainingTime <= 0) {
+            doInvokeHandler(requestBuffer, responseStream, context);
+            return;
+        }
+        InvocationTimings timings = currentTimings.get();
+        AfterResponseTasks afterResponseTasks = AfterResponseTasks.current();
+        String traceHeader = XRayUtils.getBoundTraceHeader();
+        InvocationWatchdog.AbandonableOutputStream watchedResponseStream = new InvocationWatchdog.AbandonableOutputStream(responseStream);
+        boolean completed = getInvocationWatchdog().run(() -> {
+            if (timings != null) {
+                currentTimings.set(timings);
+            }
+            if (afterResponseTasks != null) {
+                AfterResponseTasks.bind(afterResponseTasks);
+            }
+            XRayUtils.bindTraceHeader(traceHeader);
+            try {
+                doInvokeHandler(requestBuffer, watchedResponseStream, context);
+            } finally {
+                XRayUtils.bindTraceHeader(null);
+                AfterResponseTasks.unbind();
+                currentTimings.remove();
+            }
+        }, remainingTime - configuration.getDeadlineMargin().toMillis());
+        if (!completed) {
+            watchedResponseStream.abandon();
+            // the abandoned handler may still read the payload, it must not be reused by the next invocation
+            requestBuffer.abandon();
+            throw new InvocationTimeoutException("Invocation abandoned " + configuration.getDeadlineMargin().toMillis()
+                + " ms before its deadline, " + remainingTime + " ms after it started", null);
+        }
+    }
+
+    /**
+     * Creates the error reported to the Runtime API for an exception thrown while invoking the handler.
+     *
+     * @param exception The exception
+     * @return The error
+     */
+    @NonNull
+    protected AwsLambdaRuntimeApiError createInvocationError(@NonNull Exception exception) {
+        if (exception instanceof InvocationTimeoutException) {
+            return new AwsLambdaRuntimeApiError(exception.getMessage(), InvocationTimeoutException.ERROR_TYPE);
+        }
+        return new AwsLambdaRuntimeApiError(exception.getMessage(), null);
+    }
+
+    private InvocationWatchdog getInvocationWatchdog() {
+        InvocationWatchdog watchdog = invocationWatchdog;
+        if (watchdog == null) {
+            synchronized (this) {
+                watchdog = invocationWatchdog;
+                if (watchdog == null) {
+                    watchdog = new InvocationWatchdog();
+                    invocationWatchdog = watchdog;
+                }
+            }
+        }
+        return watchdog;
+    }
+
+    private void doInvokeHandler(InvocationBuffer requestBuffer, OutputStream responseStream, Context context) throws IOException {
+        if (handler instanceof RequestStreamHandler requestStreamHandler) {
+            log(LogLevel.TRACE, "invoking handler\n");
+            long phaseStart = System.nanoTime();
+            requestStreamHandler.handleRequest(requestBuffer.inputStream(), responseStream, context);
+            markPhase(currentTimings.get(), InvocationPhase.HANDLER, phaseStart);
+            log(LogLevel.TRACE, "handler response received\n");
+        } else if (handler instanceof RequestHandler<?, ?>) {
+            invokeRequestHandler(requestBuffer, responseStream, context);
+        }
+    }
+
+    /**
+     * Decodes the invocation payload, invokes the {@link RequestHandler} and writes the function response.
+     * If the handler returns a {@link Publisher}, its items are written as they are emitted.
+     * As with the HTTP client based event loop, the handler is not invoked if the payload decodes to {@code null}, for example
+     * because no {@link JsonMapper} exists; the invocation then fails instead of waiting for its timeout.
+     *
+     * @param requestBuffer The invocation payload
+     * @param responseStream The stream the function response is written to
+     * @param context The Lambda context
+     * @throws IOException if the payload cannot be decoded or the response cannot be encoded
+     * @throws IllegalArgumentException if the payload decodes to {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    protected void invokeRequestHandler(@NonNull InvocationBuffer requestBuffer,
+                                        @NonNull OutputStream responseStream,
+                                        @NonNull Context context) throws IOException {
+        InvocationTimings timings = currentTimings.get();
+        long phaseStart = System.nanoTime();
+        final RequestType request = valueFromContent(requestBuffer.inputStream(), requestType);
+        phaseStart = markPhase(timings, InvocationPhase.DECODE, phaseStart);
+        if (request == null) {
+            throw new IllegalArgumentException("The invocation event could not be decoded to " + requestType.getName() + ", the handler was not invoked");
+        }
+        logn(LogLevel.DEBUG, "request body ", request);
+        HandlerRequestType handlerRequest = createHandlerRequest(request);
+        phaseStart = markPhase(timings, InvocationPhase.CREATE_HANDLER_REQUEST, phaseStart);
+        log(LogLevel.TRACE, "invoking handler\n");
+        HandlerResponseType handlerResponse = ((RequestHandler<HandlerRequestType, HandlerResponseType>) handler).handleRequest(handlerRequest, context);
+        log(LogLevel.TRACE, "handler response received\n");
+        if (handlerResponse instanceof Publisher<?> publisher) {
+            PublisherResponseWriter.write(publisher, responseStream);
+            markPhase(timings, InvocationPhase.HANDLER, phaseStart);
+            return;
+        }
+        phaseStart = markPhase(timings, InvocationPhase.HANDLER, phaseStart);
+        final ResponseType functionResponse = (handlerResponse == null || handlerResponse instanceof Void) ? null : createResponse(handlerResponse);
+        writeFunctionResponse(functionResponse, responseStream);
+        markPhase(timings, InvocationPhase.ENCODE, phaseStart);
+    }
+
+    /**
+     * Writes the function response to the stream sent to the Runtime API.
+     * Character sequences and byte arrays are written as is, other objects are serialized as JSON.
+     *
+     * @param functionResponse The function response or {@code null}
+     * @param responseStream The response stream
+     * @throws IOException if the response cannot be serialized
+     */
+    protected void writeFunctionResponse(@Nullable Object functionResponse, @NonNull OutputStream responseStream) throws IOException {
+        if (functionResponse == null) {
+            return;
+        }
+        if (functionResponse instanceof byte[] bytes) {
+            responseStream.write(bytes);
+        } else if (functionResponse instanceof CharSequence charSequence) {
+            responseStream.write(charSequence.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            InvocationCodecPlan plan = getCodecPlan();
+            if (plan == null || !plan.write(responseStream, functionResponse)) {
+                throw new ConfigurationException("No JsonMapper bean found to serialize the function response");
+            }
+        }
+    }
+
+    /**
+     * Reports an exception thrown while invoking the handler to the Runtime API.
+     *
+     * @param transport The Runtime API transport
+     * @param requestId AWS Request ID retried via {@link Context#getAwsRequestId()}
+     * @param exception Exception thrown invoking the handler
+     */
+    protected void handleInvocationException(@NonNull RuntimeApiTransport transport,
+                                             @NonNull String requestId,
+                                             @NonNull Exception exception) {
+        final StringWriter sw = new StringWriter();
+        exception.printStackTrace(new PrintWriter(sw));
+        logn(LogLevel.WARN, "Invocation with requestId [", requestId, "] failed: ", exception.getMessage(), sw);
+        try {
+            transport.reportInvocationError(requestId, createInvocationError(exception), null);
+        } catch (Exception e2) {
+            // swallow, nothing we can do...
+        }
+    }
+
+    /**
+     *
+     * @param headers Next Invocation Response HTTP Headers
+     * @return a new {@link Context} backed by a {@link RuntimeContext} populated with the HTTP Headers of the Invocation Response.
+     */
+    @NonNull
+    protected Context createRuntimeContext(@NonNull HttpHeaders headers) {
+        propagateTraceId(headers);
+        final Context context = new RuntimeContext(headers);
+        final String requestId = context.getAwsRequestId();
+        logn(LogLevel.DEBUG, "request id ", requestId, " found");
+        return context;
+    }
+
     /**
      * It handles an invocation event with a handler of type {@link RequestHandler}.
      * @param blockingHttpClient Blocking HTTP Client
      * @param nextInvocationHttpRequest Next Invocation HTTP Request
      * @throws IOException Exception thrown while invoking the handler
+     * @deprecated The event loop uses a {@link RuntimeApiTransport}. Use {@link #handleInvocation(RuntimeApiTransport)} instead.
+     * Overriding this method makes the runtime fall back to the event loop based on the Micronaut HTTP Client.
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     protected void handleInvocationForRequestHandler(@NonNull BlockingHttpClient blockingHttpClient,
                                                      @NonNull MutableHttpRequest<?> nextInvocationHttpRequest) throws IOException {
         final HttpResponse<RequestType> response = blockingHttpClient.exchange(nextInvocationHttpRequest, Argument.of(requestType));
@@ -458,7 +1166,10 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      * @param blockingHttpClient Blocking HTTP Client
      * @param requestId AWS Request ID retried via {@link Context#getAwsRequestId()}
      * @param exception Execption thrown invoking the handler
+     * @deprecated Use {@link #handleInvocationException(RuntimeApiTransport, String, Exception)} instead. Overriding this method
+     * makes the runtime fall back to the event loop based on the Micronaut HTTP Client.
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     protected void handleInvocationException(@NonNull BlockingHttpClient blockingHttpClient,
                                              @NonNull String requestId,
                                              @NonNull Exception exception) {
@@ -476,21 +1187,22 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      *
      * @param response Next Invocation Response
      * @return a new {@link Context} backed by a {@link RuntimeContext} populated with the HTTP Headers of the Invocation Response.
+     * @deprecated Use {@link #createRuntimeContext(HttpHeaders)} instead. Overriding this method makes the runtime fall back to the
+     * event loop based on the Micronaut HTTP Client.
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     protected Context createRuntimeContext(HttpResponse<?> response) {
-        final HttpHeaders headers = response.getHeaders();
-        propagateTraceId(headers);
-        final Context context = new RuntimeContext(headers);
-        final String requestId = context.getAwsRequestId();
-        logn(LogLevel.DEBUG, "request id ", requestId, " found");
-        return context;
+        return createRuntimeContext(response.getHeaders());
     }
 
     /**
      * It handles an invocation event with a handler of type {@link RequestStreamHandler}.
      * @param blockingHttpClient Blocking HTTP Client
      * @param nextInvocationHttpRequest Next Invocation HTTP Request
+     * @deprecated The event loop uses a {@link RuntimeApiTransport}. Use {@link #handleInvocation(RuntimeApiTransport)} instead.
+     * Overriding this method makes the runtime fall back to the event loop based on the Micronaut HTTP Client.
      */
+    @Deprecated(since = "4.8.0", forRemoval = true)
     protected void handleInvocationForRequestStreamHandler(@NonNull BlockingHttpClient blockingHttpClient,
                                                            MutableHttpRequest<?> nextInvocationHttpRequest) {
         if (handler instanceof RequestStreamHandler requestStreamHandler) {
@@ -500,16 +1212,20 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
                 Context context = createRuntimeContext(response);
                 String requestId = context.getAwsRequestId();
                 if (StringUtils.isNotEmpty(requestId)) {
+                    InvocationBufferPool bufferPool = getInvocationBufferPool();
+                    InvocationBuffer responseBuffer = bufferPool.acquire();
                     try (InputStream inputStream = new ByteArrayInputStream(request)) {
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         log(LogLevel.TRACE, "invoking handler\n");
-                        requestStreamHandler.handleRequest(inputStream, outputStream, context);
+                        requestStreamHandler.handleRequest(inputStream, responseBuffer.outputStream(), context);
                         log(LogLevel.TRACE, "handler response received\n");
-                        byte[] handlerResponse = outputStream.toByteArray();
+                        // the blocking HTTP client requires an exactly sized array, the buffer itself is reused
+                        byte[] handlerResponse = responseBuffer.toByteArray();
                         log(LogLevel.TRACE, "sending function response\n");
                         blockingHttpClient.exchange(decorateWithUserAgent(invocationResponseRequest(requestId, handlerResponse)));
                     } catch (Exception e) {
                         handleInvocationException(blockingHttpClient, requestId, e);
+                    } finally {
+                        bufferPool.release(responseBuffer);
                     }
                 }
             } else {
@@ -518,6 +1234,38 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
         }
     }
 
+    /**
+     * Resolves the custom runtime configuration. If no {@link LambdaRuntimeConfiguration} bean exists, the defaults are used.
+     * @param applicationContext The application context
+     * @return The custom runtime configuration
+     */
+    @NonNull
+    protected LambdaRuntimeConfiguration resolveRuntimeConfiguration(@NonNull ApplicationContext applicationContext) {
+        return applicationContext.findBean(LambdaRuntimeConfiguration.class).orElseGet(LambdaRuntimeConfiguration::new);
+    }
+
+    /**
+     * @return The custom runtime configuration resolved when the event loop started or the defaults if the loop has not started.
+     */
+    @NonNull
+    protected LambdaRuntimeConfiguration getRuntimeConfiguration() {
+        if (runtimeConfiguration == null) {
+            runtimeConfiguration = new LambdaRuntimeConfiguration();
+        }
+        return runtimeConfiguration;
+    }
+
+    /**
+     * @return The pool of buffers used to exchange invocation payloads.
+     */
+    @NonNull
+    protected InvocationBufferPool getInvocationBufferPool() {
+        if (invocationBufferPool == null) {
+            invocationBufferPool = InvocationBufferPool.of(getRuntimeConfiguration());
+        }
+        return invocationBufferPool;
+    }
+
     /**
      * If the request is {@link MutableHttpRequest} and {@link AbstractMicronautLambdaRuntime#userAgent} is not null,
      * it adds an HTTP Header User-Agent.
@@ -534,13 +1282,16 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
     /**
      * Get the X-Ray tracing header from the Lambda-Runtime-Trace-Id header in the API response.
      * Set the _X_AMZN_TRACE_ID environment variable with the same value for the X-Ray SDK to use.
+     * The header is bound to the current thread with {@link XRayUtils#bindTraceHeader(String)}. The global system property
+     * is only set when a single worker handles invocations, as it cannot be isolated between concurrent invocations.
      * @param headers next API Response HTTP Headers
      */
     @SuppressWarnings("EmptyBlock")
     protected void propagateTraceId(HttpHeaders headers) {
         String traceId = headers.get(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_TRACE_ID);
         logn(LogLevel.DEBUG, "Trace id: ", traceId, '\n');
-        if (StringUtils.isNotEmpty(traceId)) {
+        XRayUtils.bindTraceHeader(traceId);
+        if (StringUtils.isNotEmpty(traceId) && getRuntimeConfiguration().getWorkers() <= 1) {
             System.setProperty(XRayUtils.LAMBDA_TRACE_HEADER_PROP, traceId);
         }
     }
@@ -551,8 +1302,8 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
      * @param e Exception thrown
      */
     protected void reportInitializationError(URL runtimeApiURL, Throwable e) {
-        try (HttpClient endpointClient = HttpClient.create(runtimeApiURL)) {
-            endpointClient.toBlocking().exchange(decorateWithUserAgent(initializationErrorRequest(e.getMessage(), null, null)));
+        try (RuntimeApiTransport transport = createRuntimeApiTransport(runtimeApiURL, getApplicationContext())) {
+            transport.reportInitializationError(new AwsLambdaRuntimeApiError(e.getMessage(), null), null);
         } catch (Throwable e2) {
             // swallow, nothing we can do...
         }
@@ -568,12 +1319,8 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
         if (value == null) {
             return null;
         }
-        ApplicationContext applicationContext = getApplicationContext();
-        if (applicationContext != null && applicationContext.containsBean(JsonMapper.class)) {
-            JsonMapper jsonMapper = applicationContext.getBean(JsonMapper.class);
-            return jsonMapper.writeValueAsBytes(value);
-        }
-        return null;
+        InvocationCodecPlan plan = getCodecPlan();
+        return plan != null ? plan.writeAsBytes(value) : null;
     }
 
     /**
@@ -590,12 +1337,47 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
         if (content == null) {
             return null;
         }
-        ApplicationContext applicationContext = getApplicationContext();
-        if (applicationContext != null && applicationContext.containsBean(JsonMapper.class)) {
-            JsonMapper objectMapper = applicationContext.getBean(JsonMapper.class);
-            return objectMapper.readValue(content, Argument.of(valueType));
+        InvocationCodecPlan plan = getCodecPlan();
+        return plan != null ? plan.read(content, valueType) : null;
+    }
+
+    /**
+     *
+     * @param content JSON content
+     * @param valueType Class Type to be read into
+     * @param <T> Type to be read into
+     * @return a new instance of the type read from the JSON content or {@code null} if no {@link JsonMapper} exists
+     * @throws IOException if underlying input contains invalid content
+     *   expected for result type (or has other mismatch issues)
+     */
+    @Nullable
+    protected <T> T valueFromContent(@NonNull InputStream content, Class<T> valueType) throws IOException {
+        InvocationCodecPlan plan = getCodecPlan();
+        return plan != null ? plan.read(content, valueType) : null;
+    }
+
+    /**
+     * Returns the codec plan resolved when the runtime is initialized. Before that, a plan is resolved from the current application context.
+     *
+     * @return The codec plan or {@code null} if there is no application context yet
+     */
+    @Nullable
+    private InvocationCodecPlan getCodecPlan() {
+        InvocationCodecPlan plan = codecPlan;
+        if (plan == null) {
+            ApplicationContext applicationContext = getApplicationContext();
+            if (applicationContext == null) {
+                return null;
+            }
+            plan = createCodecPlan(applicationContext);
+            codecPlan = plan;
         }
-        return null;
+        return plan;
+    }
+
+    private InvocationCodecPlan createCodecPlan(ApplicationContext applicationContext) {
+        return new InvocationCodecPlan(applicationContext.findBean(JsonMapper.class).orElse(null),
+            requestType, responseType, handlerRequestType, handlerResponseType);
     }
 
     /**
@@ -665,6 +1447,12 @@ public abstract class AbstractMicronautLambdaRuntime<RequestType, ResponseType,
         return getLogLevel().ordinal() <= level.ordinal();
     }
 
+    @Nullable
+    private String lookupReplayFile() {
+        String replayFile = System.getProperty(LambdaRuntimeConfiguration.REPLAY_FILE_PROPERTY);
+        return StringUtils.isNotEmpty(replayFile) ? replayFile : getEnv(LambdaRuntimeConfiguration.REPLAY_FILE_ENV);
+    }
+
     private URL lookupRuntimeApiEndpoint() throws MalformedURLException {
         final String runtimeApiEndpoint = getEnv(ReservedRuntimeEnvironmentVariables.AWS_LAMBDA_RUNTIME_API);
         if (StringUtils.isEmpty(runtimeApiEndpoint)) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+
+/**
+ * Registers the declared methods of the subclasses of {@link AbstractMicronautLambdaRuntime} for reflective queries, so that a
+ * native runtime detects overrides of the deprecated hooks of the HTTP client event loop as the JVM does.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class AbstractMicronautLambdaRuntimeFeature implements Feature {
+
+    @Override
+    public void beforeAnalysis(BeforeAnalysisAccess access) {
+        access.registerSubtypeReachabilityHandler((duringAnalysisAccess, subtype) -> RuntimeReflection.registerAllDeclaredMethods(subtype),
+            AbstractMicronautLambdaRuntime.class);
+    }
+}
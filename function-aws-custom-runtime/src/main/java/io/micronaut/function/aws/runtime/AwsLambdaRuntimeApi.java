@@ -35,6 +35,9 @@ public interface AwsLambdaRuntimeApi {
     String NEXT_INVOCATION_URI = "/2018-06-01/runtime/invocation/next";
     String INIT_ERROR_URI = "/2018-06-01/runtime/init/error";
     String LAMBDA_RUNTIME_FUNCTION_ERROR_TYPE = "Lambda-Runtime-Function-Error-Type";
+    String LAMBDA_RUNTIME_FUNCTION_ERROR_BODY = "Lambda-Runtime-Function-Error-Body";
+    String LAMBDA_RUNTIME_FUNCTION_RESPONSE_MODE = "Lambda-Runtime-Function-Response-Mode";
+    String RESPONSE_MODE_STREAMING = "streaming";
 
     /**
      *
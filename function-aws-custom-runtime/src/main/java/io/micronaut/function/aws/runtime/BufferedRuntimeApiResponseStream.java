@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * {@link RuntimeApiResponseStream} for transports which do not support response streaming.
+ * The response is buffered and sent with {@link RuntimeApiTransport#respond(String, InvocationBuffer)} when the stream is closed.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class BufferedRuntimeApiResponseStream extends RuntimeApiResponseStream {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final RuntimeApiTransport transport;
+    private final String requestId;
+    private final InvocationBuffer buffer = new InvocationBuffer(false, INITIAL_CAPACITY, INITIAL_CAPACITY);
+    private boolean closed;
+
+    BufferedRuntimeApiResponseStream(@NonNull RuntimeApiTransport transport, @NonNull String requestId) {
+        this.transport = transport;
+        this.requestId = requestId;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return closed;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        buffer.outputStream().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        buffer.outputStream().write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        transport.respond(requestId, buffer);
+    }
+
+    @Override
+    public void fail(@NonNull AwsLambdaRuntimeApiError error, @Nullable String lambdaFunctionErrorType) throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        transport.reportInvocationError(requestId, error, lambdaFunctionErrorType);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Response stream closed");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.URL;
+
+import static io.micronaut.http.HttpHeaders.USER_AGENT;
+
+/**
+ * {@link RuntimeApiTransport} backed by a Micronaut {@link HttpClient}.
+ *
+ * @since 4.8.0
+ */
+public class HttpClientRuntimeApiTransport implements RuntimeApiTransport, AwsLambdaRuntimeApi {
+
+    private final HttpClient httpClient;
+    private final BlockingHttpClient blockingHttpClient;
+
+    @Nullable
+    private final String userAgent;
+
+    /**
+     *
+     * @param httpClient HTTP Client
+     * @param userAgent HTTP Header User-Agent value or {@code null}
+     */
+    public HttpClientRuntimeApiTransport(@NonNull HttpClient httpClient, @Nullable String userAgent) {
+        this.httpClient = httpClient;
+        this.blockingHttpClient = httpClient.toBlocking();
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * Creates a transport with an HTTP client without read, read idle and connect timeouts, as required to long poll the Runtime API.
+     *
+     * @param applicationContext Application Context
+     * @param runtimeApiURL Runtime API URL
+     * @param userAgent HTTP Header User-Agent value or {@code null}
+     * @return A new transport
+     */
+    @NonNull
+    public static HttpClientRuntimeApiTransport create(@NonNull ApplicationContext applicationContext,
+                                                       @NonNull URL runtimeApiURL,
+                                                       @Nullable String userAgent) {
+        final DefaultHttpClientConfiguration config = new DefaultHttpClientConfiguration();
+        config.setReadIdleTimeout(null);
+        config.setReadTimeout(null);
+        config.setConnectTimeout(null);
+        return new HttpClientRuntimeApiTransport(applicationContext.createBean(HttpClient.class, runtimeApiURL, config), userAgent);
+    }
+
+    /**
+     * @return The blocking HTTP Client
+     */
+    @NonNull
+    public BlockingHttpClient getBlockingHttpClient() {
+        return blockingHttpClient;
+    }
+
+    @Override
+    @NonNull
+    public HttpHeaders next(@NonNull InvocationBuffer body) {
+        final HttpResponse<byte[]> response = blockingHttpClient.exchange(decorateWithUserAgent(HttpRequest.GET(NEXT_INVOCATION_URI)), byte[].class);
+        final byte[] bytes = response.body();
+        if (bytes != null) {
+            body.wrap(bytes);
+        }
+        return response.getHeaders();
+    }
+
+    @Override
+    public void respond(@NonNull String requestId, @NonNull InvocationBuffer body) {
+        // the blocking HTTP client requires an exactly sized array
+        blockingHttpClient.exchange(decorateWithUserAgent(invocationResponseRequest(requestId, body.toByteArray())));
+    }
+
+    @Override
+    public void reportInvocationError(@NonNull String requestId,
+                                      @NonNull AwsLambdaRuntimeApiError error,
+                                      @Nullable String lambdaFunctionErrorType) {
+        blockingHttpClient.exchange(decorateWithUserAgent(invocationErrorRequest(requestId, error.getErrorMessage(), error.getErrorType(), lambdaFunctionErrorType)));
+    }
+
+    @Override
+    public void reportInitializationError(@NonNull AwsLambdaRuntimeApiError error,
+                                          @Nullable String lambdaFunctionErrorType) {
+        blockingHttpClient.exchange(decorateWithUserAgent(initializationErrorRequest(error.getErrorMessage(), error.getErrorType(), lambdaFunctionErrorType)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private HttpRequest<?> decorateWithUserAgent(HttpRequest<?> request) {
+        if (userAgent != null && request instanceof MutableHttpRequest<?> mutableHttpRequest) {
+            return mutableHttpRequest.header(USER_AGENT, userAgent);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer which is reused across invocations of the custom runtime event loop.
+ * The invocation payload and the handler output are exchanged through views over this buffer instead of intermediate {@code byte[]} copies.
+ * Instances are not thread-safe, each event loop worker owns its buffers.
+ * {@link RuntimeApiTransport} implementations read invocation payloads into and send responses from these buffers.
+ *
+ * @since 4.8.0
+ */
+public final class InvocationBuffer {
+
+    private static final int TRANSFER_CHUNK_SIZE = 8192;
+
+    private final boolean direct;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+    private final OutputStream outputStream = new InvocationBufferOutputStream();
+    private ByteBuffer buffer;
+    @Nullable
+    private ByteBuffer retained;
+    private byte[] transferChunk;
+    private int size;
+    private volatile boolean abandoned;
+
+    /**
+     * @param direct Whether the buffer memory is allocated outside the Java heap
+     * @param initialCapacity The initial capacity in bytes
+     * @param maxRetainedCapacity The maximum capacity in bytes retained after {@link #reset()}
+     */
+    public InvocationBuffer(boolean direct, int initialCapacity, int maxRetainedCapacity) {
+        this.direct = direct;
+        this.initialCapacity = Math.max(initialCapacity, 1);
+        this.maxRetainedCapacity = Math.max(maxRetainedCapacity, this.initialCapacity);
+        this.buffer = allocate(this.initialCapacity);
+    }
+
+    /**
+     * @return Whether the buffer memory is allocated outside the Java heap
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * @return The number of bytes written to the buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The current capacity of the buffer
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Marks the buffer as still in use by a handler abandoned after its invocation timed out, so that it is not pooled again.
+     */
+    void abandon() {
+        abandoned = true;
+    }
+
+    /**
+     * @return Whether the buffer is still in use by an abandoned handler
+     */
+    boolean isAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Discards the buffer contents. The allocated memory is kept for the next invocation unless it exceeds the maximum retained capacity.
+     */
+    public void reset() {
+        size = 0;
+        if (retained != null) {
+            buffer = retained;
+            retained = null;
+        }
+        if (buffer.capacity() > maxRetainedCapacity) {
+            buffer = allocate(initialCapacity);
+        }
+    }
+
+    /**
+     * Replaces the buffer contents with a view over the supplied array until the next {@link #reset()}.
+     * The array is not copied and must not be modified while the buffer is in use.
+     *
+     * @param bytes The bytes
+     */
+    public void wrap(@NonNull byte[] bytes) {
+        if (retained == null) {
+            retained = buffer;
+        }
+        buffer = ByteBuffer.wrap(bytes);
+        size = bytes.length;
+    }
+
+    /**
+     * @return An output stream which appends to this buffer. The same instance is returned on every call.
+     */
+    @NonNull
+    public OutputStream outputStream() {
+        return outputStream;
+    }
+
+    /**
+     * @return A new input stream over the bytes currently written to the buffer. The bytes are not copied.
+     */
+    @NonNull
+    public InputStream inputStream() {
+        return new InvocationBufferInputStream(size);
+    }
+
+    /**
+     * @return A read-only view over the bytes currently written to the buffer. The bytes are not copied.
+     */
+    @NonNull
+    public ByteBuffer asReadOnlyByteBuffer() {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.position(0);
+        view.limit(size);
+        return view;
+    }
+
+    /**
+     * Appends the contents of the supplied input stream to the buffer.
+     *
+     * @param inputStream The input stream
+     * @param length The number of bytes to read or a negative value to read until the end of the stream
+     * @throws IOException if reading from the input stream fails or if the stream ends before {@code length} bytes are read
+     */
+    public void readFrom(@NonNull InputStream inputStream, long length) throws IOException {
+        if (length >= 0) {
+            if (length > Integer.MAX_VALUE - size) {
+                throw new IOException("Payload of " + length + " bytes exceeds the maximum buffer size");
+            }
+            ensureCapacity(size + (int) length);
+            int remaining = (int) length;
+            while (remaining > 0) {
+                int read = readChunk(inputStream, remaining);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of stream, " + remaining + " bytes missing");
+                }
+                remaining -= read;
+            }
+        } else {
+            int read;
+            do {
+                ensureCapacity(size + TRANSFER_CHUNK_SIZE);
+                read = readChunk(inputStream, buffer.capacity() - size);
+            } while (read >= 0);
+        }
+    }
+
+    /**
+     * Writes the bytes currently written to the buffer to the supplied output stream.
+     *
+     * @param out The output stream
+     * @throws IOException if writing to the output stream fails
+     */
+    public void writeTo(@NonNull OutputStream out) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset(), size);
+            return;
+        }
+        byte[] chunk = transferChunk();
+        int offset = 0;
+        while (offset < size) {
+            int length = Math.min(chunk.length, size - offset);
+            buffer.get(offset, chunk, 0, length);
+            out.write(chunk, 0, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * @return A copy of the bytes currently written to the buffer.
+     */
+    @NonNull
+    public byte[] toByteArray() {
+        if (buffer.hasArray()) {
+            return Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.arrayOffset() + size);
+        }
+        byte[] bytes = new byte[size];
+        buffer.get(0, bytes, 0, size);
+        return bytes;
+    }
+
+    private int readChunk(InputStream inputStream, int maxLength) throws IOException {
+        int read;
+        if (buffer.hasArray()) {
+            read = inputStream.read(buffer.array(), buffer.arrayOffset() + size, maxLength);
+        } else {
+            byte[] chunk = transferChunk();
+            read = inputStream.read(chunk, 0, Math.min(chunk.length, maxLength));
+            if (read > 0) {
+                buffer.put(size, chunk, 0, read);
+            }
+        }
+        if (read > 0) {
+            size += read;
+        }
+        return read;
+    }
+
+    private void write(int b) {
+        ensureCapacity(size + 1);
+        buffer.put(size, (byte) b);
+        size++;
+    }
+
+    private void write(byte[] b, int off, int len) {
+        ensureCapacity(size + len);
+        buffer.put(size, b, off, len);
+        size += len;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Invocation buffer size exceeds the maximum array size");
+        }
+        int capacity = buffer.capacity();
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity << 1, minCapacity);
+        if (newCapacity < 0) {
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(0, buffer, 0, size);
+        buffer = grown;
+    }
+
+    private byte[] transferChunk() {
+        if (transferChunk == null) {
+            transferChunk = new byte[TRANSFER_CHUNK_SIZE];
+        }
+        return transferChunk;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * {@link OutputStream} which appends to the enclosing buffer.
+     */
+    private final class InvocationBufferOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            InvocationBuffer.this.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            InvocationBuffer.this.write(b, off, len);
+        }
+    }
+
+    /**
+     * {@link InputStream} over the bytes written to the enclosing buffer when the stream was created.
+     */
+    private final class InvocationBufferInputStream extends InputStream {
+        private final int limit;
+        private int position;
+        private int mark;
+
+        private InvocationBufferInputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() {
+            if (position >= limit) {
+                return -1;
+            }
+            return buffer.get(position++) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int available = limit - position;
+            if (available <= 0) {
+                return -1;
+            }
+            int length = Math.min(available, len);
+            buffer.get(position, b, off, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, limit - position));
+            position += (int) skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            mark = position;
+        }
+
+        @Override
+        public synchronized void reset() {
+            position = mark;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of {@link InvocationBuffer} instances shared by the custom runtime event loop.
+ * In steady state every invocation reuses the buffers released by the previous one, so no payload sized allocations happen per invocation.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class InvocationBufferPool {
+
+    private final Deque<InvocationBuffer> buffers = new ArrayDeque<>();
+    private final boolean direct;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+    private final int maxPooledBuffers;
+
+    /**
+     * @param direct Whether buffers are allocated outside the Java heap
+     * @param initialCapacity The initial capacity in bytes of each buffer
+     * @param maxRetainedCapacity The maximum capacity in bytes a buffer retains once released
+     * @param maxPooledBuffers The maximum number of idle buffers kept in the pool
+     */
+    public InvocationBufferPool(boolean direct, int initialCapacity, int maxRetainedCapacity, int maxPooledBuffers) {
+        this.direct = direct;
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * @param configuration The custom runtime configuration
+     * @return A pool configured with the buffer settings of the supplied configuration
+     */
+    @NonNull
+    public static InvocationBufferPool of(@NonNull LambdaRuntimeConfiguration configuration) {
+        return new InvocationBufferPool(configuration.isBufferDirect(),
+            configuration.getBufferInitialCapacity(),
+            configuration.getBufferMaxRetainedCapacity(),
+            configuration.getBufferMaxPooled());
+    }
+
+    /**
+     * @return An empty buffer, either reused from the pool or newly allocated.
+     */
+    @NonNull
+    public InvocationBuffer acquire() {
+        InvocationBuffer buffer;
+        synchronized (buffers) {
+            buffer = buffers.pollFirst();
+        }
+        return buffer != null ? buffer : new InvocationBuffer(direct, initialCapacity, maxRetainedCapacity);
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used by the caller afterwards.
+     * @param buffer The buffer
+     */
+    public void release(@NonNull InvocationBuffer buffer) {
+        if (buffer.isAbandoned()) {
+            return;
+        }
+        buffer.reset();
+        synchronized (buffers) {
+            if (buffers.size() < maxPooledBuffers) {
+                buffers.offerFirst(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codec plan resolved once when the runtime starts from its type parameters. It holds the {@link JsonMapper} and the
+ * {@link Argument} of every type the runtime decodes or encodes, so that invocations do not look them up again.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class InvocationCodecPlan {
+
+    /**
+     * How the handler response is turned into the function response.
+     */
+    enum ResponseConversion {
+        /**
+         * The handler response is the function response.
+         */
+        IDENTITY,
+        /**
+         * The handler response is serialized as JSON into the body of an API Gateway proxy response.
+         */
+        PROXY_RESPONSE,
+        /**
+         * The handler response cannot be converted.
+         */
+        NONE
+    }
+
+    @Nullable
+    private final JsonMapper jsonMapper;
+    private final Map<Class<?>, Argument<?>> arguments = new ConcurrentHashMap<>(8);
+    private final ResponseConversion responseConversion;
+
+    /**
+     * @param jsonMapper The JSON mapper or {@code null} if the application context has none
+     * @param requestType The request type
+     * @param responseType The response type
+     * @param handlerRequestType The handler request type
+     * @param handlerResponseType The handler response type
+     */
+    InvocationCodecPlan(@Nullable JsonMapper jsonMapper,
+                        @NonNull Class<?> requestType,
+                        @NonNull Class<?> responseType,
+                        @NonNull Class<?> handlerRequestType,
+                        @NonNull Class<?> handlerResponseType) {
+        this.jsonMapper = jsonMapper;
+        for (Class<?> type : new Class<?>[] {requestType, responseType, handlerRequestType, handlerResponseType}) {
+            arguments.put(type, Argument.of(type));
+        }
+        this.responseConversion = responseConversion(responseType, handlerResponseType);
+    }
+
+    /**
+     * @param responseType The response type
+     * @param handlerResponseType The handler response type
+     * @return How a handler response is turned into the function response
+     */
+    @NonNull
+    static ResponseConversion responseConversion(@NonNull Class<?> responseType, @NonNull Class<?> handlerResponseType) {
+        if (handlerResponseType == responseType) {
+            return ResponseConversion.IDENTITY;
+        } else if (responseType == APIGatewayProxyResponseEvent.class || responseType == APIGatewayV2HTTPResponse.class) {
+            return ResponseConversion.PROXY_RESPONSE;
+        }
+        return ResponseConversion.NONE;
+    }
+
+    /**
+     * @return The JSON mapper or {@code null} if the application context has none
+     */
+    @Nullable
+    JsonMapper getJsonMapper() {
+        return jsonMapper;
+    }
+
+    /**
+     * @return How the handler response is turned into the function response
+     */
+    @NonNull
+    ResponseConversion getResponseConversion() {
+        return responseConversion;
+    }
+
+    /**
+     * @param content JSON content
+     * @param type The type to read
+     * @param <T> The type to read
+     * @return The value or {@code null} if there is no JSON mapper
+     * @throws IOException if the content cannot be read
+     */
+    @Nullable
+    <T> T read(@NonNull InputStream content, @NonNull Class<T> type) throws IOException {
+        return jsonMapper == null ? null : jsonMapper.readValue(content, argument(type));
+    }
+
+    /**
+     * @param content JSON content
+     * @param type The type to read
+     * @param <T> The type to read
+     * @return The value or {@code null} if there is no JSON mapper
+     * @throws IOException if the content cannot be read
+     */
+    @Nullable
+    <T> T read(@NonNull String content, @NonNull Class<T> type) throws IOException {
+        return jsonMapper == null ? null : jsonMapper.readValue(content, argument(type));
+    }
+
+    /**
+     * @param value The value to serialize
+     * @return The JSON bytes or {@code null} if there is no JSON mapper
+     * @throws IOException if the value cannot be serialized
+     */
+    @Nullable
+    byte[] writeAsBytes(@NonNull Object value) throws IOException {
+        return jsonMapper == null ? null : jsonMapper.writeValueAsBytes(value);
+    }
+
+    /**
+     * @param outputStream The stream to write to
+     * @param value The value to serialize
+     * @return Whether the value was written, {@code false} if there is no JSON mapper
+     * @throws IOException if the value cannot be serialized
+     */
+    boolean write(@NonNull OutputStream outputStream, @NonNull Object value) throws IOException {
+        if (jsonMapper == null) {
+            return false;
+        }
+        jsonMapper.writeValue(outputStream, value);
+        return true;
+    }
+
+    /**
+     * @param contentType A content type
+     * @return Whether a body of the content type can be sent as a string instead of Base64
+     */
+    static boolean isTextual(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String lowerCase = contentType.toLowerCase(Locale.ENGLISH);
+        return lowerCase.startsWith("text/")
+            || lowerCase.contains("json")
+            || lowerCase.contains("xml")
+            || lowerCase.startsWith("application/javascript")
+            || lowerCase.startsWith("application/x-www-form-urlencoded");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Argument<T> argument(Class<T> type) {
+        return (Argument<T>) arguments.computeIfAbsent(type, Argument::of);
+    }
+}
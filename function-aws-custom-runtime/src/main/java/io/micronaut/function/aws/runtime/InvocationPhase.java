@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+/**
+ * Phases of an invocation handled by {@link AbstractMicronautLambdaRuntime}.
+ *
+ * @see InvocationTimings
+ * @since 4.8.0
+ */
+public enum InvocationPhase {
+    /**
+     * Waiting for and reading the next invocation from the Runtime API.
+     */
+    NEXT,
+
+    /**
+     * Deserializing the invocation payload into the request type.
+     */
+    DECODE,
+
+    /**
+     * Converting the request into the handler request with {@link AbstractMicronautLambdaRuntime#createHandlerRequest(Object)}.
+     */
+    CREATE_HANDLER_REQUEST,
+
+    /**
+     * Executing the handler. For a {@link com.amazonaws.services.lambda.runtime.RequestStreamHandler} or a streamed response, it includes reading the payload and writing the response.
+     */
+    HANDLER,
+
+    /**
+     * Converting and serializing the handler response with {@link AbstractMicronautLambdaRuntime#createResponse(Object)}.
+     */
+    ENCODE,
+
+    /**
+     * Sending the response or the error to the Runtime API.
+     */
+    RESPOND,
+
+    /**
+     * Running the tasks deferred until after the response.
+     */
+    AFTER_RESPONSE
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary file format of the invocation events recorded by the custom runtime.
+ * <p>
+ * A recording starts with a magic number and a version, followed by one entry per invocation event: the time the event was
+ * received, the header count, the header names and values, the payload length and the payload.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class InvocationRecording {
+
+    private static final int MAGIC = 0x4D4E4C52;
+    private static final int VERSION = 1;
+
+    private InvocationRecording() {
+    }
+
+    /**
+     * Opens a recording for appending. The header is written only if the file is empty.
+     *
+     * @param file The recording file
+     * @return The writer
+     * @throws IOException if the file cannot be opened
+     */
+    @NonNull
+    static Writer append(@NonNull Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (empty) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+        }
+        return new Writer(out);
+    }
+
+    /**
+     * Opens a recording for reading.
+     *
+     * @param file The recording file
+     * @return The reader
+     * @throws IOException if the file cannot be opened or is not a recording
+     */
+    @NonNull
+    static Reader read(@NonNull Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not an invocation recording");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported invocation recording version " + version);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new Reader(in);
+    }
+
+    /**
+     * Appends invocation events to a recording. Instances are shared by the event loop workers.
+     */
+    static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Appends an invocation event and flushes it, so that the recording is usable even if the execution environment is frozen or shut down.
+         *
+         * @param headers The headers of the next invocation response
+         * @param body The invocation payload
+         * @throws IOException if writing fails
+         */
+        synchronized void write(@NonNull HttpHeaders headers, @NonNull InvocationBuffer body) throws IOException {
+            List<String[]> fields = new ArrayList<>();
+            headers.forEach((name, values) -> {
+                for (String value : values) {
+                    fields.add(new String[] {name, value});
+                }
+            });
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(fields.size());
+            for (String[] field : fields) {
+                out.writeUTF(field[0]);
+                out.writeUTF(field[1]);
+            }
+            out.writeInt(body.size());
+            body.writeTo(out);
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the invocation events of a recording in order.
+     */
+    static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next invocation event. The recorded deadline is shifted so that the event keeps the remaining time it had when it was recorded.
+         *
+         * @param body The buffer the payload is written to
+         * @return The headers of the event or {@code null} if the end of the recording is reached
+         * @throws IOException if the recording is truncated or cannot be read
+         */
+        @Nullable
+        HttpHeaders read(@NonNull InvocationBuffer body) throws IOException {
+            long receivedAt;
+            try {
+                receivedAt = in.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, List<String>> fields = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                String value = in.readUTF();
+                if (name.equalsIgnoreCase(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_DEADLINE_MS)) {
+                    value = shiftDeadline(value, receivedAt);
+                }
+                fields.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+            }
+            body.readFrom(in, in.readInt());
+            return new CaseInsensitiveMutableHttpHeaders(fields, ConversionService.SHARED);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private static String shiftDeadline(String deadline, long receivedAt) {
+            try {
+                return String.valueOf(System.currentTimeMillis() + Long.parseLong(deadline) - receivedAt);
+            } catch (NumberFormatException e) {
+                return deadline;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+/**
+ * Thrown when the handler did not complete before the deadline of the invocation minus {@link LambdaRuntimeConfiguration#getDeadlineMargin()}.
+ *
+ * @since 4.8.0
+ */
+public class InvocationTimeoutException extends RuntimeException {
+
+    /**
+     * Error type reported to the Runtime API for invocations which timed out.
+     */
+    public static final String ERROR_TYPE = "Runtime.InvocationTimeout";
+
+    /**
+     * @param message The detail message
+     * @param cause The cause or {@code null}
+     */
+    public InvocationTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
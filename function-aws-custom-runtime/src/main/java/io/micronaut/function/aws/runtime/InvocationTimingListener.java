@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Receives the {@link InvocationTimings} of every invocation handled by {@link AbstractMicronautLambdaRuntime}.
+ * Beans of this type are retrieved from the application context of the handler when the runtime starts.
+ * Listeners are invoked on the thread which handled the invocation, before the next invocation is polled, and should return quickly.
+ *
+ * @since 4.8.0
+ */
+@FunctionalInterface
+public interface InvocationTimingListener {
+
+    /**
+     * @param timings The timings of the invocation
+     */
+    void onInvocation(@NonNull InvocationTimings timings);
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Time spent in each {@link InvocationPhase} of an invocation, in nanoseconds.
+ *
+ * @see InvocationTimingListener
+ * @since 4.8.0
+ */
+public final class InvocationTimings {
+
+    private static final InvocationPhase[] PHASES = InvocationPhase.values();
+
+    private final boolean coldStart;
+    private final long[] nanos = new long[PHASES.length];
+
+    @Nullable
+    private String requestId;
+
+    private boolean success = true;
+
+    /**
+     * @param coldStart Whether the invocation is the first one handled by the runtime
+     */
+    InvocationTimings(boolean coldStart) {
+        this.coldStart = coldStart;
+        Arrays.fill(nanos, -1);
+    }
+
+    /**
+     * @return The AWS Lambda Request ID or {@code null} if the invocation did not provide one
+     */
+    @Nullable
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * @return Whether the invocation is the first one handled by the runtime
+     */
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
+    /**
+     * @return Whether the invocation completed without error
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @param phase The phase
+     * @return Whether the invocation went through the phase
+     */
+    public boolean hasPhase(@NonNull InvocationPhase phase) {
+        return nanos[phase.ordinal()] >= 0;
+    }
+
+    /**
+     * @param phase The phase
+     * @return The time spent in the phase in nanoseconds or {@code 0} if the invocation did not go through the phase
+     */
+    public long getNanos(@NonNull InvocationPhase phase) {
+        return Math.max(0, nanos[phase.ordinal()]);
+    }
+
+    /**
+     * @return The time spent in all the phases in nanoseconds
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long phaseNanos : nanos) {
+            total += Math.max(0, phaseNanos);
+        }
+        return total;
+    }
+
+    /**
+     * Records the end of a phase.
+     *
+     * @param phase The phase
+     * @param startNanos The {@link System#nanoTime()} at which the phase started
+     * @return The current {@link System#nanoTime()}
+     */
+    long mark(InvocationPhase phase, long startNanos) {
+        long now = System.nanoTime();
+        int index = phase.ordinal();
+        nanos[index] = Math.max(0, nanos[index]) + (now - startNanos);
+        return now;
+    }
+
+    void setRequestId(@Nullable String requestId) {
+        this.requestId = requestId;
+    }
+
+    void failed() {
+        this.success = false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(128).append("InvocationTimings{requestId=").append(requestId)
+            .append(", coldStart=").append(coldStart)
+            .append(", success=").append(success);
+        for (InvocationPhase phase : PHASES) {
+            if (hasPhase(phase)) {
+                sb.append(", ").append(phase).append('=').append(nanos[phase.ordinal()]);
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
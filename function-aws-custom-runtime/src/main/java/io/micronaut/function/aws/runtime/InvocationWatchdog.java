@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the handler of an invocation on a worker thread so that the thread of the event loop can report a timeout when the invocation
+ * deadline is about to be reached, whether or not the handler reacts to interruptions.
+ * A worker which does not complete in time is interrupted and abandoned: its output is discarded and the next invocation runs on another thread.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class InvocationWatchdog implements Closeable {
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executorService = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "lambda-runtime-handler-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Runs the task on a worker thread and waits for it at most the supplied delay.
+     *
+     * @param task The task invoking the handler
+     * @param delayMillis Delay in milliseconds
+     * @return Whether the task completed in time, if not the task has been abandoned
+     * @throws IOException if the task failed with an {@link IOException} or the event loop thread was interrupted
+     */
+    boolean run(@NonNull Task task, long delayMillis) throws IOException {
+        Future<?> future = executorService.submit(() -> {
+            task.run();
+            return null;
+        });
+        try {
+            future.get(Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return false;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the handler");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Invocation of the handler.
+     */
+    @FunctionalInterface
+    interface Task {
+
+        /**
+         * @throws IOException if the payload cannot be decoded or the response cannot be written
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Stream the response of a watched handler is written to. Once abandoned, writes fail, so that a handler which
+     * completes after its invocation timed out cannot write into a buffer reused by the next invocation.
+     */
+    static final class AbandonableOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private boolean abandoned;
+
+        AbandonableOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Abandons the stream. When this method returns, no write is in progress and later writes fail.
+         */
+        synchronized void abandon() {
+            abandoned = true;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            ensureNotAbandoned();
+            out.write(b);
+        }
+
+        @Override
+        public synchronized void write(@NonNull byte[] b, int off, int len) throws IOException {
+            ensureNotAbandoned();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            ensureNotAbandoned();
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            ensureNotAbandoned();
+            out.close();
+        }
+
+        private void ensureNotAbandoned() throws IOException {
+            if (abandoned) {
+                throw new IOException("The invocation timed out, the response is discarded");
+            }
+        }
+    }
+}
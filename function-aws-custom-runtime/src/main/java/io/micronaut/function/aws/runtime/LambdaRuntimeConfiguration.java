@@ -0,0 +1,342 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the AWS Lambda custom runtime event loop.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(LambdaRuntimeConfiguration.PREFIX)
+public class LambdaRuntimeConfiguration {
+
+    /**
+     * Prefix for the AWS Lambda custom runtime configuration.
+     */
+    public static final String PREFIX = "aws.custom-runtime";
+
+    /**
+     * System property which points to a recording the runtime replays instead of polling the Runtime API.
+     */
+    public static final String REPLAY_FILE_PROPERTY = PREFIX + ".replay-file";
+
+    /**
+     * Environment variable which points to a recording the runtime replays instead of polling the Runtime API.
+     */
+    public static final String REPLAY_FILE_ENV = "AWS_CUSTOM_RUNTIME_REPLAY_FILE";
+
+    /**
+     * The default initial capacity of the invocation buffers.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BUFFER_INITIAL_CAPACITY = 16 * 1024;
+
+    /**
+     * The default maximum capacity retained by an invocation buffer between invocations.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BUFFER_MAX_RETAINED_CAPACITY = 8 * 1024 * 1024;
+
+    /**
+     * The default maximum number of idle invocation buffers kept in the pool.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BUFFER_MAX_POOLED = 4;
+
+    /**
+     * The default buffer-direct value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_BUFFER_DIRECT = false;
+
+    /**
+     * The default transport used to communicate with the Runtime API.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final TransportType DEFAULT_TRANSPORT = TransportType.SOCKET;
+
+    /**
+     * The default response mode.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final ResponseMode DEFAULT_RESPONSE_MODE = ResponseMode.BUFFERED;
+
+    /**
+     * The default number of invocation workers.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_WORKERS = 1;
+
+    /**
+     * The default virtual-threads value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_VIRTUAL_THREADS = false;
+
+    /**
+     * The default maximum time the tasks deferred until after the response are allowed to run.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_AFTER_RESPONSE_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * The default deadline-watchdog value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_DEADLINE_WATCHDOG = false;
+
+    /**
+     * The default margin before the invocation deadline at which the watchdog reports a timeout.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_DEADLINE_MARGIN = Duration.ofMillis(500);
+
+    private TransportType transport = DEFAULT_TRANSPORT;
+    private boolean deadlineWatchdog = DEFAULT_DEADLINE_WATCHDOG;
+    private Duration deadlineMargin = DEFAULT_DEADLINE_MARGIN;
+    private Duration afterResponseTimeout = DEFAULT_AFTER_RESPONSE_TIMEOUT;
+    private int workers = DEFAULT_WORKERS;
+    private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
+    private ResponseMode responseMode = DEFAULT_RESPONSE_MODE;
+    private int bufferInitialCapacity = DEFAULT_BUFFER_INITIAL_CAPACITY;
+    private int bufferMaxRetainedCapacity = DEFAULT_BUFFER_MAX_RETAINED_CAPACITY;
+    private int bufferMaxPooled = DEFAULT_BUFFER_MAX_POOLED;
+    private boolean bufferDirect = DEFAULT_BUFFER_DIRECT;
+    @Nullable
+    private String recordFile;
+
+    /**
+     * @return The transport used to communicate with the Runtime API
+     */
+    public TransportType getTransport() {
+        return transport;
+    }
+
+    /**
+     * Default value (socket). The Micronaut HTTP client is used instead when set to {@code http-client}.
+     * @param transport The transport used to communicate with the Runtime API
+     */
+    public void setTransport(TransportType transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * @return The number of workers polling the Runtime API for invocations concurrently
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_WORKERS}). Each worker runs its own next invocation, handle and respond loop against the shared handler.
+     * Use more than one worker only in execution environments which allow several concurrent invocations per instance.
+     * @param workers The number of workers polling the Runtime API for invocations concurrently
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * @return Whether the workers run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_VIRTUAL_THREADS}). Virtual threads require Java 21, platform threads are used otherwise.
+     * @param virtualThreads Whether the workers run on virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * @return The maximum time the tasks deferred until after the response are allowed to run
+     */
+    public Duration getAfterResponseTimeout() {
+        return afterResponseTimeout;
+    }
+
+    /**
+     * Default value (2 seconds). Tasks still running when the timeout expires are interrupted and the runtime polls the next invocation.
+     * @param afterResponseTimeout The maximum time the tasks deferred until after the response are allowed to run
+     */
+    public void setAfterResponseTimeout(Duration afterResponseTimeout) {
+        this.afterResponseTimeout = afterResponseTimeout;
+    }
+
+    /**
+     * @return Whether the invocation fails with a timeout when the invocation deadline is about to be reached
+     */
+    public boolean isDeadlineWatchdog() {
+        return deadlineWatchdog;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_DEADLINE_WATCHDOG}). When enabled, the handler runs on a worker thread and, if it has not completed {@link #getDeadlineMargin()}
+     * before the invocation deadline, a timeout error is reported to the Runtime API right away, so that the execution environment is not recycled.
+     * The worker is interrupted and abandoned, and the next invocation runs on another thread.
+     * @param deadlineWatchdog Whether the invocation fails with a timeout when the invocation deadline is about to be reached
+     */
+    public void setDeadlineWatchdog(boolean deadlineWatchdog) {
+        this.deadlineWatchdog = deadlineWatchdog;
+    }
+
+    /**
+     * @return The margin before the invocation deadline at which the watchdog reports a timeout
+     */
+    public Duration getDeadlineMargin() {
+        return deadlineMargin;
+    }
+
+    /**
+     * Default value (500 milliseconds).
+     * @param deadlineMargin The margin before the invocation deadline at which the watchdog reports a timeout
+     */
+    public void setDeadlineMargin(Duration deadlineMargin) {
+        this.deadlineMargin = deadlineMargin;
+    }
+
+    /**
+     * @return The file the invocation events received from the Runtime API are appended to or {@code null} if recording is disabled
+     */
+    @Nullable
+    public String getRecordFile() {
+        return recordFile;
+    }
+
+    /**
+     * Default value (null). When set, the payload and headers of every invocation event are appended to the file so that they can be
+     * replayed later with {@value #REPLAY_FILE_PROPERTY}. Recordings contain the raw events, including any personal data or secrets they carry.
+     * @param recordFile The file the invocation events received from the Runtime API are appended to
+     */
+    public void setRecordFile(@Nullable String recordFile) {
+        this.recordFile = recordFile;
+    }
+
+    /**
+     * @return How invocation responses are sent to the Runtime API
+     */
+    public ResponseMode getResponseMode() {
+        return responseMode;
+    }
+
+    /**
+     * Default value (buffered). When set to {@code streaming}, the response is sent to the Runtime API as it is written by the handler,
+     * which lowers the time to first byte and allows responses larger than the buffered response payload limit.
+     * The function must be invoked with response streaming enabled, for example with a function URL configured with the {@code RESPONSE_STREAM} invoke mode.
+     * @param responseMode How invocation responses are sent to the Runtime API
+     */
+    public void setResponseMode(ResponseMode responseMode) {
+        this.responseMode = responseMode;
+    }
+
+    /**
+     * @return The initial capacity in bytes of the invocation buffers
+     */
+    public int getBufferInitialCapacity() {
+        return bufferInitialCapacity;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_BUFFER_INITIAL_CAPACITY}).
+     * @param bufferInitialCapacity The initial capacity in bytes of the invocation buffers
+     */
+    public void setBufferInitialCapacity(int bufferInitialCapacity) {
+        this.bufferInitialCapacity = bufferInitialCapacity;
+    }
+
+    /**
+     * @return The maximum capacity in bytes an invocation buffer retains between invocations
+     */
+    public int getBufferMaxRetainedCapacity() {
+        return bufferMaxRetainedCapacity;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_BUFFER_MAX_RETAINED_CAPACITY}). Buffers grown above this capacity by a large payload are released after the invocation.
+     * @param bufferMaxRetainedCapacity The maximum capacity in bytes an invocation buffer retains between invocations
+     */
+    public void setBufferMaxRetainedCapacity(int bufferMaxRetainedCapacity) {
+        this.bufferMaxRetainedCapacity = bufferMaxRetainedCapacity;
+    }
+
+    /**
+     * @return The maximum number of idle invocation buffers kept in the pool
+     */
+    public int getBufferMaxPooled() {
+        return bufferMaxPooled;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_BUFFER_MAX_POOLED}).
+     * @param bufferMaxPooled The maximum number of idle invocation buffers kept in the pool
+     */
+    public void setBufferMaxPooled(int bufferMaxPooled) {
+        this.bufferMaxPooled = bufferMaxPooled;
+    }
+
+    /**
+     * @return Whether the invocation buffers are allocated outside the Java heap
+     */
+    public boolean isBufferDirect() {
+        return bufferDirect;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_BUFFER_DIRECT}).
+     * @param bufferDirect Whether the invocation buffers are allocated outside the Java heap
+     */
+    public void setBufferDirect(boolean bufferDirect) {
+        this.bufferDirect = bufferDirect;
+    }
+
+    /**
+     * Transports available to communicate with the Runtime API.
+     */
+    public enum TransportType {
+        /**
+         * {@link SocketRuntimeApiTransport}, a minimal keep-alive HTTP/1.1 client.
+         */
+        SOCKET,
+
+        /**
+         * {@link HttpClientRuntimeApiTransport}, backed by the Micronaut HTTP client.
+         */
+        HTTP_CLIENT
+    }
+
+    /**
+     * How invocation responses are sent to the Runtime API.
+     */
+    public enum ResponseMode {
+        /**
+         * The response is buffered and sent once the handler completes.
+         */
+        BUFFERED,
+
+        /**
+         * The response is streamed with chunked transfer encoding as the handler writes it.
+         */
+        STREAMING
+    }
+}
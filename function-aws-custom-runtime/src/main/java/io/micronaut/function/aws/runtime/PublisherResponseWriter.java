@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Writes the items emitted by a {@link Publisher} to an {@link OutputStream}, flushing after each item so that
+ * a streamed response is sent to the Runtime API as it is produced.
+ * Items can be {@link ByteBuffer}, {@code byte[]} or {@link CharSequence}, the latter encoded as UTF-8.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class PublisherResponseWriter {
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private PublisherResponseWriter() {
+    }
+
+    /**
+     * Subscribes to the publisher and blocks until it completes, requesting one item at a time.
+     *
+     * @param publisher The publisher
+     * @param out The stream the items are written to
+     * @throws IOException if the publisher emits an error or the items cannot be written
+     */
+    static void write(@NonNull Publisher<?> publisher, @NonNull OutputStream out) throws IOException {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<Object>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                try {
+                    writeItem(item, out);
+                    out.flush();
+                } catch (IOException e) {
+                    subscription.cancel();
+                    completion.completeExceptionally(e);
+                    return;
+                }
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completion.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing the function response");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void writeItem(Object item, OutputStream out) throws IOException {
+        if (item instanceof ByteBuffer byteBuffer) {
+            writeByteBuffer(byteBuffer, out);
+        } else if (item instanceof byte[] bytes) {
+            out.write(bytes);
+        } else if (item instanceof CharSequence charSequence) {
+            out.write(charSequence.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (item != null) {
+            throw new IOException("Unsupported publisher item type: " + item.getClass().getName());
+        }
+    }
+
+    private static void writeByteBuffer(ByteBuffer byteBuffer, OutputStream out) throws IOException {
+        ByteBuffer source = byteBuffer.duplicate();
+        if (source.hasArray()) {
+            out.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            return;
+        }
+        byte[] copy = new byte[Math.min(COPY_BUFFER_SIZE, source.remaining())];
+        while (source.hasRemaining()) {
+            int length = Math.min(copy.length, source.remaining());
+            source.get(copy, 0, length);
+            out.write(copy, 0, length);
+        }
+    }
+}
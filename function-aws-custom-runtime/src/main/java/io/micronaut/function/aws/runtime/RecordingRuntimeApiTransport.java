@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.IOException;
+
+/**
+ * {@link RuntimeApiTransport} decorator which appends every invocation event it receives to a recording.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class RecordingRuntimeApiTransport implements RuntimeApiTransport {
+
+    private final RuntimeApiTransport delegate;
+    private final InvocationRecording.Writer recording;
+
+    /**
+     * @param delegate The transport communicating with the Runtime API
+     * @param recording The recording, shared with the other workers and closed by the runtime
+     */
+    RecordingRuntimeApiTransport(@NonNull RuntimeApiTransport delegate, @NonNull InvocationRecording.Writer recording) {
+        this.delegate = delegate;
+        this.recording = recording;
+    }
+
+    @Override
+    @NonNull
+    public HttpHeaders next(@NonNull InvocationBuffer body) throws IOException {
+        HttpHeaders headers = delegate.next(body);
+        if (body.size() > 0) {
+            recording.write(headers, body);
+        }
+        return headers;
+    }
+
+    @Override
+    public void respond(@NonNull String requestId, @NonNull InvocationBuffer body) throws IOException {
+        delegate.respond(requestId, body);
+    }
+
+    @Override
+    @NonNull
+    public RuntimeApiResponseStream openResponseStream(@NonNull String requestId, @NonNull String contentType) throws IOException {
+        return delegate.openResponseStream(requestId, contentType);
+    }
+
+    @Override
+    public void reportInvocationError(@NonNull String requestId,
+                                      @NonNull AwsLambdaRuntimeApiError error,
+                                      @Nullable String lambdaFunctionErrorType) throws IOException {
+        delegate.reportInvocationError(requestId, error, lambdaFunctionErrorType);
+    }
+
+    @Override
+    public void reportInitializationError(@NonNull AwsLambdaRuntimeApiError error,
+                                          @Nullable String lambdaFunctionErrorType) throws IOException {
+        delegate.reportInitializationError(error, lambdaFunctionErrorType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
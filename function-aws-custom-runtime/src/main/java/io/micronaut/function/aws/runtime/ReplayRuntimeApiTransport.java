@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * {@link RuntimeApiTransport} which serves the invocation events of a recording instead of polling the Runtime API.
+ * Responses are discarded, errors are counted.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class ReplayRuntimeApiTransport implements RuntimeApiTransport {
+
+    private final InvocationRecording.Reader recording;
+    private final InvocationBufferPool bufferPool;
+    private final InvocationBuffer pending;
+    @Nullable
+    private HttpHeaders pendingHeaders;
+    private int responses;
+    private int errors;
+
+    /**
+     * @param recording The recording to replay
+     * @param bufferPool The pool the look-ahead buffer is acquired from
+     * @throws IOException if the first invocation event cannot be read
+     */
+    ReplayRuntimeApiTransport(@NonNull InvocationRecording.Reader recording, @NonNull InvocationBufferPool bufferPool) throws IOException {
+        this.recording = recording;
+        this.bufferPool = bufferPool;
+        this.pending = bufferPool.acquire();
+        this.pendingHeaders = recording.read(pending);
+    }
+
+    /**
+     * @return Whether the recording contains more invocation events
+     */
+    boolean hasNext() {
+        return pendingHeaders != null;
+    }
+
+    /**
+     * @return The number of invocations which completed with a response
+     */
+    int getResponses() {
+        return responses;
+    }
+
+    /**
+     * @return The number of invocations which completed with an error
+     */
+    int getErrors() {
+        return errors;
+    }
+
+    @Override
+    @NonNull
+    public HttpHeaders next(@NonNull InvocationBuffer body) throws IOException {
+        HttpHeaders headers = pendingHeaders;
+        if (headers == null) {
+            throw new EOFException("No more invocation events in the recording");
+        }
+        pending.writeTo(body.outputStream());
+        pending.reset();
+        pendingHeaders = recording.read(pending);
+        return headers;
+    }
+
+    @Override
+    public void respond(@NonNull String requestId, @NonNull InvocationBuffer body) {
+        responses++;
+    }
+
+    @Override
+    public void reportInvocationError(@NonNull String requestId,
+                                      @NonNull AwsLambdaRuntimeApiError error,
+                                      @Nullable String lambdaFunctionErrorType) {
+        errors++;
+    }
+
+    @Override
+    public void reportInitializationError(@NonNull AwsLambdaRuntimeApiError error,
+                                          @Nullable String lambdaFunctionErrorType) {
+        // the initialization error is rethrown by the runtime
+    }
+
+    @Override
+    public void close() throws IOException {
+        bufferPool.release(pending);
+        recording.close();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream an invocation response is written to. Closing the stream completes the response.
+ * If the invocation fails after the response has been opened, {@link #fail(AwsLambdaRuntimeApiError, String)} must be invoked instead of {@link #close()}.
+ *
+ * @see <a href="https://docs.aws.amazon.com/lambda/latest/dg/runtimes-custom.html#runtimes-custom-response-streaming">Response streaming for custom runtimes</a>
+ * @since 4.8.0
+ */
+public abstract class RuntimeApiResponseStream extends OutputStream {
+
+    /**
+     * @return Whether part of the response has already been sent to the Runtime API
+     */
+    public abstract boolean isCommitted();
+
+    /**
+     * Completes the invocation with an error. If the response has already been committed, the error is reported
+     * in the trailers of the streamed response, otherwise it is reported to the invocation error endpoint.
+     * Invoking this method on a closed stream has no effect.
+     *
+     * @param error The error
+     * @param lambdaFunctionErrorType Lambda Function Error Type
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    public abstract void fail(@NonNull AwsLambdaRuntimeApiError error, @Nullable String lambdaFunctionErrorType) throws IOException;
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the Runtime API responds to a request with an error status, for example {@code 413} when a response exceeds the payload limit.
+ * The request has been received and processed by the Runtime API, so it is never retried.
+ *
+ * @since 4.8.0
+ */
+public class RuntimeApiStatusException extends IOException {
+
+    private final int status;
+
+    /**
+     * @param status The HTTP status of the response
+     * @param message The detail message
+     */
+    public RuntimeApiStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return The HTTP status of the response
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Transport used by {@link AbstractMicronautLambdaRuntime} to communicate with the AWS Lambda Runtime API.
+ * Provide a custom implementation by overriding {@link AbstractMicronautLambdaRuntime#createRuntimeApiTransport(java.net.URL, io.micronaut.context.ApplicationContext)}.
+ *
+ * @see <a href="https://docs.aws.amazon.com/lambda/latest/dg/runtimes-api.html">AWS Lambda runtime API</a>
+ * @since 4.8.0
+ */
+public interface RuntimeApiTransport extends Closeable {
+
+    /**
+     * Blocks until the next invocation event is available and reads its payload.
+     *
+     * @param body Buffer the invocation payload is written to
+     * @return The HTTP headers of the {@value AwsLambdaRuntimeApi#NEXT_INVOCATION_URI} response
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    @NonNull
+    HttpHeaders next(@NonNull InvocationBuffer body) throws IOException;
+
+    /**
+     * Sends the response of an invocation.
+     *
+     * @param requestId AWS Lambda Request ID
+     * @param body The invocation response
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    void respond(@NonNull String requestId, @NonNull InvocationBuffer body) throws IOException;
+
+    /**
+     * Opens a stream the response of an invocation is written to as it is produced, using the
+     * {@value AwsLambdaRuntimeApi#RESPONSE_MODE_STREAMING} response mode of the Runtime API.
+     * Transports which do not support response streaming buffer the response and send it once the stream is closed.
+     *
+     * @param requestId AWS Lambda Request ID
+     * @param contentType HTTP Header Content-Type value of the response
+     * @return The response stream
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    @NonNull
+    default RuntimeApiResponseStream openResponseStream(@NonNull String requestId, @NonNull String contentType) throws IOException {
+        return new BufferedRuntimeApiResponseStream(this, requestId);
+    }
+
+    /**
+     * Reports an error thrown during the execution of an invocation.
+     *
+     * @param requestId AWS Lambda Request ID
+     * @param error The error
+     * @param lambdaFunctionErrorType Lambda Function Error Type
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    void reportInvocationError(@NonNull String requestId,
+                               @NonNull AwsLambdaRuntimeApiError error,
+                               @Nullable String lambdaFunctionErrorType) throws IOException;
+
+    /**
+     * Reports an error thrown during the initialization of the runtime.
+     *
+     * @param error The error
+     * @param lambdaFunctionErrorType Lambda Function Error Type
+     * @throws IOException if the communication with the Runtime API fails
+     */
+    void reportInitializationError(@NonNull AwsLambdaRuntimeApiError error,
+                                   @Nullable String lambdaFunctionErrorType) throws IOException;
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
+import io.micronaut.http.HttpHeaders;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal {@link RuntimeApiTransport} which speaks HTTP/1.1 over a single keep-alive {@link Socket}.
+ * It only implements what the Lambda Runtime API on the local host requires, and avoids the start-up cost of a full HTTP client.
+ * Payloads are read into and written from {@link InvocationBuffer}s without intermediate copies.
+ *
+ * @since 4.8.0
+ */
+public class SocketRuntimeApiTransport implements RuntimeApiTransport, AwsLambdaRuntimeApi {
+
+    private static final int IO_BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final String HTTP_VERSION = "HTTP/1.1";
+    private static final String CRLF = "\r\n";
+    private static final byte[] CRLF_BYTES = CRLF.getBytes(StandardCharsets.ISO_8859_1);
+    private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String CHUNKED = "chunked";
+    private static final String CLOSE = "close";
+    private static final String STREAM_ERROR_TYPE = "Runtime.StreamError";
+
+    private final String host;
+    private final int port;
+    private final String hostHeader;
+
+    @Nullable
+    private final String userAgent;
+
+    private final StringBuilder line = new StringBuilder(128);
+
+    @Nullable
+    private Socket socket;
+    @Nullable
+    private InputStream in;
+    @Nullable
+    private OutputStream out;
+    private boolean requestWritten;
+    private boolean statusLineRead;
+
+    /**
+     *
+     * @param runtimeApiURL Runtime API URL
+     * @param userAgent HTTP Header User-Agent value or {@code null}
+     */
+    public SocketRuntimeApiTransport(@NonNull URL runtimeApiURL, @Nullable String userAgent) {
+        this.host = runtimeApiURL.getHost();
+        this.port = runtimeApiURL.getPort() != -1 ? runtimeApiURL.getPort() : runtimeApiURL.getDefaultPort();
+        this.hostHeader = host + ":" + port;
+        this.userAgent = userAgent;
+    }
+
+    @Override
+    @NonNull
+    public HttpHeaders next(@NonNull InvocationBuffer body) throws IOException {
+        Map<String, List<String>> headers = exchange("GET", NEXT_INVOCATION_URI, null, null, null, body);
+        return new CaseInsensitiveMutableHttpHeaders(headers, ConversionService.SHARED);
+    }
+
+    @Override
+    public void respond(@NonNull String requestId, @NonNull InvocationBuffer body) throws IOException {
+        exchange("POST", responseUri(requestId), null, body, null, null);
+    }
+
+    @Override
+    @NonNull
+    public RuntimeApiResponseStream openResponseStream(@NonNull String requestId, @NonNull String contentType) {
+        return new ChunkedResponseStream(requestId, contentType);
+    }
+
+    @Override
+    public void reportInvocationError(@NonNull String requestId,
+                                      @NonNull AwsLambdaRuntimeApiError error,
+                                      @Nullable String lambdaFunctionErrorType) throws IOException {
+        exchange("POST", errorUri(requestId), lambdaFunctionErrorType, null, toJson(error), null);
+    }
+
+    @Override
+    public void reportInitializationError(@NonNull AwsLambdaRuntimeApiError error,
+                                          @Nullable String lambdaFunctionErrorType) throws IOException {
+        exchange("POST", INIT_ERROR_URI, lambdaFunctionErrorType, null, toJson(error), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Socket s = socket;
+        socket = null;
+        in = null;
+        out = null;
+        if (s != null) {
+            s.close();
+        }
+    }
+
+    /**
+     * Opens a connection to the Runtime API. Connections are kept open across invocations.
+     *
+     * @return A connected socket
+     * @throws IOException if the connection cannot be established
+     */
+    @NonNull
+    protected Socket connect() throws IOException {
+        Socket s = new Socket();
+        s.setTcpNoDelay(true);
+        s.setKeepAlive(true);
+        // long polling the next invocation must not time out
+        s.setSoTimeout(0);
+        s.connect(new InetSocketAddress(host, port));
+        return s;
+    }
+
+    private Map<String, List<String>> exchange(String method,
+                                               String path,
+                                               @Nullable String lambdaFunctionErrorType,
+                                               @Nullable InvocationBuffer requestBody,
+                                               @Nullable byte[] requestBytes,
+                                               @Nullable InvocationBuffer responseBody) throws IOException {
+        boolean reused = socket != null;
+        requestWritten = false;
+        statusLineRead = false;
+        try {
+            return doExchange(method, path, lambdaFunctionErrorType, requestBody, requestBytes, responseBody);
+        } catch (IOException e) {
+            closeQuietly();
+            if (!reused || e instanceof RuntimeApiStatusException || !isRetryable(method)) {
+                throw e;
+            }
+            // the Runtime API closed an idle keep-alive connection, the request is sent once more on a new connection
+            if (responseBody != null) {
+                responseBody.reset();
+            }
+            try {
+                return doExchange(method, path, lambdaFunctionErrorType, requestBody, requestBytes, responseBody);
+            } catch (IOException retryException) {
+                closeQuietly();
+                throw retryException;
+            }
+        }
+    }
+
+    /**
+     * A request may only be sent again if the Runtime API cannot have processed it: either none of it was written, or it is a
+     * {@code GET} of the next invocation which received no answer. A {@code POST} which was written may have been processed even if
+     * its connection was lost before the status line arrived, and sending it again could answer an invocation twice.
+     */
+    private boolean isRetryable(String method) {
+        return !requestWritten || ("GET".equals(method) && !statusLineRead);
+    }
+
+    private Map<String, List<String>> doExchange(String method,
+                                                 String path,
+                                                 @Nullable String lambdaFunctionErrorType,
+                                                 @Nullable InvocationBuffer requestBody,
+                                                 @Nullable byte[] requestBytes,
+                                                 @Nullable InvocationBuffer responseBody) throws IOException {
+        ensureConnected();
+        StringBuilder head = requestHead(method, path);
+        if (lambdaFunctionErrorType != null) {
+            head.append(LAMBDA_RUNTIME_FUNCTION_ERROR_TYPE).append(": ").append(lambdaFunctionErrorType).append(CRLF);
+        }
+        if (requestBody != null || requestBytes != null) {
+            int contentLength = requestBody != null ? requestBody.size() : requestBytes.length;
+            head.append(HttpHeaders.CONTENT_TYPE).append(": ").append(CONTENT_TYPE_JSON).append(CRLF)
+                .append(HttpHeaders.CONTENT_LENGTH).append(": ").append(contentLength).append(CRLF);
+        }
+        head.append(CRLF);
+        requestWritten = true;
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (requestBody != null) {
+            requestBody.writeTo(out);
+        } else if (requestBytes != null) {
+            out.write(requestBytes);
+        }
+        out.flush();
+        return readResponse(method, path, responseBody);
+    }
+
+    private void ensureConnected() throws IOException {
+        if (socket == null) {
+            Socket s = connect();
+            socket = s;
+            in = new BufferedInputStream(s.getInputStream(), IO_BUFFER_SIZE);
+            out = new BufferedOutputStream(s.getOutputStream(), IO_BUFFER_SIZE);
+        }
+    }
+
+    private StringBuilder requestHead(String method, String path) {
+        StringBuilder head = new StringBuilder(256)
+            .append(method).append(' ').append(path).append(' ').append(HTTP_VERSION).append(CRLF)
+            .append(HttpHeaders.HOST).append(": ").append(hostHeader).append(CRLF);
+        if (userAgent != null) {
+            head.append(HttpHeaders.USER_AGENT).append(": ").append(userAgent).append(CRLF);
+        }
+        return head;
+    }
+
+    private Map<String, List<String>> readResponse(String method, String path, @Nullable InvocationBuffer responseBody) throws IOException {
+        int status;
+        do {
+            status = parseStatus(readLine());
+            statusLineRead = true;
+        } while (status == 100);
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean close = false;
+        String headerLine;
+        while (!(headerLine = readLine()).isEmpty()) {
+            int colon = headerLine.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = headerLine.substring(0, colon).trim();
+            String value = headerLine.substring(colon + 1).trim();
+            headers.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                contentLength = parseContentLength(value);
+            } else if (name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                chunked = value.toLowerCase(Locale.ROOT).contains(CHUNKED);
+            } else if (name.equalsIgnoreCase(HttpHeaders.CONNECTION)) {
+                close = value.equalsIgnoreCase(CLOSE);
+            }
+        }
+        if (chunked) {
+            readChunkedBody(responseBody);
+        } else if (contentLength >= 0) {
+            readBody(responseBody, contentLength);
+        } else {
+            readBody(responseBody, -1);
+            close = true;
+        }
+        if (close) {
+            closeQuietly();
+        }
+        if (status >= 300) {
+            throw new RuntimeApiStatusException(status, "Runtime API responded with status " + status + " to " + method + " " + path);
+        }
+        return headers;
+    }
+
+    private void readChunkedBody(@Nullable InvocationBuffer responseBody) throws IOException {
+        while (true) {
+            String sizeLine = readLine();
+            int extension = sizeLine.indexOf(';');
+            long chunkSize;
+            try {
+                chunkSize = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid chunk size: " + sizeLine, e);
+            }
+            if (chunkSize == 0) {
+                // trailers
+                while (!readLine().isEmpty()) {
+                    // ignore trailers
+                }
+                return;
+            }
+            readBody(responseBody, chunkSize);
+            readLine();
+        }
+    }
+
+    private void readBody(@Nullable InvocationBuffer responseBody, long length) throws IOException {
+        if (responseBody != null) {
+            responseBody.readFrom(in, length);
+            return;
+        }
+        if (length < 0) {
+            while (in.read() != -1) {
+                // discard
+            }
+            return;
+        }
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException("Unexpected end of stream");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private String readLine() throws IOException {
+        line.setLength(0);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Connection closed by the Runtime API");
+            }
+            if (b != '\r') {
+                if (line.length() >= MAX_LINE_LENGTH) {
+                    throw new IOException("HTTP header line exceeds " + MAX_LINE_LENGTH + " characters");
+                }
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static int parseStatus(String statusLine) throws IOException {
+        int firstSpace = statusLine.indexOf(' ');
+        if (!statusLine.startsWith("HTTP/") || firstSpace < 0 || statusLine.length() < firstSpace + 4) {
+            throw new IOException("Invalid HTTP status line: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(firstSpace + 1, firstSpace + 4));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid HTTP status line: " + statusLine, e);
+        }
+    }
+
+    private static long parseContentLength(String value) throws IOException {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Content-Length: " + value, e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private static byte[] toJson(AwsLambdaRuntimeApiError error) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        if (error.getErrorMessage() != null) {
+            json.append("\"errorMessage\":");
+            appendJsonString(json, error.getErrorMessage());
+        }
+        if (error.getErrorType() != null) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("\"errorType\":");
+            appendJsonString(json, error.getErrorType());
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Streams the response with chunked transfer encoding. The request head is only sent with the first chunk,
+     * so that an invocation failing before any output is produced is reported to the invocation error endpoint.
+     */
+    private final class ChunkedResponseStream extends RuntimeApiResponseStream {
+
+        private final String requestId;
+        private final String contentType;
+        private final byte[] chunk = new byte[IO_BUFFER_SIZE];
+        private int count;
+        private boolean committed;
+        private boolean closed;
+
+        private ChunkedResponseStream(String requestId, String contentType) {
+            this.requestId = requestId;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (count == chunk.length) {
+                writeChunk();
+            }
+            chunk[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            if (len >= chunk.length) {
+                // large writes bypass the chunk buffer
+                writeChunk();
+                commit();
+                writeChunk(b, off, len);
+                return;
+            }
+            if (len > chunk.length - count) {
+                writeChunk();
+            }
+            System.arraycopy(b, off, chunk, count, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            writeChunk();
+            commit();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeChunk();
+                commit();
+                out.write(("0" + CRLF + CRLF).getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                readResponse("POST", responseUri(requestId), null);
+            } catch (IOException e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        @Override
+        public void fail(@NonNull AwsLambdaRuntimeApiError error, @Nullable String lambdaFunctionErrorType) throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (!committed) {
+                reportInvocationError(requestId, error, lambdaFunctionErrorType);
+                return;
+            }
+            String errorType = lambdaFunctionErrorType;
+            if (errorType == null) {
+                errorType = error.getErrorType() != null ? error.getErrorType() : STREAM_ERROR_TYPE;
+            }
+            try {
+                writeChunk();
+                StringBuilder trailers = new StringBuilder(256).append('0').append(CRLF)
+                    .append(LAMBDA_RUNTIME_FUNCTION_ERROR_TYPE).append(": ")
+                    .append(errorType).append(CRLF)
+                    .append(LAMBDA_RUNTIME_FUNCTION_ERROR_BODY).append(": ")
+                    .append(Base64.getEncoder().encodeToString(toJson(error))).append(CRLF)
+                    .append(CRLF);
+                out.write(trailers.toString().getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                readResponse("POST", responseUri(requestId), null);
+            } catch (IOException e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        private void commit() throws IOException {
+            if (committed) {
+                return;
+            }
+            committed = true;
+            ensureConnected();
+            StringBuilder head = requestHead("POST", responseUri(requestId))
+                .append(LAMBDA_RUNTIME_FUNCTION_RESPONSE_MODE).append(": ").append(RESPONSE_MODE_STREAMING).append(CRLF)
+                .append(HttpHeaders.CONTENT_TYPE).append(": ").append(contentType).append(CRLF)
+                .append(HttpHeaders.TRANSFER_ENCODING).append(": ").append(CHUNKED).append(CRLF)
+                .append(HttpHeaders.TRAILER).append(": ").append(LAMBDA_RUNTIME_FUNCTION_ERROR_TYPE).append(", ").append(LAMBDA_RUNTIME_FUNCTION_ERROR_BODY).append(CRLF)
+                .append(CRLF);
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        private void writeChunk() throws IOException {
+            if (count > 0) {
+                commit();
+                writeChunk(chunk, 0, count);
+                count = 0;
+            }
+        }
+
+        private void writeChunk(byte[] b, int off, int len) throws IOException {
+            out.write((Integer.toHexString(len) + CRLF).getBytes(StandardCharsets.ISO_8859_1));
+            out.write(b, off, len);
+            out.write(CRLF_BYTES);
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Response stream closed");
+            }
+        }
+    }
+}
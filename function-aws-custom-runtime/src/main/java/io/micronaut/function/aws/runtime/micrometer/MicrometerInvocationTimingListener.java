@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.runtime.micrometer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.runtime.InvocationPhase;
+import io.micronaut.function.aws.runtime.InvocationTimingListener;
+import io.micronaut.function.aws.runtime.InvocationTimings;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the {@link InvocationTimings} of the custom runtime as Micrometer timers named {@value #METRIC_NAME},
+ * tagged with the phase and whether the invocation was a cold start.
+ *
+ * @since 4.8.0
+ */
+@Singleton
+@Requires(classes = MeterRegistry.class)
+@Requires(beans = MeterRegistry.class)
+@Requires(property = MicrometerInvocationTimingListener.ENABLED, notEquals = "false")
+public class MicrometerInvocationTimingListener implements InvocationTimingListener {
+
+    /**
+     * Name of the timers.
+     */
+    public static final String METRIC_NAME = "aws.lambda.runtime.invocation.phase";
+
+    /**
+     * Property to disable the Micrometer timers.
+     */
+    public static final String ENABLED = "aws.custom-runtime.metrics.enabled";
+
+    private static final InvocationPhase[] PHASES = InvocationPhase.values();
+
+    private final Timer[] warmTimers = new Timer[PHASES.length];
+    private final Timer[] coldTimers = new Timer[PHASES.length];
+
+    /**
+     * @param meterRegistry Meter Registry
+     */
+    public MicrometerInvocationTimingListener(MeterRegistry meterRegistry) {
+        for (InvocationPhase phase : PHASES) {
+            warmTimers[phase.ordinal()] = timer(meterRegistry, phase, false);
+            coldTimers[phase.ordinal()] = timer(meterRegistry, phase, true);
+        }
+    }
+
+    @Override
+    public void onInvocation(@NonNull InvocationTimings timings) {
+        Timer[] timers = timings.isColdStart() ? coldTimers : warmTimers;
+        for (InvocationPhase phase : PHASES) {
+            if (timings.hasPhase(phase)) {
+                timers[phase.ordinal()].record(timings.getNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, InvocationPhase phase, boolean coldStart) {
+        return Timer.builder(METRIC_NAME)
+            .description("Time spent in each phase of the invocations handled by the custom runtime")
+            .tag("phase", phase.name().toLowerCase())
+            .tag("cold-start", String.valueOf(coldStart))
+            .register(meterRegistry);
+    }
+}
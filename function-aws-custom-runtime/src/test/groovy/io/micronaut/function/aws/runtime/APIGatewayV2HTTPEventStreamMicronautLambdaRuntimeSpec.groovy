@@ -0,0 +1,26 @@
+package io.micronaut.function.aws.runtime
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class APIGatewayV2HTTPEventStreamMicronautLambdaRuntimeSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext applicationContext = ApplicationContext.run()
+
+    void "responses are streamed without changing the configured response mode"() {
+        given:
+        APIGatewayV2HTTPEventStreamMicronautLambdaRuntime runtime = new APIGatewayV2HTTPEventStreamMicronautLambdaRuntime()
+
+        when:
+        LambdaRuntimeConfiguration configuration = runtime.resolveRuntimeConfiguration(applicationContext)
+
+        then:
+        runtime.responseMode == LambdaRuntimeConfiguration.ResponseMode.STREAMING
+        configuration.responseMode == LambdaRuntimeConfiguration.DEFAULT_RESPONSE_MODE
+        applicationContext.getBean(LambdaRuntimeConfiguration).responseMode == LambdaRuntimeConfiguration.DEFAULT_RESPONSE_MODE
+    }
+}
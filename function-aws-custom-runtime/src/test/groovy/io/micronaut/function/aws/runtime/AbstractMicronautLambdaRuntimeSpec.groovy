@@ -29,11 +29,19 @@ class AbstractMicronautLambdaRuntimeSpec extends Specification {
 
         when:
         APIGatewayProxyResponseEvent responseEvent = customRuntime.respond(HttpStatus.I_AM_A_TEAPOT, "{\"foo\":\"bar\"}".getBytes(), MediaType.APPLICATION_JSON_GITHUB)
-        then:
-        responseEvent.isBase64Encoded
+        then: 'textual bodies are not Base64 encoded'
+        !responseEvent.isBase64Encoded
         418 == responseEvent.statusCode
         MediaType.APPLICATION_JSON_GITHUB == responseEvent.getHeaders().get(HttpHeaders.CONTENT_TYPE)
-        new String(Base64.encoder.encode("{\"foo\":\"bar\"}".getBytes())) == responseEvent.body
+        "{\"foo\":\"bar\"}" == responseEvent.body
+
+        when:
+        byte[] png = [0, 80, 78, 71] as byte[]
+        responseEvent = customRuntime.respond(HttpStatus.OK, png, MediaType.IMAGE_PNG)
+
+        then:
+        responseEvent.isBase64Encoded
+        Base64.encoder.encodeToString(png) == responseEvent.body
     }
     
     static class CustomRuntime extends AbstractMicronautLambdaRuntime<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent, APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
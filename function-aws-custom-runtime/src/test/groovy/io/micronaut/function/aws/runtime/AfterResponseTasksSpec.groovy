@@ -0,0 +1,123 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.ApplicationContextBuilder
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.Environment
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.core.annotation.NonNull
+import io.micronaut.function.FunctionBean
+import io.micronaut.function.aws.MicronautRequestStreamHandler
+import io.micronaut.function.aws.event.AfterExecutionEvent
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Function
+
+class AfterResponseTasksSpec extends Specification {
+
+    static final Map<String, String> RESPONSES = new ConcurrentHashMap<>()
+    static final Map<String, Boolean> RESPONDED_BEFORE_TASK = new ConcurrentHashMap<>()
+
+    void "tasks deferred from an AfterExecutionEvent listener run after the response is sent"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'AfterResponseTasksSpec'])
+        AfterResponseLambdaRuntime runtime = new AfterResponseLambdaRuntime("localhost:$embeddedServer.port")
+        Thread.start {
+            runtime.run([] as String[])
+        }
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert RESPONSES['123456'] == 'olleh'
+            assert RESPONDED_BEFORE_TASK['123456']
+        }
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    static class AfterResponseLambdaRuntime extends AbstractRequestStreamHandlerMicronautLambdaRuntime<Object, Object> {
+
+        private final String serverUrl
+
+        AfterResponseLambdaRuntime(String serverUrl) {
+            this.serverUrl = serverUrl
+        }
+
+        @Override
+        protected String getEnv(String name) {
+            name == ReservedRuntimeEnvironmentVariables.AWS_LAMBDA_RUNTIME_API ? serverUrl : super.getEnv(name)
+        }
+
+        @Override
+        protected RequestStreamHandler createRequestStreamHandler(String... args) {
+            new ReverseStreamHandler()
+        }
+    }
+
+    static class ReverseStreamHandler extends MicronautRequestStreamHandler {
+
+        @Override
+        protected String resolveFunctionName(Environment env) {
+            'afterResponseReverse'
+        }
+
+        @Override
+        @NonNull
+        protected ApplicationContextBuilder newApplicationContextBuilder() {
+            super.newApplicationContextBuilder().properties(Collections.singletonMap('spec.name', 'AfterResponseTasksSpec.handler'))
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'AfterResponseTasksSpec.handler')
+    @FunctionBean('afterResponseReverse')
+    static class ReverseFunction implements Function<String, String> {
+        @Override
+        String apply(String input) {
+            input.reverse()
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'AfterResponseTasksSpec.handler')
+    @Singleton
+    static class DeferringListener implements ApplicationEventListener<AfterExecutionEvent> {
+        @Override
+        void onApplicationEvent(AfterExecutionEvent event) {
+            String requestId = event.context.awsRequestId
+            event.runAfterResponse {
+                RESPONDED_BEFORE_TASK[requestId] = RESPONSES.containsKey(requestId)
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'AfterResponseTasksSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next() {
+            HttpResponse.ok('hello')
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "123456")
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            RESPONSES[requestId] = body
+            HttpResponse.accepted()
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.function.aws.MicronautRequestStreamHandler
+import io.micronaut.function.aws.XRayUtils
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class ConcurrentWorkersSpec extends Specification {
+
+    void "invocations are handled concurrently and the trace header is isolated per worker"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ConcurrentWorkersSpec'])
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+        WorkersLambdaRuntime runtime = new WorkersLambdaRuntime("localhost:$embeddedServer.port")
+        Thread.start {
+            runtime.run([] as String[])
+        }
+
+        expect:
+        new PollingConditions(timeout: 10).eventually {
+            assert api.responses.size() >= 10
+            api.responses.each { requestId, traceId ->
+                assert traceId == 'Root=trace-' + requestId.substring('id-'.length())
+            }
+            assert TraceEchoHandler.THREADS.size() == 2
+        }
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    static class WorkersLambdaRuntime extends AbstractRequestStreamHandlerMicronautLambdaRuntime<Object, Object> {
+
+        private final String serverUrl
+
+        WorkersLambdaRuntime(String serverUrl) {
+            this.serverUrl = serverUrl
+        }
+
+        @Override
+        protected String getEnv(String name) {
+            name == ReservedRuntimeEnvironmentVariables.AWS_LAMBDA_RUNTIME_API ? serverUrl : super.getEnv(name)
+        }
+
+        @Override
+        protected LambdaRuntimeConfiguration resolveRuntimeConfiguration(ApplicationContext applicationContext) {
+            LambdaRuntimeConfiguration configuration = new LambdaRuntimeConfiguration()
+            configuration.workers = 2
+            configuration
+        }
+
+        @Override
+        protected RequestStreamHandler createRequestStreamHandler(String... args) {
+            new TraceEchoHandler()
+        }
+    }
+
+    static class TraceEchoHandler extends MicronautRequestStreamHandler {
+
+        static final Set<String> THREADS = ConcurrentHashMap.newKeySet()
+
+        @Override
+        void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+            THREADS << Thread.currentThread().name
+            // give the other worker a chance to bind a different trace header
+            Thread.sleep(20)
+            output.write(XRayUtils.parseXrayTraceId().map { 'Root=' + it }.orElse('').bytes)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ConcurrentWorkersSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        final AtomicInteger counter = new AtomicInteger()
+        final Map<String, String> responses = new ConcurrentHashMap<>()
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next() {
+            int id = counter.incrementAndGet()
+            HttpResponse.ok('{}')
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "id-$id".toString())
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_TRACE_ID, "Root=trace-$id".toString())
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            responses[requestId] = body
+            HttpResponse.accepted()
+        }
+    }
+}
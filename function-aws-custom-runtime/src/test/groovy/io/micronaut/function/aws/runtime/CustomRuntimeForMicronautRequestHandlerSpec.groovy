@@ -35,13 +35,60 @@ class CustomRuntimeForMicronautRequestHandlerSpec extends Specification {
         new PollingConditions(timeout: 5).eventually {
             assert lambadaRuntimeApi.responses
             assert lambadaRuntimeApi.responses['123456']
-            assert lambadaRuntimeApi.responses['123456'].body == '{"name":"Building Microservices","isbn":"XXX"}'.bytes.encodeBase64().toString()
+            assert lambadaRuntimeApi.responses['123456'].body == '{"name":"Building Microservices","isbn":"XXX"}'
+            assert !lambadaRuntimeApi.responses['123456'].isBase64Encoded
         }
 
         cleanup:
         embeddedServer.close()
     }
 
+    void "an invocation event decoding to null is reported as an error without invoking the handler"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'CustomRuntimeForMicronautRequestHandlerSpec.null'])
+        CustomAwsProxyEventMicronautLambdaRuntime customMicronautLambdaRuntime = new CustomAwsProxyEventMicronautLambdaRuntime("localhost:$embeddedServer.port")
+        Thread.start {
+            customMicronautLambdaRuntime.run([] as String[])
+        }
+        NullEventLambdaRuntimeApi lambdaRuntimeApi = embeddedServer.applicationContext.getBean(NullEventLambdaRuntimeApi)
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert lambdaRuntimeApi.errors['123456']
+            assert lambdaRuntimeApi.errors['123456'].contains('could not be decoded')
+        }
+        !lambdaRuntimeApi.responses
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'CustomRuntimeForMicronautRequestHandlerSpec.null')
+    @Controller("/")
+    static class NullEventLambdaRuntimeApi {
+
+        Map<String, String> responses = [:]
+        Map<String, String> errors = [:]
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next() {
+            HttpResponse.ok('null')
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "123456")
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            responses[requestId] = body
+            HttpResponse.accepted()
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/error")
+        HttpResponse<?> error(@PathVariable("requestId") String requestId, @Body String body) {
+            errors[requestId] = body
+            HttpResponse.accepted()
+        }
+    }
 
     @Requires(property = 'spec.name', value = 'CustomRuntimeForMicronautRequestHandlerSpec')
     @Controller("/")
@@ -0,0 +1,146 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.function.aws.MicronautRequestStreamHandler
+import io.micronaut.function.aws.XRayUtils
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+class DeadlineWatchdogSpec extends Specification {
+
+    void "a handler ignoring interruptions is abandoned before the deadline and the runtime keeps handling invocations"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'DeadlineWatchdogSpec'])
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+        WatchdogLambdaRuntime runtime = new WatchdogLambdaRuntime("localhost:$embeddedServer.port")
+        Thread.start {
+            runtime.run([] as String[])
+        }
+
+        expect: 'the slow invocation times out while its handler still runs and the following one succeeds'
+        new PollingConditions(timeout: 10).eventually {
+            assert api.errors['id-1']
+            assert api.errors['id-1'].contains(InvocationTimeoutException.ERROR_TYPE)
+            assert api.responses['id-2'] == 'fast'
+        }
+        !api.slowHandlerCompletedBeforeError
+        !api.responses.containsKey('id-1')
+
+        and: 'the trace header of the invocation is bound to the thread the watched handler runs on'
+        new PollingConditions(timeout: 5).eventually {
+            assert api.responses['id-3'] == MockLambdaRuntimeApi.TRACE_HEADER
+        }
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    static class WatchdogLambdaRuntime extends AbstractRequestStreamHandlerMicronautLambdaRuntime<Object, Object> {
+
+        private final String serverUrl
+
+        WatchdogLambdaRuntime(String serverUrl) {
+            this.serverUrl = serverUrl
+        }
+
+        @Override
+        protected String getEnv(String name) {
+            name == ReservedRuntimeEnvironmentVariables.AWS_LAMBDA_RUNTIME_API ? serverUrl : super.getEnv(name)
+        }
+
+        @Override
+        protected LambdaRuntimeConfiguration resolveRuntimeConfiguration(ApplicationContext applicationContext) {
+            LambdaRuntimeConfiguration configuration = new LambdaRuntimeConfiguration()
+            configuration.deadlineWatchdog = true
+            configuration.deadlineMargin = Duration.ofMillis(500)
+            configuration
+        }
+
+        @Override
+        protected RequestStreamHandler createRequestStreamHandler(String... args) {
+            new SlowHandler()
+        }
+    }
+
+    static class SlowHandler extends MicronautRequestStreamHandler {
+
+        static final AtomicBoolean SLOW_COMPLETED = new AtomicBoolean()
+
+        @Override
+        void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+            String event = new String(input.readAllBytes())
+            if (event == 'trace') {
+                output.write(String.valueOf(XRayUtils.getBoundTraceHeader()).bytes)
+                return
+            }
+            if (event == 'slow') {
+                long end = System.currentTimeMillis() + 4_000
+                while (System.currentTimeMillis() < end) {
+                    try {
+                        Thread.sleep(100)
+                    } catch (InterruptedException ignored) {
+                        // the handler does not react to the interruption
+                    }
+                }
+                SLOW_COMPLETED.set(true)
+                output.write('late'.bytes)
+                return
+            }
+            output.write('fast'.bytes)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'DeadlineWatchdogSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        static final String TRACE_HEADER = 'Root=1-5759e988-bd862e3fe1be46a994272793;Parent=53995c3f42cd8ad8;Sampled=1'
+
+        final AtomicInteger counter = new AtomicInteger()
+        final Map<String, String> responses = new ConcurrentHashMap<>()
+        final Map<String, String> errors = new ConcurrentHashMap<>()
+        volatile boolean slowHandlerCompletedBeforeError
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next() {
+            int id = counter.incrementAndGet()
+            HttpResponse.ok(id == 1 ? 'slow' : id == 3 ? 'trace' : 'fast')
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_TRACE_ID, TRACE_HEADER)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "id-$id".toString())
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_DEADLINE_MS, String.valueOf(System.currentTimeMillis() + 1500))
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            responses[requestId] = body
+            HttpResponse.accepted()
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/error")
+        HttpResponse<?> error(@PathVariable("requestId") String requestId, @Body String body) {
+            if (requestId == 'id-1') {
+                slowHandlerCompletedBeforeError = SlowHandler.SLOW_COMPLETED.get()
+            }
+            errors[requestId] = body
+            HttpResponse.accepted()
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
+import io.micronaut.aws.ua.UserAgentProvider
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class HttpClientEventLoopFallbackSpec extends Specification {
+
+    void "a runtime overriding a deprecated event loop hook falls back to the HTTP client event loop"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HttpClientEventLoopFallbackSpec'])
+        HookedLambdaRuntime runtime = new HookedLambdaRuntime("localhost:$embeddedServer.port")
+        Thread.start {
+            runtime.run([] as String[])
+        }
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+
+        expect: 'the overridden hook is used to request the next invocation'
+        new PollingConditions(timeout: 5).eventually {
+            assert api.responses['123456']
+            assert api.responses['123456'].body == '{"name":"Building Microservices","isbn":"XXX"}'
+        }
+        api.hooked == 'true'
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    static class HookedLambdaRuntime extends CustomAwsProxyEventMicronautLambdaRuntime {
+
+        HookedLambdaRuntime(String serverUrl) {
+            super(serverUrl)
+        }
+
+        @Override
+        protected <T> MutableHttpRequest<T> createNextInvocationHttpRequest(@Nullable UserAgentProvider userAgentProvider) {
+            super.createNextInvocationHttpRequest(userAgentProvider).header('X-Hooked', 'true')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HttpClientEventLoopFallbackSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        Map<String, APIGatewayProxyResponseEvent> responses = [:]
+        String hooked
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<APIGatewayProxyRequestEvent> next(@Nullable @Header('X-Hooked') String hooked) {
+            this.hooked = hooked
+            APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent()
+            event.body = '{"name":"Building Microservices"}'
+            HttpResponse.ok(event)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "123456")
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body APIGatewayProxyResponseEvent proxyResponse) {
+            responses[requestId] = proxyResponse
+            HttpResponse.accepted()
+        }
+    }
+}
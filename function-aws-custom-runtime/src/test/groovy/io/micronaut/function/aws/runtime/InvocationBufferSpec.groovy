@@ -0,0 +1,86 @@
+package io.micronaut.function.aws.runtime
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InvocationBufferSpec extends Specification {
+
+    @Unroll
+    void "buffer grows and exposes its contents without copying (direct: #direct)"() {
+        given:
+        InvocationBuffer buffer = new InvocationBuffer(direct, 4, 64)
+        byte[] payload = ('x' * 100).bytes
+
+        when:
+        buffer.outputStream().write(payload)
+
+        then:
+        buffer.size() == 100
+        buffer.capacity() >= 100
+        buffer.inputStream().readAllBytes() == payload
+        buffer.toByteArray() == payload
+
+        when:
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        buffer.writeTo(out)
+
+        then:
+        out.toByteArray() == payload
+
+        when: 'the buffer grew above the maximum retained capacity'
+        buffer.reset()
+
+        then:
+        buffer.size() == 0
+        buffer.capacity() == 4
+
+        where:
+        direct << [false, true]
+    }
+
+    @Unroll
+    void "buffer reads exactly the content length from an input stream (direct: #direct)"() {
+        given:
+        InvocationBuffer buffer = new InvocationBuffer(direct, 16, 1024)
+        byte[] payload = ('{"name":"Building Microservices"}' * 20).bytes
+
+        when:
+        buffer.readFrom(new ByteArrayInputStream(payload), payload.length)
+
+        then:
+        buffer.toByteArray() == payload
+
+        when:
+        buffer.reset()
+        buffer.readFrom(new ByteArrayInputStream(payload), -1)
+
+        then:
+        buffer.toByteArray() == payload
+
+        when:
+        buffer.reset()
+        buffer.readFrom(new ByteArrayInputStream(payload), payload.length + 1)
+
+        then:
+        thrown(EOFException)
+
+        where:
+        direct << [false, true]
+    }
+
+    void "pool reuses released buffers"() {
+        given:
+        InvocationBufferPool pool = new InvocationBufferPool(false, 16, 1024, 1)
+
+        when:
+        InvocationBuffer first = pool.acquire()
+        first.outputStream().write('hello'.bytes)
+        pool.release(first)
+        InvocationBuffer second = pool.acquire()
+
+        then:
+        first.is(second)
+        second.size() == 0
+        !pool.acquire().is(second)
+    }
+}
@@ -0,0 +1,96 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.function.aws.runtime.micrometer.MicrometerInvocationTimingListener
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class InvocationTimingsSpec extends Specification {
+
+    void "listeners receive the timings of every phase and the cold start flag"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'InvocationTimingsSpec'])
+        List<InvocationTimings> recorded = new CopyOnWriteArrayList<>()
+        CustomAwsProxyEventMicronautLambdaRuntime runtime = new CustomAwsProxyEventMicronautLambdaRuntime("localhost:$embeddedServer.port") {
+            @Override
+            protected List<InvocationTimingListener> resolveInvocationTimingListeners(ApplicationContext applicationContext) {
+                [{ InvocationTimings timings -> recorded << timings } as InvocationTimingListener]
+            }
+        }
+        Thread.start {
+            runtime.run([] as String[])
+        }
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert recorded.size() >= 2
+        }
+        recorded[0].coldStart
+        !recorded[1].coldStart
+        recorded.every { it.requestId == '123456' && it.success }
+        [InvocationPhase.NEXT, InvocationPhase.DECODE, InvocationPhase.CREATE_HANDLER_REQUEST,
+         InvocationPhase.HANDLER, InvocationPhase.ENCODE, InvocationPhase.RESPOND].every { recorded[1].hasPhase(it) }
+        !recorded[1].hasPhase(InvocationPhase.AFTER_RESPONSE)
+        recorded[1].totalNanos >= recorded[1].getNanos(InvocationPhase.HANDLER)
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "micrometer listener records a timer per phase tagged with the cold start flag"() {
+        given:
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+        MicrometerInvocationTimingListener listener = new MicrometerInvocationTimingListener(meterRegistry)
+        InvocationTimings timings = new InvocationTimings(true)
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5)
+        timings.mark(InvocationPhase.HANDLER, start)
+
+        when:
+        listener.onInvocation(timings)
+
+        then:
+        meterRegistry.get(MicrometerInvocationTimingListener.METRIC_NAME)
+                .tags('phase', 'handler', 'cold-start', 'true')
+                .timer().count() == 1
+        meterRegistry.get(MicrometerInvocationTimingListener.METRIC_NAME)
+                .tags('phase', 'handler', 'cold-start', 'true')
+                .timer().totalTime(TimeUnit.MILLISECONDS) >= 5
+        meterRegistry.get(MicrometerInvocationTimingListener.METRIC_NAME)
+                .tags('phase', 'decode', 'cold-start', 'true')
+                .timer().count() == 0
+    }
+
+    @Requires(property = 'spec.name', value = 'InvocationTimingsSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<APIGatewayProxyRequestEvent> next() {
+            APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent()
+            event.body = '{"name":"Building Microservices"}'
+            HttpResponse.ok(event)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "123456")
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            HttpResponse.accepted()
+        }
+    }
+}
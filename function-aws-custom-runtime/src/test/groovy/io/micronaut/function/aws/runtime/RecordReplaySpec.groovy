@@ -0,0 +1,128 @@
+package io.micronaut.function.aws.runtime
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.function.aws.MicronautRequestStreamHandler
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Predicate
+
+class RecordReplaySpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    void "invocation events are recorded and replayed through the handler without a Runtime API"() {
+        given:
+        Path recording = tempDir.resolve('events.bin')
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RecordReplaySpec'])
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+        RecordingLambdaRuntime runtime = new RecordingLambdaRuntime(recording.toString())
+        AtomicInteger loops = new AtomicInteger()
+
+        when: 'three invocations are handled while recording'
+        runtime.startRuntimeApiEventLoop(new URL("http://localhost:$embeddedServer.port"), { loops.getAndIncrement() < 3 } as Predicate<URL>)
+
+        then:
+        api.responses == ['ENO', 'OWT', 'EERHT']
+        Files.size(recording) > 0
+
+        when: 'the recording is replayed'
+        UpperCaseHandler.INVOCATIONS.clear()
+        int replayed = new RecordingLambdaRuntime(null).replay(recording)
+
+        then:
+        replayed == 3
+        UpperCaseHandler.INVOCATIONS*.payload == ['one', 'two', 'three']
+        UpperCaseHandler.INVOCATIONS*.requestId == ['id-1', 'id-2', 'id-3']
+        UpperCaseHandler.INVOCATIONS.every { it.remainingTime > 50_000 && it.remainingTime <= 60_000 }
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "replay fails for a file which is not a recording"() {
+        given:
+        Path file = tempDir.resolve('not-a-recording.bin')
+        Files.write(file, 'hello world'.bytes)
+
+        when:
+        new RecordingLambdaRuntime(null).replay(file)
+
+        then:
+        IOException e = thrown()
+        e.message.contains('is not an invocation recording')
+    }
+
+    static class RecordingLambdaRuntime extends AbstractRequestStreamHandlerMicronautLambdaRuntime<Object, Object> {
+
+        private final String recordFile
+
+        RecordingLambdaRuntime(String recordFile) {
+            this.recordFile = recordFile
+        }
+
+        @Override
+        protected LambdaRuntimeConfiguration resolveRuntimeConfiguration(ApplicationContext applicationContext) {
+            LambdaRuntimeConfiguration configuration = new LambdaRuntimeConfiguration()
+            configuration.recordFile = recordFile
+            configuration
+        }
+
+        @Override
+        protected RequestStreamHandler createRequestStreamHandler(String... args) {
+            new UpperCaseHandler()
+        }
+    }
+
+    static class UpperCaseHandler extends MicronautRequestStreamHandler {
+
+        static final List<Map<String, Object>> INVOCATIONS = new CopyOnWriteArrayList<>()
+
+        @Override
+        void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+            String payload = new String(input.readAllBytes())
+            INVOCATIONS << [payload: payload, requestId: context.awsRequestId, remainingTime: context.remainingTimeInMillis]
+            output.write(payload.toUpperCase().reverse().bytes)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'RecordReplaySpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        final AtomicInteger counter = new AtomicInteger()
+        final List<String> responses = new CopyOnWriteArrayList<>()
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next() {
+            int id = counter.incrementAndGet()
+            HttpResponse.ok(['one', 'two', 'three'][id - 1])
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "id-$id".toString())
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_DEADLINE_MS, String.valueOf(System.currentTimeMillis() + 60_000))
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            responses << body
+            HttpResponse.accepted()
+        }
+    }
+}
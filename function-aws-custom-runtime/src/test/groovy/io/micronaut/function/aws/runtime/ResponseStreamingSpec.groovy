@@ -0,0 +1,167 @@
+package io.micronaut.function.aws.runtime
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ResponseStreamingSpec extends Specification {
+
+    @AutoCleanup
+    RecordingRuntimeApi api = new RecordingRuntimeApi()
+
+    @AutoCleanup
+    SocketRuntimeApiTransport transport = new SocketRuntimeApiTransport(new URL("http://localhost:$api.port"), null)
+
+    void "response is streamed with chunked transfer encoding"() {
+        when:
+        RuntimeApiResponseStream stream = transport.openResponseStream('123456', 'text/plain')
+        stream.write('hello '.bytes)
+
+        then: 'nothing is sent before the first flush'
+        !stream.committed
+
+        when:
+        stream.flush()
+
+        then:
+        stream.committed
+        new PollingConditions(timeout: 5).eventually {
+            assert api.partialBodies.contains('hello ')
+        }
+
+        when:
+        stream.write(('x' * 10_000).bytes)
+        stream.close()
+
+        then:
+        api.requests.size() == 1
+        api.requests[0].requestLine == 'POST /2018-06-01/runtime/invocation/123456/response HTTP/1.1'
+        api.requests[0].headers['lambda-runtime-function-response-mode'] == 'streaming'
+        api.requests[0].headers['transfer-encoding'] == 'chunked'
+        api.requests[0].headers['content-type'] == 'text/plain'
+        api.requests[0].body == 'hello ' + ('x' * 10_000)
+        api.requests[0].trailers.isEmpty()
+    }
+
+    void "errors after the response is committed are reported in the trailers"() {
+        when:
+        RuntimeApiResponseStream stream = transport.openResponseStream('123456', 'text/plain')
+        stream.write('partial'.bytes)
+        stream.flush()
+        stream.fail(new AwsLambdaRuntimeApiError('boom', 'java.lang.IllegalStateException'), null)
+
+        then:
+        api.requests.size() == 1
+        api.requests[0].body == 'partial'
+        api.requests[0].trailers['lambda-runtime-function-error-type'] == 'java.lang.IllegalStateException'
+        new String(api.requests[0].trailers['lambda-runtime-function-error-body'].decodeBase64(), StandardCharsets.UTF_8) ==
+                '{"errorMessage":"boom","errorType":"java.lang.IllegalStateException"}'
+    }
+
+    void "errors before the response is committed are reported to the error endpoint"() {
+        when:
+        RuntimeApiResponseStream stream = transport.openResponseStream('123456', 'text/plain')
+        stream.fail(new AwsLambdaRuntimeApiError('boom', null), null)
+
+        then:
+        api.requests.size() == 1
+        api.requests[0].requestLine == 'POST /2018-06-01/runtime/invocation/123456/error HTTP/1.1'
+        api.requests[0].body == '{"errorMessage":"boom"}'
+    }
+
+    static class RecordedRequest {
+        String requestLine
+        Map<String, String> headers = [:]
+        Map<String, String> trailers = [:]
+        String body
+    }
+
+    /**
+     * Minimal HTTP/1.1 server which records the raw requests, including chunked bodies and trailers.
+     */
+    static class RecordingRuntimeApi implements Closeable {
+
+        final ServerSocket serverSocket = new ServerSocket(0)
+        final List<RecordedRequest> requests = new CopyOnWriteArrayList<>()
+        final List<String> partialBodies = new CopyOnWriteArrayList<>()
+
+        RecordingRuntimeApi() {
+            Thread.start {
+                try {
+                    Socket socket = serverSocket.accept()
+                    InputStream input = new BufferedInputStream(socket.inputStream)
+                    while (true) {
+                        RecordedRequest request = readRequest(input)
+                        if (request == null) {
+                            break
+                        }
+                        requests << request
+                        socket.outputStream.write('HTTP/1.1 202 Accepted\r\nContent-Length: 0\r\n\r\n'.getBytes(StandardCharsets.ISO_8859_1))
+                        socket.outputStream.flush()
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        int getPort() {
+            serverSocket.localPort
+        }
+
+        private RecordedRequest readRequest(InputStream input) {
+            String requestLine = readLine(input)
+            if (requestLine == null) {
+                return null
+            }
+            RecordedRequest request = new RecordedRequest(requestLine: requestLine)
+            readFields(input, request.headers)
+            ByteArrayOutputStream body = new ByteArrayOutputStream()
+            if (request.headers['transfer-encoding'] == 'chunked') {
+                while (true) {
+                    int size = Integer.parseInt(readLine(input), 16)
+                    if (size == 0) {
+                        readFields(input, request.trailers)
+                        break
+                    }
+                    body.write(input.readNBytes(size))
+                    readLine(input)
+                    partialBodies << body.toString(StandardCharsets.UTF_8)
+                }
+            } else if (request.headers['content-length']) {
+                body.write(input.readNBytes(Integer.parseInt(request.headers['content-length'])))
+            }
+            request.body = body.toString(StandardCharsets.UTF_8)
+            request
+        }
+
+        private static void readFields(InputStream input, Map<String, String> fields) {
+            String line
+            while ((line = readLine(input))) {
+                int colon = line.indexOf(':')
+                fields[line.substring(0, colon).trim().toLowerCase()] = line.substring(colon + 1).trim()
+            }
+        }
+
+        private static String readLine(InputStream input) {
+            StringBuilder line = new StringBuilder()
+            int b
+            while ((b = input.read()) != 10) {
+                if (b == -1) {
+                    return null
+                }
+                if (b != 13) {
+                    line.append((char) b)
+                }
+            }
+            line.toString()
+        }
+
+        @Override
+        void close() {
+            serverSocket.close()
+        }
+    }
+}
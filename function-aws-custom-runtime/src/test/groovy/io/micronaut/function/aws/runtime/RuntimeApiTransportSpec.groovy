@@ -0,0 +1,237 @@
+package io.micronaut.function.aws.runtime
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.PathVariable
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicInteger
+
+class RuntimeApiTransportSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'RuntimeApiTransportSpec'])
+
+    @Unroll
+    void "#transportType transport communicates with the runtime API"(String transportType) {
+        given:
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+        api.responses.clear()
+        api.errors.clear()
+        URL url = new URL("http://localhost:$embeddedServer.port")
+        RuntimeApiTransport transport = transportType == 'socket'
+                ? new SocketRuntimeApiTransport(url, 'micronaut-test')
+                : HttpClientRuntimeApiTransport.create(embeddedServer.applicationContext, url, 'micronaut-test')
+        InvocationBuffer buffer = new InvocationBuffer(false, 16, 1024)
+
+        when: 'the same connection is used for several invocations'
+        HttpHeaders headers = null
+        3.times {
+            buffer.reset()
+            headers = transport.next(buffer)
+        }
+
+        then:
+        new String(buffer.toByteArray()) == '{"name":"Building Microservices"}'
+        headers.get(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID) == '123456'
+        api.userAgent == 'micronaut-test'
+
+        when:
+        buffer.reset()
+        buffer.outputStream().write('{"isbn":"XXX"}'.bytes)
+        transport.respond('123456', buffer)
+
+        then:
+        api.responses['123456'] == '{"isbn":"XXX"}'
+
+        when:
+        transport.reportInvocationError('123456', new AwsLambdaRuntimeApiError('boom', null), 'Unhandled')
+
+        then:
+        api.errors['123456'].contains('"errorMessage":"boom"')
+        api.errorTypes['123456'] == 'Unhandled'
+
+        cleanup:
+        transport.close()
+
+        where:
+        transportType << ['socket', 'http-client']
+    }
+
+    void "socket transport does not resend a request answered with an error status"() {
+        given:
+        MockLambdaRuntimeApi api = embeddedServer.applicationContext.getBean(MockLambdaRuntimeApi)
+        SocketRuntimeApiTransport transport = new SocketRuntimeApiTransport(new URL("http://localhost:$embeddedServer.port"), 'micronaut-test')
+        InvocationBuffer buffer = new InvocationBuffer(false, 16, 1024)
+        transport.next(buffer)
+        api.tooLargeAttempts.set(0)
+
+        when: 'the response is sent over the reused connection and rejected'
+        buffer.reset()
+        buffer.outputStream().write('{"isbn":"XXX"}'.bytes)
+        transport.respond('too-large', buffer)
+
+        then:
+        RuntimeApiStatusException e = thrown()
+        e.status == 413
+        api.tooLargeAttempts.get() == 1
+
+        cleanup:
+        transport.close()
+    }
+
+    void "socket transport resends the next invocation request after the idle connection was closed"() {
+        given:
+        OneRequestPerConnectionRuntimeApi api = new OneRequestPerConnectionRuntimeApi()
+        SocketRuntimeApiTransport transport = new SocketRuntimeApiTransport(new URL("http://localhost:$api.port"), null)
+        InvocationBuffer buffer = new InvocationBuffer(false, 16, 1024)
+        transport.next(buffer)
+
+        when: 'the connection closed by the Runtime API is reused'
+        buffer.reset()
+        transport.next(buffer)
+
+        then:
+        new String(buffer.toByteArray()) == '{"name":"Building Microservices"}'
+        api.connections.get() == 2
+
+        cleanup:
+        transport.close()
+        api.close()
+    }
+
+    void "socket transport does not resend a response whose connection was lost before the status line"() {
+        given:
+        OneRequestPerConnectionRuntimeApi api = new OneRequestPerConnectionRuntimeApi()
+        SocketRuntimeApiTransport transport = new SocketRuntimeApiTransport(new URL("http://localhost:$api.port"), null)
+        InvocationBuffer buffer = new InvocationBuffer(false, 16, 1024)
+        transport.next(buffer)
+
+        when: 'the response is written and the connection is closed without an answer'
+        buffer.reset()
+        buffer.outputStream().write('{"isbn":"XXX"}'.bytes)
+        transport.respond('123456', buffer)
+
+        then: 'the Runtime API may have processed it, so it is not sent again'
+        thrown(IOException)
+        api.posts.get() == 1
+        api.connections.get() == 1
+
+        cleanup:
+        transport.close()
+        api.close()
+    }
+
+    /**
+     * Runtime API answering the next invocation requests and closing each connection after one request, without answering
+     * the requests which post a response.
+     */
+    static class OneRequestPerConnectionRuntimeApi implements Closeable {
+
+        final ServerSocket serverSocket = new ServerSocket(0)
+        final AtomicInteger connections = new AtomicInteger()
+        final AtomicInteger posts = new AtomicInteger()
+
+        OneRequestPerConnectionRuntimeApi() {
+            Thread.start {
+                try {
+                    while (true) {
+                        Socket socket = serverSocket.accept()
+                        connections.incrementAndGet()
+                        handle(socket)
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        int getPort() {
+            serverSocket.localPort
+        }
+
+        private void handle(Socket socket) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.inputStream, StandardCharsets.ISO_8859_1))
+                String requestLine = reader.readLine()
+                int contentLength = 0
+                String line
+                while ((line = reader.readLine())) {
+                    if (line.toLowerCase().startsWith('content-length:')) {
+                        contentLength = Integer.parseInt(line.substring(15).trim())
+                    }
+                }
+                if (requestLine.startsWith('GET')) {
+                    byte[] body = '{"name":"Building Microservices"}'.getBytes(StandardCharsets.UTF_8)
+                    socket.outputStream.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\n" +
+                            "${LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID}: 123456\r\n" +
+                            "Content-Length: ${body.length}\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1))
+                    socket.outputStream.write(body)
+                    socket.outputStream.flush()
+                } else {
+                    reader.skip(contentLength)
+                    posts.incrementAndGet()
+                }
+            } finally {
+                socket.close()
+            }
+        }
+
+        @Override
+        void close() {
+            serverSocket.close()
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'RuntimeApiTransportSpec')
+    @Controller("/")
+    static class MockLambdaRuntimeApi {
+
+        Map<String, String> responses = [:]
+        Map<String, String> errors = [:]
+        Map<String, String> errorTypes = [:]
+        String userAgent
+        final AtomicInteger tooLargeAttempts = new AtomicInteger()
+
+        @Get("/2018-06-01/runtime/invocation/next")
+        HttpResponse<String> next(@Header(HttpHeaders.USER_AGENT) String userAgent) {
+            this.userAgent = userAgent
+            HttpResponse.ok('{"name":"Building Microservices"}')
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                    .header(LambdaRuntimeInvocationResponseHeaders.LAMBDA_RUNTIME_AWS_REQUEST_ID, "123456")
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/response")
+        HttpResponse<?> response(@PathVariable("requestId") String requestId, @Body String body) {
+            if (requestId == 'too-large') {
+                tooLargeAttempts.incrementAndGet()
+                return HttpResponse.status(HttpStatus.REQUEST_ENTITY_TOO_LARGE)
+            }
+            responses[requestId] = body
+            HttpResponse.accepted()
+        }
+
+        @Post("/2018-06-01/runtime/invocation/{requestId}/error")
+        HttpResponse<?> error(@PathVariable("requestId") String requestId,
+                              @Header(AwsLambdaRuntimeApi.LAMBDA_RUNTIME_FUNCTION_ERROR_TYPE) String errorType,
+                              @Body String body) {
+            errors[requestId] = body
+            errorTypes[requestId] = errorType
+            HttpResponse.accepted()
+        }
+    }
+}
@@ -5,10 +5,15 @@ plugins {
 dependencies {
     api(mn.micronaut.function)
     api(libs.managed.aws.lambda.core)
+    api(mn.micronaut.core.reactive)
+    compileOnly(libs.managed.aws.lambda.events)
     implementation(mn.micronaut.json.core)
+    implementation(mn.micronaut.context)
+    implementation(libs.managed.crac)
     testImplementation(mnMongo.micronaut.mongo.sync)
     testImplementation(mnTestResources.testcontainers.core)
     testImplementation(mnTestResources.testcontainers.mongodb)
     testImplementation(projects.micronautAwsLambdaEventsSerde)
     testImplementation(mnSerde.micronaut.serde.jackson)
+    testImplementation(libs.managed.aws.lambda.events)
 }
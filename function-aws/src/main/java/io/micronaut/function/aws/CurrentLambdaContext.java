@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Holds the Lambda {@link Context} of the invocation being handled. The context is bound to the thread handling the invocation
+ * for the duration of the invocation, so that concurrent invocations each see their own. The framework propagates the context to
+ * the threads it owns, such as those running asynchronous {@link io.micronaut.function.aws.event.AfterExecutionEvent} listeners
+ * or batch lanes, see {@link #propagate(Runnable)}.
+ * <p>
+ * Other threads, for example those completing a {@link java.util.concurrent.CompletionStage} returned by a handler, see the context
+ * of the most recent invocation as long as invocations are handled one at a time. Once invocations may be handled concurrently,
+ * see {@link #setConcurrent(boolean)}, such threads see no context, because the most recent invocation is not necessarily theirs.
+ * <p>
+ * The {@link Context}, {@link com.amazonaws.services.lambda.runtime.LambdaLogger}, {@link com.amazonaws.services.lambda.runtime.ClientContext}
+ * and {@link com.amazonaws.services.lambda.runtime.CognitoIdentity} beans registered by {@link DefaultLambdaContextFactory} delegate to this holder.
+ *
+ * @since 4.8.0
+ */
+public final class CurrentLambdaContext {
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    @Nullable
+    private static volatile Context latest;
+
+    private static volatile boolean concurrent;
+
+    private CurrentLambdaContext() {
+    }
+
+    /**
+     * Binds the context of the invocation handled by the current thread.
+     *
+     * @param context The Lambda context
+     */
+    public static void bind(@NonNull Context context) {
+        CURRENT.set(context);
+        latest = context;
+    }
+
+    /**
+     * Unbinds the context from the current thread once the invocation has been handled.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Declares whether invocations may be handled concurrently, in which case threads without a bound context see none rather
+     * than the context of the most recent invocation.
+     *
+     * @param concurrent Whether invocations may be handled concurrently
+     */
+    public static void setConcurrent(boolean concurrent) {
+        CurrentLambdaContext.concurrent = concurrent;
+    }
+
+    /**
+     * @return The context of the invocation handled by the current thread, or, unless invocations are handled concurrently, of the
+     * most recent invocation, or {@code null}
+     */
+    @Nullable
+    public static Context get() {
+        Context context = CURRENT.get();
+        if (context != null || concurrent) {
+            return context;
+        }
+        return latest;
+    }
+
+    /**
+     * @return The context of the invocation handled by the current thread, or, unless invocations are handled concurrently, of the
+     * most recent invocation
+     */
+    @NonNull
+    public static Optional<Context> find() {
+        return Optional.ofNullable(get());
+    }
+
+    /**
+     * Wraps a task so that it runs with the context bound to the current thread, if any, bound to the thread running it.
+     *
+     * @param task The task
+     * @return The task running with the current context
+     */
+    @NonNull
+    public static Runnable propagate(@NonNull Runnable task) {
+        Context context = CURRENT.get();
+        return context == null ? task : propagate(context, task);
+    }
+
+    /**
+     * Wraps a task so that it runs with the given context bound to the thread running it.
+     *
+     * @param context The Lambda context
+     * @param task The task
+     * @return The task running with the given context
+     */
+    @NonNull
+    public static Runnable propagate(@NonNull Context context, @NonNull Runnable task) {
+        return () -> {
+            Context previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
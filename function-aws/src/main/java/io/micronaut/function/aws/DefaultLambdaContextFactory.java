@@ -15,6 +15,7 @@
  */
 package io.micronaut.function.aws;
 
+import com.amazonaws.services.lambda.runtime.Client;
 import com.amazonaws.services.lambda.runtime.ClientContext;
 import com.amazonaws.services.lambda.runtime.CognitoIdentity;
 import com.amazonaws.services.lambda.runtime.Context;
@@ -23,9 +24,17 @@ import io.micronaut.context.BeanContext;
 import io.micronaut.core.annotation.NonNull;
 import jakarta.inject.Singleton;
 
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * Registers singletons of type {@link Context}.
  * If the Lambda Context contains non-null {@link LambdaLogger}, {@link ClientContext} and {@link CognitoIdentity} they are registered as Singleton as well.
+ * <p>
+ * Each singleton is registered once and delegates to the context bound to {@link CurrentLambdaContext}, so that later invocations
+ * only bind their context instead of registering the singletons again, and beans see the context of the invocation being handled.
+ * The context is bound by {@link HandlerUtils#configureWithContext}. Consequently the {@link Context} bean is a delegating proxy rather
+ * than the object passed by the Lambda runtime, and it fails with an {@link IllegalStateException} on a thread without a context.
  * @author Sergio del Amo
  * @since 3.2.2
  */
@@ -33,6 +42,10 @@ import jakarta.inject.Singleton;
 public class DefaultLambdaContextFactory implements LambdaContextFactory {
 
     private final BeanContext beanContext;
+    private volatile boolean contextRegistered;
+    private volatile boolean loggerRegistered;
+    private volatile boolean clientContextRegistered;
+    private volatile boolean identityRegistered;
 
     /**
      *
@@ -44,18 +57,152 @@ public class DefaultLambdaContextFactory implements LambdaContextFactory {
 
     @Override
     public void registerSingletons(@NonNull Context context) {
-        beanContext.registerSingleton(Context.class, context);
-        LambdaLogger logger = context.getLogger();
-        if (logger != null) {
-            beanContext.registerSingleton(LambdaLogger.class, logger);
-        }
-        ClientContext clientContext = context.getClientContext();
-        if (clientContext != null) {
-            beanContext.registerSingleton(ClientContext.class, clientContext);
-        }
-        CognitoIdentity identity = context.getIdentity();
-        if (identity != null) {
-            beanContext.registerSingleton(CognitoIdentity.class, identity);
+        if (contextRegistered && loggerRegistered && clientContextRegistered && identityRegistered) {
+            return;
+        }
+        synchronized (this) {
+            if (!contextRegistered) {
+                beanContext.registerSingleton(Context.class, new CurrentContext());
+                contextRegistered = true;
+            }
+            if (!loggerRegistered && context.getLogger() != null) {
+                beanContext.registerSingleton(LambdaLogger.class, new CurrentLambdaLogger());
+                loggerRegistered = true;
+            }
+            if (!clientContextRegistered && context.getClientContext() != null) {
+                beanContext.registerSingleton(ClientContext.class, new CurrentClientContext());
+                clientContextRegistered = true;
+            }
+            if (!identityRegistered && context.getIdentity() != null) {
+                beanContext.registerSingleton(CognitoIdentity.class, new CurrentCognitoIdentity());
+                identityRegistered = true;
+            }
+        }
+    }
+
+    private static <T> T current(Function<Context, T> accessor) {
+        Context context = CurrentLambdaContext.get();
+        if (context == null) {
+            throw new IllegalStateException("No Lambda context is bound");
+        }
+        T value = accessor.apply(context);
+        if (value == null) {
+            throw new IllegalStateException("The current Lambda context does not provide the requested value");
+        }
+        return value;
+    }
+
+    /**
+     * {@link Context} which delegates to the current Lambda context.
+     */
+    private static final class CurrentContext implements Context {
+
+        @Override
+        public String getAwsRequestId() {
+            return current(Function.identity()).getAwsRequestId();
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return current(Function.identity()).getLogGroupName();
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return current(Function.identity()).getLogStreamName();
+        }
+
+        @Override
+        public String getFunctionName() {
+            return current(Function.identity()).getFunctionName();
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return current(Function.identity()).getFunctionVersion();
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return current(Function.identity()).getInvokedFunctionArn();
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return current(Function.identity()).getIdentity();
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return current(Function.identity()).getClientContext();
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return current(Function.identity()).getRemainingTimeInMillis();
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return current(Function.identity()).getMemoryLimitInMB();
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return current(Function.identity()).getLogger();
+        }
+    }
+
+    /**
+     * {@link LambdaLogger} which delegates to the logger of the current Lambda context.
+     */
+    private static final class CurrentLambdaLogger implements LambdaLogger {
+
+        @Override
+        public void log(String message) {
+            current(Context::getLogger).log(message);
+        }
+
+        @Override
+        public void log(byte[] message) {
+            current(Context::getLogger).log(message);
+        }
+    }
+
+    /**
+     * {@link ClientContext} which delegates to the client context of the current Lambda context.
+     */
+    private static final class CurrentClientContext implements ClientContext {
+
+        @Override
+        public Client getClient() {
+            return current(Context::getClientContext).getClient();
+        }
+
+        @Override
+        public Map<String, String> getCustom() {
+            return current(Context::getClientContext).getCustom();
+        }
+
+        @Override
+        public Map<String, String> getEnvironment() {
+            return current(Context::getClientContext).getEnvironment();
+        }
+    }
+
+    /**
+     * {@link CognitoIdentity} which delegates to the identity of the current Lambda context.
+     */
+    private static final class CurrentCognitoIdentity implements CognitoIdentity {
+
+        @Override
+        public String getIdentityId() {
+            return current(Context::getIdentity).getIdentityId();
+        }
+
+        @Override
+        public String getIdentityPoolId() {
+            return current(Context::getIdentity).getIdentityPoolId();
         }
     }
 }
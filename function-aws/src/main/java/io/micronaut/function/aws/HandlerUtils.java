@@ -27,34 +27,83 @@ import io.micronaut.core.annotation.Nullable;
  * @since 3.2.2
  */
 public final class HandlerUtils {
+
     private HandlerUtils() {
     }
 
     /**
      * It uses {@link LambdaContextFactory} to registers Lambda Context beans as singletons in the bean context.
      * It uses {@link DiagnosticInfoPopulator} to populate the MDC context with Lambda Context values.
+     * The Lambda Context is bound to {@link CurrentLambdaContext}, the handler unbinds it once the invocation has been handled.
+     * The collaborators are looked up on every call; handlers should resolve them once with {@link #resolveCollaborators(ApplicationContext)}
+     * and use {@link #configureWithContext(Collaborators, Context)} instead.
      *
      * @param applicationContextProvider Application Context Provider
      * @param lambdaContext Lambda Context
      */
     public static void configureWithContext(@NonNull ApplicationContextProvider applicationContextProvider,
                                             @Nullable Context lambdaContext) {
-        ApplicationContext applicationContext = applicationContextProvider.getApplicationContext();
-        DiagnosticInfoPopulator mdcPopulator = null;
-        if (applicationContext.containsBean(DiagnosticInfoPopulator.class)) {
-            mdcPopulator = applicationContext.getBean(DiagnosticInfoPopulator.class);
+        configureWithContext(resolveCollaborators(applicationContextProvider.getApplicationContext()), lambdaContext);
+    }
+
+    /**
+     * Configures MDC and Bean Context with the current Lambda Context using collaborators resolved beforehand.
+     *
+     * @param collaborators The collaborators resolved by {@link #resolveCollaborators(ApplicationContext)}
+     * @param lambdaContext Lambda Context
+     * @since 4.8.0
+     */
+    public static void configureWithContext(@NonNull Collaborators collaborators,
+                                            @Nullable Context lambdaContext) {
+        collaborators.configure(lambdaContext);
+    }
+
+    /**
+     * Looks up the beans used to configure the current Lambda Context.
+     *
+     * @param applicationContext The application context of the handler
+     * @return The collaborators
+     * @since 4.8.0
+     */
+    @NonNull
+    public static Collaborators resolveCollaborators(@NonNull ApplicationContext applicationContext) {
+        return new Collaborators(
+            applicationContext.findBean(DiagnosticInfoPopulator.class).orElse(null),
+            applicationContext.findBean(LambdaContextFactory.class).orElse(null)
+        );
+    }
+
+    /**
+     * The collaborators resolved from the application context of a handler.
+     *
+     * @since 4.8.0
+     */
+    public static final class Collaborators {
+
+        @Nullable
+        private final DiagnosticInfoPopulator mdcPopulator;
+        @Nullable
+        private final LambdaContextFactory lambdaContextFactory;
+
+        private Collaborators(@Nullable DiagnosticInfoPopulator mdcPopulator,
+                              @Nullable LambdaContextFactory lambdaContextFactory) {
+            this.mdcPopulator = mdcPopulator;
+            this.lambdaContextFactory = lambdaContextFactory;
         }
-        if (lambdaContext != null) {
-            if (applicationContext.containsBean(LambdaContextFactory.class)) {
-                applicationContext.getBean(LambdaContextFactory.class)
-                        .registerSingletons(lambdaContext);
+
+        private void configure(@Nullable Context lambdaContext) {
+            if (lambdaContext != null) {
+                CurrentLambdaContext.bind(lambdaContext);
+                if (lambdaContextFactory != null) {
+                    lambdaContextFactory.registerSingletons(lambdaContext);
+                }
+                if (mdcPopulator != null) {
+                    mdcPopulator.populateMappingDiagnosticContextValues(lambdaContext);
+                }
             }
             if (mdcPopulator != null) {
-                mdcPopulator.populateMappingDiagnosticContextValues(lambdaContext);
+                mdcPopulator.populateMappingDiagnosticContextWithXrayTraceId();
             }
         }
-        if (mdcPopulator != null) {
-            mdcPopulator.populateMappingDiagnosticContextWithXrayTraceId();
-        }
     }
 }
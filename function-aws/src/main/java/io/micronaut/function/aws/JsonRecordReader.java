@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the records of a JSON event one at a time from an input stream. The reader scans the event for the records field and
+ * decodes each element of its array on its own with the {@link JsonMapper}, so only one record is held in memory at a time. When
+ * the records field is an object, such as the records of a Kafka event keyed by topic and partition, the elements of each of its
+ * arrays are read in turn. Fields which follow the records field are not read.
+ *
+ * @param <R> The record type
+ * @since 4.8.0
+ */
+@Internal
+final class JsonRecordReader<R> implements Iterator<R>, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream input;
+    private final String recordsField;
+    private final JsonMapper jsonMapper;
+    private final Argument<R> recordType;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream value = new ByteArrayOutputStream();
+    private int position;
+    private int limit;
+    private State state = State.START;
+    private R next;
+    private boolean ready;
+
+    /**
+     * @param input The event input stream
+     * @param recordsField The name of the top level field holding the records
+     * @param jsonMapper The JSON mapper used to decode each record
+     * @param recordType The record type
+     */
+    JsonRecordReader(@NonNull InputStream input,
+                     @NonNull String recordsField,
+                     @NonNull JsonMapper jsonMapper,
+                     @NonNull Argument<R> recordType) {
+        this.input = input;
+        this.recordsField = recordsField;
+        this.jsonMapper = jsonMapper;
+        this.recordType = recordType;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && state != State.END) {
+            try {
+                ready = readNext();
+            } catch (IOException e) {
+                state = State.END;
+                throw new UncheckedIOException(e);
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        R record = next;
+        next = null;
+        ready = false;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = State.END;
+        input.close();
+    }
+
+    private boolean readNext() throws IOException {
+        while (true) {
+            switch (state) {
+                case START -> {
+                    expect('{');
+                    state = findRecordsField() ? State.RECORDS : State.END;
+                }
+                case RECORDS -> {
+                    int c = nextToken();
+                    if (c == '[') {
+                        state = State.ARRAY;
+                    } else if (c == '{') {
+                        state = State.GROUPS;
+                    } else {
+                        position--;
+                        skipValue();
+                        state = State.END;
+                    }
+                }
+                case GROUPS -> {
+                    int c = nextToken();
+                    if (c == '}') {
+                        state = State.END;
+                    } else {
+                        if (c == ',') {
+                            c = nextToken();
+                        }
+                        if (c != '"') {
+                            throw unexpected(c);
+                        }
+                        skipString();
+                        expect(':');
+                        expect('[');
+                        state = State.GROUP_ARRAY;
+                    }
+                }
+                case ARRAY, GROUP_ARRAY -> {
+                    int c = nextToken();
+                    if (c == ']') {
+                        state = state == State.ARRAY ? State.END : State.GROUPS;
+                    } else {
+                        if (c != ',') {
+                            position--;
+                        }
+                        next = readRecord();
+                        return true;
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean findRecordsField() throws IOException {
+        while (true) {
+            int c = nextToken();
+            if (c == '}') {
+                return false;
+            }
+            if (c == ',') {
+                c = nextToken();
+            }
+            if (c != '"') {
+                throw unexpected(c);
+            }
+            String name = readString();
+            expect(':');
+            if (name.equals(recordsField)) {
+                return true;
+            }
+            skipValue();
+        }
+    }
+
+    private R readRecord() throws IOException {
+        value.reset();
+        copyValue();
+        return jsonMapper.readValue(value.toByteArray(), recordType);
+    }
+
+    private void skipValue() throws IOException {
+        scanValue(false);
+    }
+
+    private void copyValue() throws IOException {
+        scanValue(true);
+    }
+
+    private void scanValue(boolean copy) throws IOException {
+        int c = nextToken();
+        if (c == '"') {
+            if (copy) {
+                value.write(c);
+            }
+            scanString(copy);
+            return;
+        }
+        if (c != '{' && c != '[') {
+            // number or literal
+            while (c != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                if (copy) {
+                    value.write(c);
+                }
+                c = read();
+            }
+            position--;
+            return;
+        }
+        int depth = 0;
+        do {
+            if (copy) {
+                value.write(c);
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == '"') {
+                scanString(copy);
+            }
+            if (depth > 0) {
+                c = read();
+            }
+        } while (depth > 0);
+    }
+
+    private void skipString() throws IOException {
+        scanString(false);
+    }
+
+    /**
+     * Scans the rest of a string, after the opening quote.
+     */
+    private void scanString(boolean copy) throws IOException {
+        boolean escaped = false;
+        while (true) {
+            int c = read();
+            if (copy) {
+                value.write(c);
+            }
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of a string, after the opening quote, decoding its escape sequences.
+     */
+    private String readString() throws IOException {
+        value.reset();
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return value.toString(StandardCharsets.UTF_8);
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'b' -> value.write('\b');
+                    case 'f' -> value.write('\f');
+                    case 'n' -> value.write('\n');
+                    case 'r' -> value.write('\r');
+                    case 't' -> value.write('\t');
+                    case 'u' -> {
+                        char[] hex = new char[4];
+                        for (int i = 0; i < hex.length; i++) {
+                            hex[i] = (char) read();
+                        }
+                        byte[] encoded = String.valueOf((char) Integer.parseInt(new String(hex), 16)).getBytes(StandardCharsets.UTF_8);
+                        value.write(encoded, 0, encoded.length);
+                    }
+                    default -> value.write(c);
+                }
+            } else {
+                value.write(c);
+            }
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        int c = nextToken();
+        if (c != expected) {
+            throw unexpected(c);
+        }
+    }
+
+    private int nextToken() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (isWhitespace(c));
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = input.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException("Unexpected end of the event");
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private static IOException unexpected(int c) {
+        return new IOException("Unexpected character in the event: '" + (char) c + "'");
+    }
+
+    /**
+     * The position of the reader in the event.
+     */
+    private enum State {
+        START,
+        RECORDS,
+        ARRAY,
+        GROUPS,
+        GROUP_ARRAY,
+        END
+    }
+}
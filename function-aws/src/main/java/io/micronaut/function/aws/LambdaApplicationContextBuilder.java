@@ -18,6 +18,10 @@ package io.micronaut.function.aws;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.context.DefaultApplicationContextBuilder;
 import io.micronaut.context.env.Environment;
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.core.util.StringUtils;
+
+import java.util.Collections;
 
 /**
  * An {@link io.micronaut.context.ApplicationContextBuilder} for AWS Lambda environments.
@@ -26,14 +30,45 @@ import io.micronaut.context.env.Environment;
  * @since 2.3.0
  */
 public class LambdaApplicationContextBuilder extends DefaultApplicationContextBuilder {
+
+    /**
+     * Property which enables the parallel initialization of the singletons during the Lambda INIT phase.
+     * It must be set as a system property or with the {@value #PARALLEL_INIT_ENV} environment variable, as it is read before the application context is built.
+     * @since 4.8.0
+     */
+    public static final String PARALLEL_INIT_PROPERTY = "aws.lambda.parallel-init.enabled";
+
+    /**
+     * Environment variable which enables the parallel initialization of the singletons during the Lambda INIT phase.
+     * @since 4.8.0
+     */
+    public static final String PARALLEL_INIT_ENV = "AWS_LAMBDA_PARALLEL_INIT_ENABLED";
+
     public LambdaApplicationContextBuilder() {
         setLambdaConfiguration(this);
     }
 
     public static void setLambdaConfiguration(ApplicationContextBuilder builder) {
+        boolean parallelInit = isParallelInitEnabled();
         builder
             .environments(Environment.FUNCTION, MicronautLambdaContext.ENVIRONMENT_LAMBDA)
-            .eagerInitConfiguration(true)
-            .eagerInitSingletons(true);
+            .eagerInitConfiguration(!parallelInit)
+            .eagerInitSingletons(!parallelInit);
+        PropertySource resourceSizing = LambdaResourceSizing.propertySource();
+        if (resourceSizing != null) {
+            builder.propertySources(resourceSizing);
+        }
+        if (parallelInit) {
+            // the singletons are initialized in parallel once the context has started, see ParallelSingletonInitializer
+            builder.properties(Collections.singletonMap(PARALLEL_INIT_PROPERTY, StringUtils.TRUE));
+        }
+    }
+
+    private static boolean isParallelInitEnabled() {
+        String value = System.getProperty(PARALLEL_INIT_PROPERTY);
+        if (value == null) {
+            value = System.getenv(PARALLEL_INIT_ENV);
+        }
+        return StringUtils.TRUE.equalsIgnoreCase(value);
     }
 }
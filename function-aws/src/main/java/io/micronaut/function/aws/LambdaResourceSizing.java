@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import io.micronaut.context.env.PropertySource;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizes thread pools, event loops and buffers from the memory size of the Lambda function. Lambda allocates CPU in proportion
+ * to the memory size, one vCPU per {@value #MEMORY_PER_VCPU_MB} MB up to {@value #MAX_VCPUS} vCPUs, while the JVM usually
+ * reports the processors of the host, so pools sized from {@link Runtime#availableProcessors()} keep threads which the function
+ * cannot use busy. The connection pools of the AWS SDK HTTP clients are left to their defaults, as the number of connections
+ * a function needs depends on the latency of the calls it makes rather than on its CPU.
+ *
+ * <p>The derived properties have the lowest precedence, so any value set in the application configuration, the environment
+ * or the system properties wins.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class LambdaResourceSizing {
+
+    /**
+     * Property which disables the sizing. It must be set as a system property or with the {@value #ENABLED_ENV} environment variable,
+     * as it is read before the application context is built.
+     */
+    public static final String ENABLED_PROPERTY = "aws.lambda.resource-sizing.enabled";
+
+    /**
+     * Environment variable which disables the sizing.
+     */
+    public static final String ENABLED_ENV = "AWS_LAMBDA_RESOURCE_SIZING_ENABLED";
+
+    /**
+     * Reserved environment variable holding the memory size of the function in MB.
+     */
+    public static final String AWS_LAMBDA_FUNCTION_MEMORY_SIZE = "AWS_LAMBDA_FUNCTION_MEMORY_SIZE";
+
+    /**
+     * Memory size for which Lambda allocates one vCPU.
+     */
+    public static final int MEMORY_PER_VCPU_MB = 1769;
+
+    /**
+     * Maximum number of vCPUs allocated by Lambda.
+     */
+    public static final int MAX_VCPUS = 6;
+
+    private static final String PROPERTY_SOURCE_NAME = "lambda-resource-sizing";
+    private static final int MAX_RETAINED_BUFFER_FRACTION = 64;
+    private static final int MAX_RETAINED_BUFFER_BYTES = 8 * 1024 * 1024;
+
+    private LambdaResourceSizing() {
+    }
+
+    /**
+     * @param memorySizeMb The memory size of the function in MB
+     * @return The number of vCPUs Lambda allocates for the memory size
+     */
+    public static int effectiveCpus(int memorySizeMb) {
+        int cpus = (memorySizeMb + MEMORY_PER_VCPU_MB - 1) / MEMORY_PER_VCPU_MB;
+        return Math.max(1, Math.min(MAX_VCPUS, cpus));
+    }
+
+    /**
+     * Derives the properties sizing the thread pools, event loops and buffers for the memory size.
+     *
+     * @param memorySizeMb The memory size of the function in MB
+     * @return The derived properties
+     */
+    @NonNull
+    public static Map<String, Object> properties(int memorySizeMb) {
+        int cpus = effectiveCpus(memorySizeMb);
+        int maxRetainedBuffer = (int) Math.min(MAX_RETAINED_BUFFER_BYTES, (long) memorySizeMb * 1024 * 1024 / MAX_RETAINED_BUFFER_FRACTION);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("micronaut.executors.scheduled.core-pool-size", cpus);
+        properties.put("micronaut.netty.event-loops.default.num-threads", cpus);
+        properties.put("aws.custom-runtime.buffer-max-pooled", cpus + 1);
+        properties.put("aws.custom-runtime.buffer-max-retained-capacity", maxRetainedBuffer);
+        return properties;
+    }
+
+    /**
+     * @return The property source sizing the resources for the memory size of the function, or {@code null} if the memory size is
+     * unknown, for example outside Lambda, or the sizing is disabled
+     */
+    @Nullable
+    public static PropertySource propertySource() {
+        Integer memorySize = memorySizeMb();
+        if (memorySize == null || !isEnabled()) {
+            return null;
+        }
+        return PropertySource.of(PROPERTY_SOURCE_NAME, properties(memorySize), Integer.MIN_VALUE);
+    }
+
+    @Nullable
+    private static Integer memorySizeMb() {
+        String value = System.getenv(AWS_LAMBDA_FUNCTION_MEMORY_SIZE);
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isEnabled() {
+        String value = System.getProperty(ENABLED_PROPERTY);
+        if (value == null) {
+            value = System.getenv(ENABLED_ENV);
+        }
+        return !StringUtils.FALSE.equalsIgnoreCase(value);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.ApplicationContextBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.executor.AbstractExecutor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * An Amazon Lambda {@link RequestHandler} whose {@link #execute(Object)} method returns a {@link CompletionStage}, so that a handler
+ * can start several non-blocking calls, for example with the asynchronous clients of the AWS SDK, and combine their results. The handler
+ * waits for the output only once, when the stage completes, and then returns it to Lambda. Handlers which produce a {@link Publisher}
+ * can convert it with {@link #toCompletionStage(Publisher)}.
+ *
+ * <pre>{@code
+ * public class OrderHandler extends MicronautAsyncRequestHandler<OrderRequest, OrderResponse> {
+ *     @Override
+ *     protected CompletionStage<OrderResponse> execute(OrderRequest input) {
+ *         CompletableFuture<Customer> customer = customers.find(input.customerId());
+ *         CompletableFuture<Stock> stock = inventory.check(input.productId());
+ *         return customer.thenCombine(stock, OrderResponse::new);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <I> The request body type
+ * @param <O> The response body type
+ * @since 4.8.0
+ */
+public abstract class MicronautAsyncRequestHandler<I, O> extends AbstractExecutor<Context> implements RequestHandler<I, O>, MicronautLambdaContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MicronautAsyncRequestHandler.class);
+
+    private final RequestHandlerSupport<I> support = new RequestHandlerSupport<>(this, MicronautAsyncRequestHandler.class);
+
+    /**
+     * Default constructor; will initialize a suitable {@link ApplicationContext} for
+     * Lambda deployment.
+     */
+    protected MicronautAsyncRequestHandler() {
+        RequestHandlerSupport.initialize(LOG, () -> {
+            buildApplicationContext(null);
+            applicationContext.inject(this);
+        });
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContext}.
+     * @param applicationContext the application context
+     */
+    protected MicronautAsyncRequestHandler(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+        RequestHandlerSupport.initialize(LOG, () -> {
+            startEnvironment(applicationContext);
+            applicationContext.inject(this);
+        });
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContextBuilder}.
+     * @param applicationContextBuilder the application context builder
+     */
+    protected MicronautAsyncRequestHandler(ApplicationContextBuilder applicationContextBuilder) {
+        this(applicationContextBuilder.build());
+    }
+
+    /**
+     * Handles the input.
+     *
+     * @param input The input
+     * @return A stage completed with the output
+     */
+    @NonNull
+    protected abstract CompletionStage<O> execute(I input);
+
+    @Override
+    public final O handleRequest(I input, Context context) {
+        return support.handle(input, context, this::convertInput, converted -> await(execute(converted)));
+    }
+
+    /**
+     * Converts a publisher of a single output to a {@link CompletionStage}. The stage completes with the last element emitted by the
+     * publisher, or exceptionally with a {@link NoSuchElementException} if the publisher completes without emitting any.
+     *
+     * @param publisher The publisher
+     * @param <T> The element type
+     * @return A stage completed with the last element emitted by the publisher
+     */
+    @NonNull
+    protected static <T> CompletionStage<T> toCompletionStage(@NonNull Publisher<T> publisher) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            private T last;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                last = item;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                if (last != null) {
+                    future.complete(last);
+                } else {
+                    future.completeExceptionally(new NoSuchElementException("The publisher completed without emitting an output"));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Converts the input the required type. Subclasses can override to provide custom conversion.
+     *
+     * @param input The input
+     * @return The converted input
+     * @throws IllegalArgumentException If input cannot be converted
+     */
+    protected I convertInput(Object input) {
+        return support.convertInput(input);
+    }
+
+    @Override
+    protected ApplicationContext buildApplicationContext(Context context) {
+        applicationContext = super.buildApplicationContext(context);
+        startEnvironment(applicationContext);
+        return applicationContext;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    @NonNull
+    protected ApplicationContextBuilder newApplicationContextBuilder() {
+        return new LambdaApplicationContextBuilder();
+    }
+
+    private O await(CompletionStage<O> stage) {
+        try {
+            return stage.toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
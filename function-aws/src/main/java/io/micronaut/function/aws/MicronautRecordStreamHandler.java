@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.reflect.GenericTypeUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A {@link MicronautRequestStreamHandler} which decodes the records of a batched event, such as an SQS, Kinesis, Kafka or
+ * Firehose event, one at a time from the input stream instead of decoding the whole event before the handler runs.
+ * The records are decoded with the {@link JsonMapper} of the application context, and therefore with the serdes of
+ * {@code micronaut-aws-lambda-events-serde}, as the iterator advances, so the memory used is proportional to one record
+ * rather than to the whole event.
+ *
+ * <pre>{@code
+ * public class OrderHandler extends MicronautRecordStreamHandler<SQSEvent.SQSMessage> {
+ *     @Override
+ *     protected void handleRecords(Iterator<SQSEvent.SQSMessage> records, OutputStream output, Context context) {
+ *         records.forEachRemaining(message -> ...);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <R> The record type
+ * @since 4.8.0
+ */
+public abstract class MicronautRecordStreamHandler<R> extends MicronautRequestStreamHandler {
+
+    /**
+     * The name of the field holding the records of most AWS events.
+     */
+    public static final String DEFAULT_RECORDS_FIELD = "Records";
+
+    private final Argument<R> recordType = initRecordType();
+
+    @Nullable
+    private JsonMapper jsonMapper;
+
+    /**
+     * Default constructor; will initialize a suitable {@link ApplicationContext} for
+     * Lambda deployment.
+     */
+    protected MicronautRecordStreamHandler() {
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContext}.
+     * @param applicationContext the application context
+     */
+    protected MicronautRecordStreamHandler(ApplicationContext applicationContext) {
+        super(applicationContext);
+    }
+
+    /**
+     * Handles the records of the event. Each call to {@link Iterator#next()} decodes the following record from the input stream;
+     * decoding errors are thrown as {@link java.io.UncheckedIOException}.
+     *
+     * @param records The records of the event
+     * @param output The output stream
+     * @param context The Lambda context
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract void handleRecords(@NonNull Iterator<R> records, @NonNull OutputStream output, @Nullable Context context) throws IOException;
+
+    /**
+     * Returns the name of the top level field holding the records, for example {@code records} for Kafka and Firehose events.
+     * Defaults to {@value #DEFAULT_RECORDS_FIELD}.
+     *
+     * @return The name of the records field
+     */
+    @NonNull
+    protected String getRecordsField() {
+        return DEFAULT_RECORDS_FIELD;
+    }
+
+    @Override
+    protected void execute(InputStream input, OutputStream output, Context context) throws IOException {
+        try (JsonRecordReader<R> records = new JsonRecordReader<>(input, getRecordsField(), resolveJsonMapper(), recordType)) {
+            handleRecords(records, output, context);
+        }
+    }
+
+    private JsonMapper resolveJsonMapper() {
+        if (jsonMapper == null) {
+            jsonMapper = getApplicationContext().getBean(JsonMapper.class);
+        }
+        return jsonMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Argument<R> initRecordType() {
+        Class<?>[] args = GenericTypeUtils.resolveSuperTypeGenericArguments(getClass(), MicronautRecordStreamHandler.class);
+        return (Argument<R>) Argument.of(ArrayUtils.isNotEmpty(args) ? args[0] : Object.class);
+    }
+}
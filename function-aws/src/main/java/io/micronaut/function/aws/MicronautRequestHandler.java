@@ -19,20 +19,11 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
-import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.NonNull;
-import io.micronaut.core.convert.ArgumentConversionContext;
-import io.micronaut.core.convert.ConversionContext;
-import io.micronaut.core.convert.ConversionError;
-import io.micronaut.core.reflect.GenericTypeUtils;
-import io.micronaut.core.util.ArrayUtils;
-import io.micronaut.function.aws.event.AfterExecutionEvent;
 import io.micronaut.function.executor.AbstractFunctionExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
-
 /**
  * <p>An Amazon Lambda {@link RequestHandler} implementation for Micronaut {@link io.micronaut.function.FunctionBean}</p>.
  *
@@ -53,23 +44,17 @@ public abstract class MicronautRequestHandler<I, O> extends AbstractFunctionExec
      */
     private static final Logger LOG = LoggerFactory.getLogger(MicronautRequestHandler.class);
 
-    @SuppressWarnings("unchecked")
-    private final Class<I> inputType = initTypeArgument();
-
-    private ApplicationEventPublisher<AfterExecutionEvent> eventPublisher;
+    private final RequestHandlerSupport<I> support = new RequestHandlerSupport<>(this, MicronautRequestHandler.class);
 
     /**
      * Default constructor; will initialize a suitable {@link ApplicationContext} for
      * Lambda deployment.
      */
     public MicronautRequestHandler() {
-        try {
+        RequestHandlerSupport.initialize(LOG, () -> {
             buildApplicationContext(null);
             injectIntoApplicationContext();
-        } catch (Exception e) {
-            LOG.error("Exception initializing handler", e);
-            throw e;
-        }
+        });
     }
 
     /**
@@ -78,14 +63,10 @@ public abstract class MicronautRequestHandler<I, O> extends AbstractFunctionExec
      */
     public MicronautRequestHandler(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
-
-        try {
+        RequestHandlerSupport.initialize(LOG, () -> {
             startEnvironment(applicationContext);
             injectIntoApplicationContext();
-        } catch (Exception e) {
-            LOG.error("Exception initializing handler: " + e.getMessage() , e);
-            throw e;
-        }
+        });
     }
 
     /**
@@ -102,18 +83,7 @@ public abstract class MicronautRequestHandler<I, O> extends AbstractFunctionExec
 
     @Override
     public final O handleRequest(I input, Context context) {
-        HandlerUtils.configureWithContext(this, context);
-        if (!inputType.isInstance(input)) {
-            input = convertInput(input);
-        }
-        try {
-            O output = this.execute(input);
-            resolveAfterExecutionPublisher().publishEvent(AfterExecutionEvent.success(context, output));
-            return output;
-        } catch (Throwable re) {
-            resolveAfterExecutionPublisher().publishEvent(AfterExecutionEvent.failure(context, re));
-            throw re;
-        }
+        return support.handle(input, context, this::convertInput, converted -> execute(converted));
     }
 
     /**
@@ -124,14 +94,7 @@ public abstract class MicronautRequestHandler<I, O> extends AbstractFunctionExec
      * @throws IllegalArgumentException If input cannot be converted
      */
     protected I convertInput(Object input)  {
-        final ArgumentConversionContext<I> cc = ConversionContext.of(inputType);
-        final Optional<I> converted = applicationContext.getConversionService().convert(
-            input,
-            cc
-        );
-        return converted.orElseThrow(() ->
-            new IllegalArgumentException("Unconvertible input: " + input, cc.getLastError().map(ConversionError::getCause).orElse(null))
-        );
+        return support.convertInput(input);
     }
 
     @Override
@@ -147,23 +110,4 @@ public abstract class MicronautRequestHandler<I, O> extends AbstractFunctionExec
     protected ApplicationContextBuilder newApplicationContextBuilder() {
         return new LambdaApplicationContextBuilder();
     }
-
-    private Class initTypeArgument() {
-        final Class[] args = GenericTypeUtils.resolveSuperTypeGenericArguments(
-            getClass(),
-            MicronautRequestHandler.class
-        );
-        if (ArrayUtils.isNotEmpty(args)) {
-            return args[0];
-        } else {
-            return Object.class;
-        }
-    }
-
-    private ApplicationEventPublisher<AfterExecutionEvent> resolveAfterExecutionPublisher() {
-        if (eventPublisher == null) {
-            eventPublisher = applicationContext.getEventPublisher(AfterExecutionEvent.class);
-        }
-        return eventPublisher;
-    }
 }
@@ -21,9 +21,10 @@ import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.ApplicationContextBuilder;
 import io.micronaut.context.env.Environment;
 import io.micronaut.core.annotation.NonNull;
-import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.function.aws.event.AfterExecutionEvent;
+import io.micronaut.function.aws.event.AfterExecutionEventDispatcher;
+import io.micronaut.function.aws.event.InvocationMeter;
 import io.micronaut.function.executor.StreamFunctionExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,7 +46,11 @@ public class MicronautRequestStreamHandler extends StreamFunctionExecutor<Contex
      */
     private static final Logger LOG = LoggerFactory.getLogger(MicronautRequestStreamHandler.class);
 
-    private ApplicationEventPublisher<AfterExecutionEvent> eventPublisher;
+    private AfterExecutionEventDispatcher afterExecutionEventDispatcher;
+
+    private HandlerUtils.Collaborators collaborators;
+
+    private final InvocationMeter invocationMeter = new InvocationMeter();
 
     @Nullable
     private String ctxFunctionName;
@@ -76,16 +81,19 @@ public class MicronautRequestStreamHandler extends StreamFunctionExecutor<Contex
 
     @Override
     public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        InvocationMeter.Sample sample = invocationMeter.start();
         if (context != null) {
             this.ctxFunctionName = context.getFunctionName();
         }
-        HandlerUtils.configureWithContext(this, context);
+        HandlerUtils.configureWithContext(resolveCollaborators(), context);
         try {
             execute(input, output, context);
-            resolveAfterExecutionPublisher().publishEvent(AfterExecutionEvent.success(context, null));
+            resolveAfterExecutionEventDispatcher().dispatch(AfterExecutionEvent.success(context, null, sample.stop(context)));
         } catch (Throwable e) {
-            resolveAfterExecutionPublisher().publishEvent(AfterExecutionEvent.failure(context, e));
+            resolveAfterExecutionEventDispatcher().dispatch(AfterExecutionEvent.failure(context, e, sample.stop(context)));
             throw e;
+        } finally {
+            CurrentLambdaContext.unbind();
         }
     }
 
@@ -111,11 +119,18 @@ public class MicronautRequestStreamHandler extends StreamFunctionExecutor<Contex
         return (functionName != null) ? functionName : ctxFunctionName;
     }
 
-    private ApplicationEventPublisher<AfterExecutionEvent> resolveAfterExecutionPublisher() {
-        if (eventPublisher == null) {
-            eventPublisher = applicationContext.getEventPublisher(AfterExecutionEvent.class);
+    private HandlerUtils.Collaborators resolveCollaborators() {
+        if (collaborators == null) {
+            collaborators = HandlerUtils.resolveCollaborators(applicationContext);
+        }
+        return collaborators;
+    }
+
+    private AfterExecutionEventDispatcher resolveAfterExecutionEventDispatcher() {
+        if (afterExecutionEventDispatcher == null) {
+            afterExecutionEventDispatcher = applicationContext.getBean(AfterExecutionEventDispatcher.class);
         }
-        return eventPublisher;
+        return afterExecutionEventDispatcher;
     }
 
     @Override
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.context.ApplicationContextProvider;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.ConversionError;
+import io.micronaut.function.aws.event.AfterExecutionEvent;
+import io.micronaut.function.aws.event.AfterExecutionEventDispatcher;
+import io.micronaut.function.aws.event.InvocationMeter;
+import org.slf4j.Logger;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The input conversion, the metering and the {@link AfterExecutionEvent} dispatch shared by {@link MicronautRequestHandler} and
+ * {@link MicronautAsyncRequestHandler}.
+ *
+ * @param <I> The request body type
+ * @since 4.8.0
+ */
+final class RequestHandlerSupport<I> {
+
+    private final ApplicationContextProvider handler;
+    private final Class<I> inputType;
+    private final InvocationMeter invocationMeter = new InvocationMeter();
+    private AfterExecutionEventDispatcher afterExecutionEventDispatcher;
+    private HandlerUtils.Collaborators collaborators;
+
+    /**
+     * @param handler The handler
+     * @param handlerType The generic handler type declaring the request body type as its first type argument
+     */
+    @SuppressWarnings("unchecked")
+    RequestHandlerSupport(ApplicationContextProvider handler, Class<?> handlerType) {
+        this.handler = handler;
+        this.inputType = (Class<I>) resolveInputType(handler.getClass(), handlerType);
+    }
+
+    /**
+     * Runs the initialization of a handler, logging the exception it fails with.
+     *
+     * @param log The logger of the handler
+     * @param initialization The initialization
+     */
+    static void initialize(Logger log, Runnable initialization) {
+        try {
+            initialization.run();
+        } catch (RuntimeException e) {
+            log.error("Exception initializing handler: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Handles an invocation: binds the Lambda context, converts the input when it is not of the request body type, executes the
+     * handler and dispatches the {@link AfterExecutionEvent}.
+     *
+     * @param input The input
+     * @param context The Lambda context
+     * @param converter The input conversion of the handler
+     * @param execution The execution of the handler
+     * @param <O> The response body type
+     * @return The output
+     */
+    <O> O handle(I input, Context context, Function<Object, I> converter, Function<I, O> execution) {
+        InvocationMeter.Sample sample = invocationMeter.start();
+        HandlerUtils.configureWithContext(resolveCollaborators(), context);
+        try {
+            if (!inputType.isInstance(input)) {
+                input = converter.apply(input);
+            }
+            try {
+                O output = execution.apply(input);
+                resolveAfterExecutionEventDispatcher().dispatch(AfterExecutionEvent.success(context, output, sample.stop(context)));
+                return output;
+            } catch (Throwable e) {
+                resolveAfterExecutionEventDispatcher().dispatch(AfterExecutionEvent.failure(context, e, sample.stop(context)));
+                throw e;
+            }
+        } finally {
+            CurrentLambdaContext.unbind();
+        }
+    }
+
+    /**
+     * Converts the input the request body type with the conversion service of the application context.
+     *
+     * @param input The input
+     * @return The converted input
+     * @throws IllegalArgumentException If input cannot be converted
+     */
+    I convertInput(Object input) {
+        final ArgumentConversionContext<I> cc = ConversionContext.of(inputType);
+        final Optional<I> converted = handler.getApplicationContext().getConversionService().convert(
+            input,
+            cc
+        );
+        return converted.orElseThrow(() ->
+            new IllegalArgumentException("Unconvertible input: " + input, cc.getLastError().map(ConversionError::getCause).orElse(null))
+        );
+    }
+
+    /**
+     * Resolves the first type argument of the generic handler type, following the type variables of the intermediate classes so that
+     * abstract handlers passing their own type variables to the handler type are supported.
+     *
+     * @param type The handler class
+     * @param handlerType The generic handler type
+     * @return The request body type, {@link Object} if it cannot be resolved
+     */
+    private static Class<?> resolveInputType(Class<?> type, Class<?> handlerType) {
+        Map<TypeVariable<?>, Type> arguments = new HashMap<>();
+        Class<?> current = type;
+        while (current != null && current != handlerType) {
+            Class<?> superclass = current.getSuperclass();
+            if (current.getGenericSuperclass() instanceof ParameterizedType parameterizedType) {
+                TypeVariable<?>[] variables = superclass.getTypeParameters();
+                Type[] actualArguments = parameterizedType.getActualTypeArguments();
+                for (int i = 0; i < variables.length; i++) {
+                    Type argument = actualArguments[i];
+                    arguments.put(variables[i], argument instanceof TypeVariable<?> variable ? arguments.getOrDefault(variable, variable) : argument);
+                }
+            }
+            current = superclass;
+        }
+        TypeVariable<?>[] handlerVariables = handlerType.getTypeParameters();
+        Type input = current != null && handlerVariables.length > 0 ? arguments.get(handlerVariables[0]) : null;
+        if (input instanceof ParameterizedType parameterizedType) {
+            input = parameterizedType.getRawType();
+        }
+        return input instanceof Class<?> inputClass ? inputClass : Object.class;
+    }
+
+    private HandlerUtils.Collaborators resolveCollaborators() {
+        if (collaborators == null) {
+            collaborators = HandlerUtils.resolveCollaborators(handler.getApplicationContext());
+        }
+        return collaborators;
+    }
+
+    private AfterExecutionEventDispatcher resolveAfterExecutionEventDispatcher() {
+        if (afterExecutionEventDispatcher == null) {
+            afterExecutionEventDispatcher = handler.getApplicationContext().getBean(AfterExecutionEventDispatcher.class);
+        }
+        return afterExecutionEventDispatcher;
+    }
+}
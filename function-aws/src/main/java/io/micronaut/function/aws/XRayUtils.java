@@ -16,6 +16,7 @@
 package io.micronaut.function.aws;
 
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 
 import java.util.Optional;
@@ -33,6 +34,8 @@ public final class XRayUtils {
 
     private static final String ENV_X_AMZN_TRACE_ID = "_X_AMZN_TRACE_ID";
 
+    private static final ThreadLocal<String> TRACE_HEADER = new ThreadLocal<>();
+
     /**
      * Constructor.
      */
@@ -40,13 +43,39 @@ public final class XRayUtils {
     }
 
     /**
-     * Parses XRay Trace ID from _X_AMZN_TRACE_ID environment variable.
+     * Binds the trace header of the invocation being handled to the current thread.
+     * Runtimes handling several invocations concurrently use it instead of the global {@value #LAMBDA_TRACE_HEADER_PROP} system property.
+     * @param traceHeader Trace header or {@code null} to remove the trace header bound to the current thread
+     * @since 4.8.0
+     */
+    public static void bindTraceHeader(@Nullable String traceHeader) {
+        if (StringUtils.isNotEmpty(traceHeader)) {
+            TRACE_HEADER.set(traceHeader);
+        } else {
+            TRACE_HEADER.remove();
+        }
+    }
+
+    /**
+     * @return The trace header bound to the current thread with {@link #bindTraceHeader(String)} or {@code null}
+     * @since 4.8.0
+     */
+    @Nullable
+    public static String getBoundTraceHeader() {
+        return TRACE_HEADER.get();
+    }
+
+    /**
+     * Parses XRay Trace ID from the trace header bound to the current thread, the _X_AMZN_TRACE_ID environment variable or the {@value #LAMBDA_TRACE_HEADER_PROP} system property.
      * @see <a href="https://docs.aws.amazon.com/xray/latest/devguide/xray-sdk-java-configuration.html">Trace ID injection into logs</a>
      * @return Trace id or empty if not found
      */
     @NonNull
     public static Optional<String> parseXrayTraceId() {
-        String lambdaTraceHeaderKey = System.getenv(ENV_X_AMZN_TRACE_ID);
+        String lambdaTraceHeaderKey = TRACE_HEADER.get();
+        if (StringUtils.isEmpty(lambdaTraceHeaderKey)) {
+            lambdaTraceHeaderKey = System.getenv(ENV_X_AMZN_TRACE_ID);
+        }
         lambdaTraceHeaderKey = StringUtils.isNotEmpty(lambdaTraceHeaderKey) ? lambdaTraceHeaderKey
                 : System.getProperty(LAMBDA_TRACE_HEADER_PROP);
         if (lambdaTraceHeaderKey != null) {
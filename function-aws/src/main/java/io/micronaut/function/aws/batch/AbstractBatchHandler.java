@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.ApplicationContextBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.function.aws.MicronautRequestHandler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The lazy creation and the closing of the batch processor shared by the batch handlers.
+ *
+ * @param <I> The event type
+ * @param <O> The response type
+ * @param <P> The batch processor type
+ * @since 4.8.0
+ */
+abstract class AbstractBatchHandler<I, O, P extends Closeable> extends MicronautRequestHandler<I, O> {
+
+    private volatile P processor;
+
+    AbstractBatchHandler() {
+    }
+
+    AbstractBatchHandler(ApplicationContext applicationContext) {
+        super(applicationContext);
+    }
+
+    AbstractBatchHandler(ApplicationContextBuilder applicationContextBuilder) {
+        super(applicationContextBuilder);
+    }
+
+    /**
+     * Creates the batch processor on the first invocation.
+     *
+     * @param configuration The batch configuration
+     * @return The batch processor
+     */
+    @NonNull
+    abstract P createProcessor(@NonNull BatchConfiguration configuration);
+
+    @Override
+    public void close() {
+        P batchProcessor = processor;
+        if (batchProcessor != null) {
+            try {
+                batchProcessor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        super.close();
+    }
+
+    /**
+     * @return The batch processor
+     */
+    final P resolveProcessor() {
+        P batchProcessor = processor;
+        if (batchProcessor == null) {
+            synchronized (this) {
+                batchProcessor = processor;
+                if (batchProcessor == null) {
+                    BatchConfiguration configuration = getApplicationContext().findBean(BatchConfiguration.class)
+                        .orElseGet(BatchConfiguration::new);
+                    batchProcessor = createProcessor(configuration);
+                    processor = batchProcessor;
+                }
+            }
+        }
+        return batchProcessor;
+    }
+
+    /**
+     * @param records The records of the event, possibly {@code null}
+     * @param <R> The record type
+     * @return The records or an empty list
+     */
+    static <R> List<R> records(@Nullable List<R> records) {
+        return records != null ? records : Collections.emptyList();
+    }
+
+    /**
+     * @param checkpoint The sequence number of the earliest failed record or {@code null} if every record was processed
+     * @return The response reporting the checkpoint
+     */
+    static StreamsEventResponse streamsEventResponse(@Nullable String checkpoint) {
+        StreamsEventResponse response = new StreamsEventResponse();
+        response.setBatchItemFailures(checkpoint == null ? Collections.emptyList() :
+            Collections.singletonList(new StreamsEventResponse.BatchItemFailure(checkpoint)));
+        return response;
+    }
+
+    /**
+     * Returns the sequence number the batch resumes from, failing with a clear message when the failed record lacks it, since
+     * the batch can then only be retried as a whole.
+     *
+     * @param sequenceNumber The sequence number of the failed record, {@code null} if the record has no payload or no sequence number
+     * @param eventId The event id of the failed record
+     * @return The sequence number
+     */
+    @NonNull
+    static String requireSequenceNumber(@Nullable String sequenceNumber, @Nullable String eventId) {
+        if (sequenceNumber == null) {
+            throw new IllegalStateException("Record " + eventId + " failed and has no sequence number to resume the batch from");
+        }
+        return sequenceNumber;
+    }
+}
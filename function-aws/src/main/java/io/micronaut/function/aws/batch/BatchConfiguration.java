@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration of the batch handlers.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(BatchConfiguration.PREFIX)
+public class BatchConfiguration {
+
+    /**
+     * Prefix for the batch handlers configuration.
+     */
+    public static final String PREFIX = "aws.lambda.batch";
+
+    /**
+     * The default concurrency.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONCURRENCY = 10;
+
+    /**
+     * The default virtual-threads value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_VIRTUAL_THREADS = false;
+
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private boolean virtualThreads = DEFAULT_VIRTUAL_THREADS;
+
+    /**
+     * @return The maximum number of records processed concurrently
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_CONCURRENCY}). Records which must be processed in order, such as the messages of a FIFO message group,
+     * are processed one after the other whatever the concurrency.
+     * @param concurrency The maximum number of records processed concurrently
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @return Whether the records are processed on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_VIRTUAL_THREADS}). Virtual threads are only used if the JVM supports them.
+     * @param virtualThreads Whether the records are processed on virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+}
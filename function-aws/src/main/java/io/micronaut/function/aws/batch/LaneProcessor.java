@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Processes the records of a batch concurrently on a bounded pool. Records sharing a lane key are processed one after the other,
+ * in batch order, and once one of them fails the following records of its lane are skipped. Records without a lane key are
+ * processed independently. The records are processed with the Lambda context of the invocation bound to {@link CurrentLambdaContext}.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class LaneProcessor implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LaneProcessor.class);
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+
+    /**
+     * @param configuration The batch configuration
+     */
+    public LaneProcessor(@NonNull BatchConfiguration configuration) {
+        int concurrency = Math.max(1, configuration.getConcurrency());
+        this.permits = new Semaphore(concurrency);
+        this.executorService = createExecutorService(configuration.isVirtualThreads(), concurrency);
+    }
+
+    /**
+     * Processes the records and waits until all of them are processed or skipped.
+     *
+     * @param records The records, in batch order
+     * @param laneKey Function returning the lane key of a record, or {@code null} if the record can be processed independently
+     * @param handler The record handler
+     * @param <T> The record type
+     * @return The records which failed or were skipped, in batch order
+     */
+    @NonNull
+    public <T> List<T> process(@NonNull List<T> records,
+                               @NonNull Function<T, String> laneKey,
+                               @NonNull RecordHandler<T> handler) {
+        if (records.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Object, List<T>> lanes = new LinkedHashMap<>();
+        for (T item : records) {
+            String key = laneKey.apply(item);
+            lanes.computeIfAbsent(key != null ? key : new Object(), k -> new ArrayList<>()).add(item);
+        }
+        Set<T> failed = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(lanes.size());
+        for (List<T> lane : lanes.values()) {
+            futures.add(CompletableFuture.runAsync(CurrentLambdaContext.propagate(() -> processLane(lane, handler, failed)), executorService));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        if (failed.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>(failed.size());
+        for (T item : records) {
+            if (failed.contains(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    private <T> void processLane(List<T> lane, RecordHandler<T> handler, Set<T> failed) {
+        for (int i = 0; i < lane.size(); i++) {
+            T item = lane.get(i);
+            if (!processRecord(item, handler)) {
+                failed.addAll(lane.subList(i, lane.size()));
+                return;
+            }
+        }
+    }
+
+    private <T> boolean processRecord(T item, RecordHandler<T> handler) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            handler.handle(item);
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Failed to process batch record: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static ExecutorService createExecutorService(boolean virtualThreads, int concurrency) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOG.warn("Virtual threads are not supported by the JVM, using platform threads");
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "lambda-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Handles a record of a batch.
+     *
+     * @param <T> The record type
+     */
+    @FunctionalInterface
+    public interface RecordHandler<T> {
+
+        /**
+         * @param item The record
+         * @throws Exception if the record cannot be processed
+         */
+        void handle(@NonNull T item) throws Exception;
+    }
+}
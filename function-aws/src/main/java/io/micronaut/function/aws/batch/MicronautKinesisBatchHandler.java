@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.ApplicationContextBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.function.aws.MicronautRequestHandler;
+
+import java.util.List;
+
+/**
+ * A {@link MicronautRequestHandler} for Kinesis events which processes the records of a batch in parallel while keeping the
+ * records sharing a partition key in order. The sequence number of the earliest failed record is reported in the {@link StreamsEventResponse},
+ * so that the next invocation resumes from it. Enable {@code ReportBatchItemFailures} on the event source mapping to use it.
+ *
+ * <p>The records are sharded by partition key onto a fixed set of lanes, one per unit of {@link BatchConfiguration#getConcurrency() concurrency},
+ * which raises the throughput per shard without raising the {@code ParallelizationFactor} of the event source mapping.</p>
+ *
+ * @since 4.8.0
+ */
+public abstract class MicronautKinesisBatchHandler extends AbstractBatchHandler<KinesisEvent, StreamsEventResponse, StreamBatchProcessor> {
+
+    /**
+     * Default constructor; will initialize a suitable {@link ApplicationContext} for
+     * Lambda deployment.
+     */
+    protected MicronautKinesisBatchHandler() {
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContext}.
+     * @param applicationContext the application context
+     */
+    protected MicronautKinesisBatchHandler(ApplicationContext applicationContext) {
+        super(applicationContext);
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContextBuilder}.
+     * @param applicationContextBuilder the application context builder
+     */
+    protected MicronautKinesisBatchHandler(ApplicationContextBuilder applicationContextBuilder) {
+        super(applicationContextBuilder);
+    }
+
+    /**
+     * Processes a record of the batch. Throwing an exception makes the batch resume from this record on the next invocation.
+     *
+     * @param record The record
+     * @throws Exception if the record cannot be processed
+     */
+    protected abstract void handleRecord(@NonNull KinesisEvent.KinesisEventRecord record) throws Exception;
+
+    /**
+     * Returns the key of the records which must be processed in order. Defaults to the partition key of the Kinesis record.
+     *
+     * @param record The record
+     * @return The partition key
+     */
+    @Nullable
+    protected Object partitionKey(@NonNull KinesisEvent.KinesisEventRecord record) {
+        return record.getKinesis() != null ? record.getKinesis().getPartitionKey() : null;
+    }
+
+    @Override
+    public final StreamsEventResponse execute(KinesisEvent input) {
+        List<KinesisEvent.KinesisEventRecord> records = records(input != null ? input.getRecords() : null);
+        return streamsEventResponse(resolveProcessor().process(records, this::partitionKey, MicronautKinesisBatchHandler::sequenceNumber, this::handleRecord));
+    }
+
+    @Override
+    final StreamBatchProcessor createProcessor(BatchConfiguration configuration) {
+        return new StreamBatchProcessor(configuration);
+    }
+
+    private static String sequenceNumber(KinesisEvent.KinesisEventRecord record) {
+        return requireSequenceNumber(record.getKinesis() != null ? record.getKinesis().getSequenceNumber() : null, record.getEventID());
+    }
+}
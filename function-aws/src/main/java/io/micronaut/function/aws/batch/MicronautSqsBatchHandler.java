@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.ApplicationContextBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.function.aws.MicronautRequestHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MicronautRequestHandler} for SQS events which processes the messages of a batch concurrently and reports the messages
+ * which failed as {@link SQSBatchResponse#getBatchItemFailures() batch item failures}, so that only those are retried.
+ * Enable {@code ReportBatchItemFailures} on the event source mapping to use it.
+ *
+ * <p>Messages of the same FIFO message group are processed one after the other, in order. Once a message of a group fails,
+ * the following messages of the group are not processed and are reported as failures as well, which preserves the ordering
+ * of the group when the batch is retried.</p>
+ *
+ * @since 4.8.0
+ */
+public abstract class MicronautSqsBatchHandler extends AbstractBatchHandler<SQSEvent, SQSBatchResponse, LaneProcessor> {
+
+    /**
+     * The SQS message attribute holding the FIFO message group id.
+     */
+    public static final String MESSAGE_GROUP_ID = "MessageGroupId";
+
+    /**
+     * Default constructor; will initialize a suitable {@link ApplicationContext} for
+     * Lambda deployment.
+     */
+    protected MicronautSqsBatchHandler() {
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContext}.
+     * @param applicationContext the application context
+     */
+    protected MicronautSqsBatchHandler(ApplicationContext applicationContext) {
+        super(applicationContext);
+    }
+
+    /**
+     * Constructor used to inject a preexisting {@link ApplicationContextBuilder}.
+     * @param applicationContextBuilder the application context builder
+     */
+    protected MicronautSqsBatchHandler(ApplicationContextBuilder applicationContextBuilder) {
+        super(applicationContextBuilder);
+    }
+
+    /**
+     * Processes a message of the batch. Throwing an exception reports the message as a batch item failure.
+     *
+     * @param message The SQS message
+     * @throws Exception if the message cannot be processed
+     */
+    protected abstract void handleMessage(@NonNull SQSEvent.SQSMessage message) throws Exception;
+
+    /**
+     * Returns the key of the messages which must be processed in order. Defaults to the FIFO message group id.
+     *
+     * @param message The SQS message
+     * @return The ordering key or {@code null} if the message can be processed independently
+     */
+    @Nullable
+    protected String orderingKey(@NonNull SQSEvent.SQSMessage message) {
+        return message.getAttributes() != null ? message.getAttributes().get(MESSAGE_GROUP_ID) : null;
+    }
+
+    @Override
+    public final SQSBatchResponse execute(SQSEvent input) {
+        List<SQSEvent.SQSMessage> messages = records(input != null ? input.getRecords() : null);
+        List<SQSEvent.SQSMessage> failed = resolveProcessor().process(messages, this::orderingKey, this::handleMessage);
+        List<SQSBatchResponse.BatchItemFailure> failures = new ArrayList<>(failed.size());
+        for (SQSEvent.SQSMessage message : failed) {
+            failures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+        }
+        return new SQSBatchResponse(failures);
+    }
+
+    @Override
+    final LaneProcessor createProcessor(BatchConfiguration configuration) {
+        return new LaneProcessor(configuration);
+    }
+}
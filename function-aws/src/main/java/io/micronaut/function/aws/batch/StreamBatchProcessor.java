@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.batch;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Processes the records of a stream batch, such as a Kinesis or DynamoDB Streams batch. The records are sharded by partition key
+ * onto a fixed set of lanes, one per unit of concurrency, and the lanes are processed in parallel. Records of a lane are processed
+ * in batch order, so the records sharing a partition key keep their order.
+ *
+ * <p>The sequence number of the earliest failed record is the checkpoint of the batch: Lambda retries the batch from that record,
+ * so the records which follow a failure in its lane are skipped.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class StreamBatchProcessor implements Closeable {
+
+    private final LaneProcessor laneProcessor;
+    private final String[] lanes;
+
+    /**
+     * @param configuration The batch configuration
+     */
+    public StreamBatchProcessor(@NonNull BatchConfiguration configuration) {
+        this.laneProcessor = new LaneProcessor(configuration);
+        this.lanes = new String[Math.max(1, configuration.getConcurrency())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = String.valueOf(i);
+        }
+    }
+
+    /**
+     * Processes the records and waits until all of them are processed or skipped.
+     *
+     * @param records The records, in sequence order
+     * @param partitionKey Function returning the partition key of a record
+     * @param sequenceNumber Function returning the sequence number of a record
+     * @param handler The record handler
+     * @param <R> The record type
+     * @return The sequence number of the earliest failed record or {@code null} if every record was processed
+     */
+    @Nullable
+    public <R> String process(@NonNull List<R> records,
+                              @NonNull Function<R, Object> partitionKey,
+                              @NonNull Function<R, String> sequenceNumber,
+                              @NonNull LaneProcessor.RecordHandler<R> handler) {
+        List<R> failed = laneProcessor.process(records, item -> lane(partitionKey.apply(item)), handler);
+        return failed.isEmpty() ? null : sequenceNumber.apply(failed.get(0));
+    }
+
+    @Override
+    public void close() {
+        laneProcessor.close();
+    }
+
+    private String lane(Object partitionKey) {
+        return lanes[partitionKey == null ? 0 : Math.floorMod(partitionKey.hashCode(), lanes.length)];
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.function.aws.event;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 
 /**
@@ -24,6 +25,8 @@ import io.micronaut.core.annotation.Nullable;
  * performing actions before the Lambda function run is finished and the JVM is hibernated.
  * <p>
  * This event must be processed synchronously to guarantee it has been processed before the Lambda funciton is hibernated.
+ * Work which does not need to delay the response can be deferred with {@link #runAfterResponse(Runnable)}, and the whole
+ * dispatch of the event can be made asynchronous or deferred with {@link AfterExecutionEventConfiguration#getDispatch()}.
  *
  * @author Vladimir Orany
  * @since 3.9.0
@@ -37,11 +40,17 @@ public final class AfterExecutionEvent {
     private final Throwable exception;
     @Nullable
     private final Object output;
+    @Nullable
+    private final AfterResponseTasks afterResponseTasks;
+    @Nullable
+    private final InvocationMeasurements measurements;
 
-    private AfterExecutionEvent(@Nullable Context context, @Nullable Object output, @Nullable Throwable exception) {
+    private AfterExecutionEvent(@Nullable Context context, @Nullable Object output, @Nullable Throwable exception, @Nullable InvocationMeasurements measurements) {
         this.context = context;
         this.output = output;
         this.exception = exception;
+        this.measurements = measurements;
+        this.afterResponseTasks = AfterResponseTasks.current();
     }
 
     /**
@@ -52,7 +61,20 @@ public final class AfterExecutionEvent {
      * @return a new {@link AfterExecutionEvent} with an optional result of the execution
      */
     public static AfterExecutionEvent success(@Nullable Context context, @Nullable Object output) {
-        return new AfterExecutionEvent(context, output, null);
+        return new AfterExecutionEvent(context, output, null, null);
+    }
+
+    /**
+     * Creates a new {@link AfterExecutionEvent} with an optional result of the execution and the measurements of the invocation.
+     *
+     * @param context AWS Lambda context
+     * @param output an optional result of the exectuion
+     * @param measurements the resources used by the invocation
+     * @return a new {@link AfterExecutionEvent} with an optional result of the execution
+     * @since 4.8.0
+     */
+    public static AfterExecutionEvent success(@Nullable Context context, @Nullable Object output, @Nullable InvocationMeasurements measurements) {
+        return new AfterExecutionEvent(context, output, null, measurements);
     }
 
     /**
@@ -63,7 +85,20 @@ public final class AfterExecutionEvent {
      * @return a new {@link AfterExecutionEvent} with an exception been thrown.
      */
     public static AfterExecutionEvent failure(@Nullable Context context, Throwable exception) {
-        return new AfterExecutionEvent(context, null, exception);
+        return new AfterExecutionEvent(context, null, exception, null);
+    }
+
+    /**
+     * Creates a new {@link AfterExecutionEvent} with an exception been thrown and the measurements of the invocation.
+     *
+     * @param context AWS Lambda context
+     * @param exception the exception which has been thrown during the execution
+     * @param measurements the resources used by the invocation
+     * @return a new {@link AfterExecutionEvent} with an exception been thrown.
+     * @since 4.8.0
+     */
+    public static AfterExecutionEvent failure(@Nullable Context context, Throwable exception, @Nullable InvocationMeasurements measurements) {
+        return new AfterExecutionEvent(context, null, exception, measurements);
     }
 
     /**
@@ -89,6 +124,15 @@ public final class AfterExecutionEvent {
         return exception;
     }
 
+    /**
+     * @return the resources used by the invocation, if measured by the handler
+     * @since 4.8.0
+     */
+    @Nullable
+    public InvocationMeasurements getMeasurements() {
+        return measurements;
+    }
+
     /**
      * @return the optional Lambda context
      */
@@ -96,4 +140,27 @@ public final class AfterExecutionEvent {
     public Context getContext() {
         return context;
     }
+
+    /**
+     * Defers a task until the response of the invocation has been sent, if the runtime supports it.
+     * The custom runtime runs deferred tasks, within a bounded time, after sending the response and before polling the next invocation.
+     * Otherwise, the task runs immediately.
+     *
+     * @param task The task
+     * @since 4.8.0
+     */
+    public void runAfterResponse(@NonNull Runnable task) {
+        if (afterResponseTasks != null) {
+            afterResponseTasks.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * @return Whether a runtime collects the tasks deferred with {@link #runAfterResponse(Runnable)}
+     */
+    boolean isRunAfterResponseSupported() {
+        return afterResponseTasks != null;
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.event;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.scheduling.TaskExecutors;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the dispatch of the {@link AfterExecutionEvent}.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(AfterExecutionEventConfiguration.PREFIX)
+public class AfterExecutionEventConfiguration {
+
+    /**
+     * Prefix for the {@link AfterExecutionEvent} configuration.
+     */
+    public static final String PREFIX = "aws.lambda.after-execution-event";
+
+    /**
+     * The default dispatch mode.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final DispatchMode DEFAULT_DISPATCH = DispatchMode.SYNCHRONOUS;
+
+    /**
+     * The default executor.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String DEFAULT_EXECUTOR = TaskExecutors.BLOCKING;
+
+    /**
+     * The default drain timeout in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_DRAIN_TIMEOUT_SECONDS = 2;
+
+    private DispatchMode dispatch = DEFAULT_DISPATCH;
+    private String executor = DEFAULT_EXECUTOR;
+    private Duration drainTimeout = Duration.ofSeconds(DEFAULT_DRAIN_TIMEOUT_SECONDS);
+
+    /**
+     * @return How the event is dispatched to the listeners
+     */
+    @NonNull
+    public DispatchMode getDispatch() {
+        return dispatch;
+    }
+
+    /**
+     * Default value (SYNCHRONOUS).
+     * @param dispatch How the event is dispatched to the listeners
+     */
+    public void setDispatch(@NonNull DispatchMode dispatch) {
+        this.dispatch = dispatch;
+    }
+
+    /**
+     * @return The name of the executor the event is dispatched on in {@link DispatchMode#ASYNCHRONOUS} mode
+     */
+    @NonNull
+    public String getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_EXECUTOR}).
+     * @param executor The name of the executor the event is dispatched on in {@link DispatchMode#ASYNCHRONOUS} mode
+     */
+    public void setExecutor(@NonNull String executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return The maximum time to wait for the pending asynchronous events
+     */
+    @NonNull
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_DRAIN_TIMEOUT_SECONDS} seconds). Pending asynchronous events are awaited after the response
+     * has been sent when the runtime supports it, otherwise before the next invocation, and when the application context is closed.
+     * @param drainTimeout The maximum time to wait for the pending asynchronous events
+     */
+    public void setDrainTimeout(@NonNull Duration drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * How the {@link AfterExecutionEvent} is dispatched to the listeners.
+     */
+    public enum DispatchMode {
+
+        /**
+         * The listeners run before the handler returns.
+         */
+        SYNCHRONOUS,
+
+        /**
+         * The listeners run on the configured executor while the response is returned.
+         */
+        ASYNCHRONOUS,
+
+        /**
+         * The listeners run once the response has been sent, if the runtime supports it. See {@link AfterExecutionEvent#runAfterResponse(Runnable)}.
+         */
+        DEFERRED
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.event;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.ShutdownEvent;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.function.aws.CurrentLambdaContext;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dispatches the {@link AfterExecutionEvent} to the listeners according to the {@link AfterExecutionEventConfiguration}.
+ * Asynchronous events which are still pending are awaited, within the drain timeout, after the response has been sent when the
+ * runtime supports it, otherwise before the next event is dispatched, and when the application context is closed, so that they are
+ * not lost when the execution environment is frozen or shut down. Listeners run with the {@link AfterExecutionEvent#getContext() context} of
+ * the invocation bound to {@link CurrentLambdaContext}.
+ *
+ * @since 4.8.0
+ */
+@Internal
+@Singleton
+public final class AfterExecutionEventDispatcher implements ApplicationEventListener<ShutdownEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AfterExecutionEventDispatcher.class);
+
+    private final ApplicationEventPublisher<AfterExecutionEvent> eventPublisher;
+    private final AfterExecutionEventConfiguration configuration;
+    private final BeanLocator beanLocator;
+    private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile ExecutorService executorService;
+
+    /**
+     * @param eventPublisher The event publisher
+     * @param configuration The configuration
+     * @param beanLocator The bean locator used to find the executor
+     */
+    AfterExecutionEventDispatcher(ApplicationEventPublisher<AfterExecutionEvent> eventPublisher,
+                                  AfterExecutionEventConfiguration configuration,
+                                  BeanLocator beanLocator) {
+        this.eventPublisher = eventPublisher;
+        this.configuration = configuration;
+        this.beanLocator = beanLocator;
+    }
+
+    /**
+     * Dispatches the event.
+     *
+     * @param event The event
+     */
+    public void dispatch(@NonNull AfterExecutionEvent event) {
+        switch (configuration.getDispatch()) {
+            case ASYNCHRONOUS -> dispatchAsynchronously(event);
+            case DEFERRED -> event.runAfterResponse(publishing(event));
+            default -> eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Waits for the pending asynchronous events, within the drain timeout.
+     */
+    public void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + configuration.getDrainTimeout().toNanos();
+        for (Future<?> future : pending) {
+            await(future, deadline);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ShutdownEvent event) {
+        drain();
+    }
+
+    private void dispatchAsynchronously(AfterExecutionEvent event) {
+        if (!event.isRunAfterResponseSupported()) {
+            // a runtime running after response tasks awaits each event once its own response is sent, draining here would make
+            // the response of this invocation wait for the listeners of the invocations handled concurrently
+            drain();
+        }
+        ExecutorService executor = resolveExecutorService();
+        Future<?> future;
+        try {
+            future = executor.submit(publishing(event));
+        } catch (RejectedExecutionException e) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        pending.add(future);
+        if (event.isRunAfterResponseSupported()) {
+            event.runAfterResponse(() -> await(future, System.nanoTime() + configuration.getDrainTimeout().toNanos()));
+        }
+        // otherwise the future stays pending until the next dispatch or the shutdown drains it
+    }
+
+    private Runnable publishing(AfterExecutionEvent event) {
+        Runnable publish = () -> eventPublisher.publishEvent(event);
+        Context context = event.getContext();
+        return context != null ? CurrentLambdaContext.propagate(context, publish) : publish;
+    }
+
+    private void await(Future<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("AfterExecutionEvent listeners did not complete within {}", configuration.getDrainTimeout());
+            }
+        } catch (ExecutionException e) {
+            LOG.error("AfterExecutionEvent listener failed: {}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.remove(future);
+        }
+    }
+
+    private ExecutorService resolveExecutorService() {
+        ExecutorService executor = executorService;
+        if (executor == null) {
+            executor = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(configuration.getExecutor()))
+                .orElseThrow(() -> new IllegalStateException("No executor named " + configuration.getExecutor()
+                    + " found to dispatch the AfterExecutionEvent"));
+            executorService = executor;
+        }
+        return executor;
+    }
+}
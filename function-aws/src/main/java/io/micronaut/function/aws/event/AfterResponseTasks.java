@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.event;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tasks deferred with {@link AfterExecutionEvent#runAfterResponse(Runnable)} until the response of the invocation has been sent.
+ * <p>
+ * A runtime which controls when the response is sent, such as the custom runtime, binds an instance to the thread handling the invocation
+ * before invoking the handler and runs the collected tasks once the response has been sent and before polling the next invocation.
+ * When no instance is bound, deferred tasks run immediately.
+ *
+ * @since 4.8.0
+ */
+public final class AfterResponseTasks {
+
+    private static final ThreadLocal<AfterResponseTasks> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> tasks = new ArrayList<>(2);
+    private boolean drained;
+
+    private AfterResponseTasks() {
+    }
+
+    /**
+     * Binds a new instance to the current thread.
+     *
+     * @return The instance bound to the current thread
+     */
+    @NonNull
+    public static AfterResponseTasks bind() {
+        AfterResponseTasks afterResponseTasks = new AfterResponseTasks();
+        CURRENT.set(afterResponseTasks);
+        return afterResponseTasks;
+    }
+
+    /**
+     * Binds an existing instance to the current thread, for example to the worker thread a runtime invokes the handler on.
+     *
+     * @param afterResponseTasks The instance bound to the thread handling the invocation
+     */
+    public static void bind(@NonNull AfterResponseTasks afterResponseTasks) {
+        CURRENT.set(afterResponseTasks);
+    }
+
+    /**
+     * Removes the instance bound to the current thread.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The instance bound to the current thread or {@code null}
+     */
+    @Nullable
+    public static AfterResponseTasks current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds a task. If the tasks have already been drained, the task runs immediately.
+     *
+     * @param task The task
+     */
+    public void add(@NonNull Runnable task) {
+        synchronized (tasks) {
+            if (!drained) {
+                tasks.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Returns the collected tasks. Tasks added afterwards run immediately.
+     *
+     * @return The collected tasks in the order they were added
+     */
+    @NonNull
+    public List<Runnable> drain() {
+        synchronized (tasks) {
+            drained = true;
+            if (tasks.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Runnable> result = new ArrayList<>(tasks);
+            tasks.clear();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.event;
+
+import java.time.Duration;
+
+/**
+ * Resources used by a Lambda invocation, as measured by the handler on the thread which handled the invocation. Work the handler
+ * delegates to other threads is included in the wall-clock duration and the garbage collection counts but not in the CPU time and
+ * the allocated bytes. Measurements which the JVM does not support are {@code -1}.
+ *
+ * @since 4.8.0
+ */
+public final class InvocationMeasurements {
+
+    private final long durationNanos;
+    private final long cpuTimeNanos;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+    private final boolean coldStart;
+    private final long remainingTimeMillis;
+
+    /**
+     * @param durationNanos The wall-clock duration in nanoseconds
+     * @param cpuTimeNanos The CPU time of the invocation thread in nanoseconds or -1
+     * @param allocatedBytes The bytes allocated by the invocation thread or -1
+     * @param gcCount The number of garbage collections or -1
+     * @param gcTimeMillis The accumulated garbage collection time in milliseconds or -1
+     * @param coldStart Whether the invocation was the first one handled by the handler
+     * @param remainingTimeMillis The remaining time of the invocation when it completed in milliseconds or -1
+     */
+    public InvocationMeasurements(long durationNanos,
+                                  long cpuTimeNanos,
+                                  long allocatedBytes,
+                                  long gcCount,
+                                  long gcTimeMillis,
+                                  boolean coldStart,
+                                  long remainingTimeMillis) {
+        this.durationNanos = durationNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+        this.coldStart = coldStart;
+        this.remainingTimeMillis = remainingTimeMillis;
+    }
+
+    /**
+     * @return The wall-clock duration of the invocation
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * @return The wall-clock duration of the invocation in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return The CPU time of the invocation thread in nanoseconds or -1 if not supported
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    /**
+     * @return The bytes allocated by the invocation thread or -1 if not supported
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The number of garbage collections during the invocation or -1 if not supported
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return The accumulated garbage collection time during the invocation in milliseconds or -1 if not supported
+     */
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    /**
+     * @return Whether the invocation was the first one handled by the handler
+     */
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
+    /**
+     * @return The remaining time of the invocation when it completed in milliseconds or -1 if unknown
+     */
+    public long getRemainingTimeMillis() {
+        return remainingTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationMeasurements{" +
+            "durationNanos=" + durationNanos +
+            ", cpuTimeNanos=" + cpuTimeNanos +
+            ", allocatedBytes=" + allocatedBytes +
+            ", gcCount=" + gcCount +
+            ", gcTimeMillis=" + gcTimeMillis +
+            ", coldStart=" + coldStart +
+            ", remainingTimeMillis=" + remainingTimeMillis +
+            '}';
+    }
+}
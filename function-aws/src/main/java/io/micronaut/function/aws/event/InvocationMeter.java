@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.event;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures the resources used by the invocations of a handler. The JVM management beans are looked up once, and the measurements
+ * which the JVM does not support, for example in a native image, are skipped.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class InvocationMeter {
+
+    private static final long UNSUPPORTED = -1;
+
+    private final AtomicBoolean coldStart = new AtomicBoolean(true);
+    @Nullable
+    private final ThreadMXBean threadBean;
+    @Nullable
+    private final com.sun.management.ThreadMXBean allocationBean;
+    @Nullable
+    private final List<GarbageCollectorMXBean> garbageCollectorBeans;
+
+    /**
+     * Looks up the JVM management beans.
+     */
+    public InvocationMeter() {
+        ThreadMXBean threads = null;
+        com.sun.management.ThreadMXBean allocations = null;
+        List<GarbageCollectorMXBean> garbageCollectors = null;
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled()) {
+                threads = bean;
+            }
+            if (bean instanceof com.sun.management.ThreadMXBean hotspotBean
+                && hotspotBean.isThreadAllocatedMemorySupported()
+                && hotspotBean.isThreadAllocatedMemoryEnabled()) {
+                allocations = hotspotBean;
+            }
+            garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+        } catch (RuntimeException | LinkageError e) {
+            // management beans are not available
+        }
+        this.threadBean = threads;
+        this.allocationBean = allocations;
+        this.garbageCollectorBeans = garbageCollectors;
+    }
+
+    /**
+     * Starts measuring an invocation on the current thread.
+     *
+     * @return The sample to stop on the same thread once the invocation completed
+     */
+    @NonNull
+    public Sample start() {
+        long gcCount = 0;
+        long gcTime = 0;
+        if (garbageCollectorBeans != null) {
+            for (GarbageCollectorMXBean bean : garbageCollectorBeans) {
+                gcCount += Math.max(0, bean.getCollectionCount());
+                gcTime += Math.max(0, bean.getCollectionTime());
+            }
+        }
+        return new Sample(
+            coldStart.getAndSet(false),
+            System.nanoTime(),
+            threadBean != null ? threadBean.getCurrentThreadCpuTime() : UNSUPPORTED,
+            allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : UNSUPPORTED,
+            gcCount,
+            gcTime
+        );
+    }
+
+    /**
+     * The state at the start of an invocation.
+     */
+    public final class Sample {
+
+        private final boolean coldStart;
+        private final long startNanos;
+        private final long startCpuTime;
+        private final long startAllocatedBytes;
+        private final long startGcCount;
+        private final long startGcTime;
+
+        private Sample(boolean coldStart, long startNanos, long startCpuTime, long startAllocatedBytes, long startGcCount, long startGcTime) {
+            this.coldStart = coldStart;
+            this.startNanos = startNanos;
+            this.startCpuTime = startCpuTime;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.startGcCount = startGcCount;
+            this.startGcTime = startGcTime;
+        }
+
+        /**
+         * Stops measuring the invocation.
+         *
+         * @param context The Lambda context, used to read the remaining time
+         * @return The measurements of the invocation
+         */
+        @NonNull
+        public InvocationMeasurements stop(@Nullable Context context) {
+            long duration = System.nanoTime() - startNanos;
+            long cpuTime = startCpuTime != UNSUPPORTED ? threadBean.getCurrentThreadCpuTime() - startCpuTime : UNSUPPORTED;
+            long allocatedBytes = startAllocatedBytes != UNSUPPORTED ? allocationBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes : UNSUPPORTED;
+            long gcCount = UNSUPPORTED;
+            long gcTime = UNSUPPORTED;
+            if (garbageCollectorBeans != null) {
+                gcCount = -startGcCount;
+                gcTime = -startGcTime;
+                for (GarbageCollectorMXBean bean : garbageCollectorBeans) {
+                    gcCount += Math.max(0, bean.getCollectionCount());
+                    gcTime += Math.max(0, bean.getCollectionTime());
+                }
+            }
+            long remainingTime = UNSUPPORTED;
+            if (context != null) {
+                try {
+                    remainingTime = context.getRemainingTimeInMillis();
+                } catch (RuntimeException e) {
+                    // the context does not track the deadline
+                }
+            }
+            return new InvocationMeasurements(duration, cpuTime, allocatedBytes, gcCount, gcTime, coldStart, remainingTime);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.init;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.ConfigurationReader;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.function.aws.LambdaApplicationContextBuilder;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Initializes the singletons and the configuration beans in parallel on a fork-join pool once the application context has started,
+ * instead of sequentially while it starts. Dependencies are honoured because each singleton is retrieved from the application context,
+ * which creates its dependencies first, once, whichever thread needs them first. The {@link StartupTimeline} is logged and registered
+ * as a singleton.
+ *
+ * @since 4.8.0
+ */
+@Internal
+@Singleton
+@Requires(property = LambdaApplicationContextBuilder.PARALLEL_INIT_PROPERTY, value = StringUtils.TRUE)
+public final class ParallelSingletonInitializer implements ApplicationEventListener<StartupEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelSingletonInitializer.class);
+    private static final int SLOWEST_LOGGED = 10;
+
+    private final ApplicationContext applicationContext;
+
+    /**
+     * @param applicationContext The application context
+     */
+    ParallelSingletonInitializer(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        Set<BeanDefinition<?>> definitions = new LinkedHashSet<>();
+        definitions.addAll(applicationContext.getBeanDefinitions(Qualifiers.byStereotype(Singleton.class)));
+        definitions.addAll(applicationContext.getBeanDefinitions(Qualifiers.byStereotype(ConfigurationReader.class)));
+        definitions.removeIf(definition -> !definition.isSingleton() || definition.isAbstract() || definition.getBeanType() == ParallelSingletonInitializer.class);
+        if (definitions.isEmpty()) {
+            return;
+        }
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<StartupTimeline.Entry> entries = new ArrayList<>(definitions.size());
+        long start = System.nanoTime();
+        try {
+            List<Callable<StartupTimeline.Entry>> tasks = new ArrayList<>(definitions.size());
+            for (BeanDefinition<?> definition : definitions) {
+                tasks.add(() -> initialize(definition, start));
+            }
+            for (Future<StartupTimeline.Entry> future : pool.invokeAll(tasks)) {
+                entries.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        entries.sort((left, right) -> Long.compare(left.getStartOffsetNanos(), right.getStartOffsetNanos()));
+        StartupTimeline timeline = new StartupTimeline(System.nanoTime() - start, parallelism, entries);
+        applicationContext.registerSingleton(timeline);
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Initialized {} singletons in parallel: {}", entries.size(), timeline);
+        }
+        if (LOG.isDebugEnabled()) {
+            for (StartupTimeline.Entry entry : timeline.getSlowest(SLOWEST_LOGGED)) {
+                LOG.debug("{}", entry);
+            }
+        }
+    }
+
+    private StartupTimeline.Entry initialize(BeanDefinition<?> definition, long timelineStart) {
+        long start = System.nanoTime();
+        applicationContext.getBean(definition);
+        return new StartupTimeline.Entry(definition.getBeanType().getName(), Thread.currentThread().getName(), start - timelineStart, System.nanoTime() - start);
+    }
+}
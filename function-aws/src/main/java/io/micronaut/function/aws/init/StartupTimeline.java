@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.init;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The timeline of the singletons initialized in parallel during the Lambda INIT phase.
+ *
+ * @since 4.8.0
+ */
+public final class StartupTimeline {
+
+    private final long wallClockNanos;
+    private final int parallelism;
+    private final List<Entry> entries;
+
+    /**
+     * @param wallClockNanos The wall-clock duration of the initialization in nanoseconds
+     * @param parallelism The number of threads the singletons were initialized on
+     * @param entries The initialized singletons
+     */
+    public StartupTimeline(long wallClockNanos, int parallelism, @NonNull List<Entry> entries) {
+        this.wallClockNanos = wallClockNanos;
+        this.parallelism = parallelism;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * @return The wall-clock duration of the initialization
+     */
+    @NonNull
+    public Duration getWallClockDuration() {
+        return Duration.ofNanos(wallClockNanos);
+    }
+
+    /**
+     * Returns the sum of the initialization durations of the singletons, which approximates the duration of a sequential
+     * initialization. The duration of a singleton includes the initialization of the dependencies it created.
+     *
+     * @return The accumulated duration of the initialization of the singletons
+     */
+    @NonNull
+    public Duration getAccumulatedDuration() {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.durationNanos;
+        }
+        return Duration.ofNanos(total);
+    }
+
+    /**
+     * @return The number of threads the singletons were initialized on
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return The initialized singletons, in the order their initialization started
+     */
+    @NonNull
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @param count The maximum number of entries
+     * @return The singletons which took the longest to initialize, slowest first
+     */
+    @NonNull
+    public List<Entry> getSlowest(int count) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::getDurationNanos).reversed());
+        return sorted.subList(0, Math.min(count, sorted.size()));
+    }
+
+    @Override
+    public String toString() {
+        return "StartupTimeline{" +
+            "wallClock=" + getWallClockDuration().toMillis() + "ms" +
+            ", accumulated=" + getAccumulatedDuration().toMillis() + "ms" +
+            ", parallelism=" + parallelism +
+            ", singletons=" + entries.size() +
+            '}';
+    }
+
+    /**
+     * The initialization of a singleton.
+     */
+    public static final class Entry {
+
+        private final String beanName;
+        private final String threadName;
+        private final long startOffsetNanos;
+        private final long durationNanos;
+
+        /**
+         * @param beanName The name of the bean type
+         * @param threadName The name of the thread the singleton was initialized on
+         * @param startOffsetNanos The start of the initialization relative to the start of the timeline in nanoseconds
+         * @param durationNanos The duration of the initialization in nanoseconds
+         */
+        public Entry(@NonNull String beanName, @NonNull String threadName, long startOffsetNanos, long durationNanos) {
+            this.beanName = beanName;
+            this.threadName = threadName;
+            this.startOffsetNanos = startOffsetNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * @return The name of the bean type
+         */
+        @NonNull
+        public String getBeanName() {
+            return beanName;
+        }
+
+        /**
+         * @return The name of the thread the singleton was initialized on
+         */
+        @NonNull
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * @return The start of the initialization relative to the start of the timeline in nanoseconds
+         */
+        public long getStartOffsetNanos() {
+            return startOffsetNanos;
+        }
+
+        /**
+         * @return The duration of the initialization in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return beanName + " [" + threadName + "] +" + startOffsetNanos / 1_000_000 + "ms " + durationNanos / 1_000_000 + "ms";
+        }
+    }
+}
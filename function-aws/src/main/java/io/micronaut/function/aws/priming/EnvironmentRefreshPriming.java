@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.priming;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Refreshes the {@link Environment} after restore and publishes a {@link RefreshEvent} with the properties which changed.
+ * The environment variables of a restored execution environment, for example the AWS credentials, differ from the ones seen before the checkpoint.
+ * Beans annotated with {@code @Refreshable} are recreated, which also drops the connections they pooled before the checkpoint.
+ *
+ * @since 4.8.0
+ */
+@Singleton
+@Requires(property = EnvironmentRefreshPriming.ENABLED, notEquals = StringUtils.FALSE, defaultValue = StringUtils.TRUE)
+public class EnvironmentRefreshPriming implements LambdaPriming {
+
+    /**
+     * Property which disables this priming when set to {@code false}.
+     */
+    public static final String ENABLED = "aws.lambda.priming.refresh-environment.enabled";
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvironmentRefreshPriming.class);
+
+    private final Environment environment;
+    private final ApplicationEventPublisher<RefreshEvent> eventPublisher;
+
+    /**
+     * @param environment The environment
+     * @param eventPublisher The refresh event publisher
+     */
+    public EnvironmentRefreshPriming(Environment environment, ApplicationEventPublisher<RefreshEvent> eventPublisher) {
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterRestore() {
+        Map<String, Object> changes = environment.refreshAndDiff();
+        if (!changes.isEmpty()) {
+            LOG.debug("Properties changed after restore: {}", changes.keySet());
+            eventPublisher.publishEvent(new RefreshEvent(changes));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.priming;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the bean introspections and exercises the {@link JsonMapper} before the checkpoint, so that the classes and the
+ * serializer caches they initialize are part of the snapshot.
+ *
+ * @since 4.8.0
+ */
+@Singleton
+@Requires(beans = JsonMapper.class)
+@Requires(property = JsonMapperPriming.ENABLED, notEquals = StringUtils.FALSE, defaultValue = StringUtils.TRUE)
+public class JsonMapperPriming implements LambdaPriming {
+
+    /**
+     * Property which disables this priming when set to {@code false}.
+     */
+    public static final String ENABLED = "aws.lambda.priming.json.enabled";
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * @param jsonMapper The JSON mapper
+     */
+    public JsonMapperPriming(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void beforeCheckpoint() throws IOException {
+        for (BeanIntrospection<Object> introspection : BeanIntrospector.SHARED.findIntrospections(Introspected.class)) {
+            introspection.getBeanProperties();
+        }
+        Map<String, Object> sample = Map.of("string", "value", "number", 1, "boolean", true, "list", List.of(1.5, "two"));
+        byte[] json = jsonMapper.writeValueAsBytes(sample);
+        jsonMapper.readValue(json, Argument.mapOf(String.class, Object.class));
+    }
+}
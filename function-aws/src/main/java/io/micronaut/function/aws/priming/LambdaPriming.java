@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.priming;
+
+import io.micronaut.core.order.Ordered;
+
+/**
+ * Bean hooks run around an AWS Lambda SnapStart snapshot, or any other CRaC checkpoint.
+ * <p>
+ * {@link #beforeCheckpoint()} runs once, when the snapshot of the initialized execution environment is taken. Use it to exercise
+ * the code paths of the function, for example by issuing a request with an SDK client, so that the classes they load, the caches
+ * they fill and the code they JIT compile are part of the snapshot.
+ * <p>
+ * {@link #afterRestore()} runs in every execution environment restored from the snapshot, before the first invocation.
+ * Use it to recreate state which must not be shared between environments or which is stale after restore, such as
+ * random number generators seeded before the checkpoint, cached credentials and pooled network connections.
+ * <p>
+ * Beans are run in {@link Ordered} order. Failures are logged and do not prevent the other beans from running.
+ *
+ * @since 4.8.0
+ */
+public interface LambdaPriming extends Ordered {
+
+    /**
+     * Invoked before the checkpoint.
+     *
+     * @throws Exception if priming fails
+     */
+    default void beforeCheckpoint() throws Exception {
+    }
+
+    /**
+     * Invoked after the restore, before the first invocation.
+     *
+     * @throws Exception if the refresh fails
+     */
+    default void afterRestore() throws Exception {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.function.aws.priming;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.StringUtils;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * CRaC {@link Resource} which runs the {@link LambdaPriming} beans when AWS Lambda SnapStart takes the snapshot of the
+ * execution environment and when it restores it.
+ * It is registered with the global CRaC context when the application context starts, which for Lambda handlers happens
+ * in the initialization phase, before the snapshot is taken.
+ *
+ * @since 4.8.0
+ */
+@Internal
+@Context
+@Requires(classes = Core.class)
+@Requires(property = LambdaPrimingResource.ENABLED, notEquals = StringUtils.FALSE, defaultValue = StringUtils.TRUE)
+public class LambdaPrimingResource implements Resource {
+
+    /**
+     * Property which disables the priming when set to {@code false}.
+     */
+    public static final String ENABLED = "aws.lambda.priming.enabled";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LambdaPrimingResource.class);
+
+    private final List<LambdaPriming> primings;
+
+    /**
+     * @param primings The priming beans, in order
+     */
+    public LambdaPrimingResource(List<LambdaPriming> primings) {
+        this.primings = primings;
+        // the CRaC context references its resources weakly, the application context keeps this bean reachable
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        for (LambdaPriming priming : primings) {
+            try {
+                priming.beforeCheckpoint();
+            } catch (Exception e) {
+                LOG.warn("Priming {} failed before checkpoint: {}", priming.getClass().getName(), e.getMessage(), e);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Ran {} priming beans before checkpoint in {} ms", primings.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        for (LambdaPriming priming : primings) {
+            try {
+                priming.afterRestore();
+            } catch (Exception e) {
+                LOG.warn("Priming {} failed after restore: {}", priming.getClass().getName(), e.getMessage(), e);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Ran {} priming beans after restore in {} ms", primings.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
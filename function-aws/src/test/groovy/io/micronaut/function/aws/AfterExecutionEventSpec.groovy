@@ -11,10 +11,18 @@ import io.micronaut.context.event.ApplicationEventListener
 import io.micronaut.core.annotation.NonNull
 import io.micronaut.function.FunctionBean
 import io.micronaut.function.aws.event.AfterExecutionEvent
+import io.micronaut.function.aws.event.AfterExecutionEventConfiguration
+import io.micronaut.function.aws.event.AfterExecutionEventDispatcher
+import io.micronaut.function.aws.event.InvocationMeasurements
+import io.micronaut.function.aws.event.AfterResponseTasks
 import jakarta.inject.Singleton
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import spock.lang.Specification
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.function.Function
 
 class AfterExecutionEventSpec extends Specification {
@@ -51,6 +59,33 @@ class AfterExecutionEventSpec extends Specification {
         handler.close()
     }
 
+    void 'micronaut request handler measures the invocations'() {
+        given:
+        Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec"))
+        AfterExecutionEventListener listener = handler.applicationContext.getBean(AfterExecutionEventListener)
+        Context context = Mock(Context) {
+            getRemainingTimeInMillis() >> 1234
+        }
+
+        when:
+        handler.handleRequest('hello', context)
+        InvocationMeasurements first = listener.lastEvent.measurements
+        handler.handleRequest('hello', context)
+        InvocationMeasurements second = listener.lastEvent.measurements
+
+        then:
+        first.coldStart
+        !second.coldStart
+        second.durationNanos > 0
+        second.remainingTimeMillis == 1234
+        second.cpuTimeNanos == -1 || second.cpuTimeNanos >= 0
+        second.allocatedBytes == -1 || second.allocatedBytes > 0
+        second.gcCount >= 0
+
+        cleanup:
+        handler.close()
+    }
+
     void 'micronaut request handler with failure'() {
         given:
         Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec"))
@@ -110,6 +145,157 @@ class AfterExecutionEventSpec extends Specification {
         handler.close()
     }
 
+    void 'tasks deferred until after the response run immediately unless a runtime collects them'() {
+        given:
+        List<String> executed = []
+
+        when:
+        AfterExecutionEvent.success(null, null).runAfterResponse { executed << 'immediate' }
+
+        then:
+        executed == ['immediate']
+
+        when:
+        AfterResponseTasks afterResponseTasks = AfterResponseTasks.bind()
+        AfterExecutionEvent event = AfterExecutionEvent.success(null, null)
+        AfterResponseTasks.unbind()
+        event.runAfterResponse { executed << 'deferred' }
+
+        then:
+        executed == ['immediate']
+
+        when:
+        afterResponseTasks.drain()*.run()
+        event.runAfterResponse { executed << 'late' }
+
+        then:
+        executed == ['immediate', 'deferred', 'late']
+    }
+
+    void 'asynchronous dispatch does not delay the handler and is drained after the response'() {
+        given:
+        Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec.slow")
+                .properties((AfterExecutionEventConfiguration.PREFIX + '.dispatch'): 'asynchronous'))
+        SlowAfterExecutionEventListener listener = handler.applicationContext.getBean(SlowAfterExecutionEventListener)
+
+        when:
+        AfterResponseTasks afterResponseTasks = AfterResponseTasks.bind()
+        String output = handler.handleRequest('hello', Mock(Context))
+        AfterResponseTasks.unbind()
+
+        then:
+        output == 'olleh'
+        listener.threads.isEmpty() || listener.threads[0] != Thread.currentThread().name
+
+        when: 'the runtime runs the after response tasks'
+        afterResponseTasks.drain()*.run()
+
+        then:
+        listener.threads.size() == 1
+        listener.threads[0] != Thread.currentThread().name
+
+        when: 'no runtime collects the after response tasks'
+        handler.handleRequest('hello', Mock(Context))
+        handler.applicationContext.getBean(AfterExecutionEventDispatcher).drain()
+
+        then:
+        listener.threads.size() == 2
+
+        cleanup:
+        handler.close()
+    }
+
+    void 'asynchronous dispatch returns before the listeners complete when no runtime collects the after response tasks'() {
+        given:
+        Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec.latched")
+                .properties((AfterExecutionEventConfiguration.PREFIX + '.dispatch'): 'asynchronous'))
+        LatchedAfterExecutionEventListener listener = handler.applicationContext.getBean(LatchedAfterExecutionEventListener)
+
+        when:
+        String output = handler.handleRequest('hello', Mock(Context))
+
+        then: 'the handler returned while the listener is still blocked'
+        output == 'olleh'
+        listener.started.await(5, TimeUnit.SECONDS)
+        listener.completed.count == 1
+
+        when: 'the next dispatch drains the pending event'
+        listener.release.countDown()
+        handler.applicationContext.getBean(AfterExecutionEventDispatcher).drain()
+
+        then:
+        listener.completed.count == 0
+
+        cleanup:
+        listener.release.countDown()
+        handler.close()
+    }
+
+    void 'asynchronous dispatch does not await the listeners of a concurrent invocation before the response'() {
+        given:
+        Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec.firstBlocked")
+                .properties((AfterExecutionEventConfiguration.PREFIX + '.dispatch'): 'asynchronous',
+                        (AfterExecutionEventConfiguration.PREFIX + '.drain-timeout'): '10s'))
+        FirstBlockedAfterExecutionEventListener listener = handler.applicationContext.getBean(FirstBlockedAfterExecutionEventListener)
+
+        when: 'the listener of the first invocation blocks'
+        AfterResponseTasks firstTasks = AfterResponseTasks.bind()
+        handler.handleRequest('hello', Mock(Context))
+        AfterResponseTasks.unbind()
+
+        then:
+        listener.started.await(5, TimeUnit.SECONDS)
+
+        when: 'a second invocation is handled before the first one runs its after response tasks'
+        long start = System.nanoTime()
+        AfterResponseTasks secondTasks = AfterResponseTasks.bind()
+        String output = handler.handleRequest('world', Mock(Context))
+        AfterResponseTasks.unbind()
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        then: 'its response does not wait for the listener of the first invocation'
+        output == 'dlrow'
+        elapsedMillis < 5000
+        listener.completed.count == 1
+
+        when: 'each invocation awaits its own event after its response'
+        secondTasks.drain()*.run()
+        listener.release.countDown()
+        firstTasks.drain()*.run()
+
+        then:
+        listener.completed.count == 0
+        listener.events == 2
+
+        cleanup:
+        listener.release.countDown()
+        handler.close()
+    }
+
+    void 'deferred dispatch publishes the event after the response'() {
+        given:
+        Handler handler = new Handler(builderWithSpecName("AfterExecutionEventSpec.slow")
+                .properties((AfterExecutionEventConfiguration.PREFIX + '.dispatch'): 'deferred'))
+        SlowAfterExecutionEventListener listener = handler.applicationContext.getBean(SlowAfterExecutionEventListener)
+
+        when:
+        AfterResponseTasks afterResponseTasks = AfterResponseTasks.bind()
+        handler.handleRequest('hello', Mock(Context))
+        AfterResponseTasks.unbind()
+
+        then:
+        listener.threads.isEmpty()
+
+        when:
+        afterResponseTasks.drain()*.run()
+
+        then:
+        listener.threads == [Thread.currentThread().name]
+
+        cleanup:
+        handler.close()
+    }
+
     @NonNull
     private static ApplicationContextBuilder builderWithSpecName(@NonNull String specName) {
         Map<String, String> properties = Collections.singletonMap("spec.name", specName)
@@ -118,6 +304,58 @@ class AfterExecutionEventSpec extends Specification {
         contextBuilder
     }
 
+    @Requires(property = "spec.name", value = "AfterExecutionEventSpec.slow")
+    @Singleton
+    static class SlowAfterExecutionEventListener implements ApplicationEventListener<AfterExecutionEvent> {
+
+        final List<String> threads = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(AfterExecutionEvent event) {
+            Thread.sleep(100)
+            threads << Thread.currentThread().name
+        }
+    }
+
+    @Requires(property = "spec.name", value = "AfterExecutionEventSpec.firstBlocked")
+    @Singleton
+    static class FirstBlockedAfterExecutionEventListener implements ApplicationEventListener<AfterExecutionEvent> {
+
+        final CountDownLatch started = new CountDownLatch(1)
+        final CountDownLatch release = new CountDownLatch(1)
+        final CountDownLatch completed = new CountDownLatch(1)
+        final AtomicInteger invocations = new AtomicInteger()
+
+        int getEvents() {
+            invocations.get()
+        }
+
+        @Override
+        void onApplicationEvent(AfterExecutionEvent event) {
+            if (invocations.getAndIncrement() == 0) {
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                completed.countDown()
+            }
+        }
+    }
+
+    @Requires(property = "spec.name", value = "AfterExecutionEventSpec.latched")
+    @Singleton
+    static class LatchedAfterExecutionEventListener implements ApplicationEventListener<AfterExecutionEvent> {
+
+        final CountDownLatch started = new CountDownLatch(1)
+        final CountDownLatch release = new CountDownLatch(1)
+        final CountDownLatch completed = new CountDownLatch(1)
+
+        @Override
+        void onApplicationEvent(AfterExecutionEvent event) {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            completed.countDown()
+        }
+    }
+
     @Requires(property = "spec.name", value = "AfterExecutionEventSpec")
     @Singleton
     @CompileStatic
@@ -58,6 +58,86 @@ class LambdaContextSpec extends Specification {
         "XXX" == result
     }
 
+    void "Lambda Context beans are registered once and delegate to the context of the current invocation"() {
+        given:
+        ApplicationContextBuilder builder = ApplicationContext.builder()
+                .properties(Collections.singletonMap(
+                        "spec.name", "LambdaContextSpec"
+                ))
+        MicronautRequestHandler handler = new LambdaContextSpecHandler(builder)
+
+        when:
+        String first = handler.handleRequest("Foo", createContext('XXX'))
+        Context firstBean = handler.applicationContext.getBean(Context)
+        String second = handler.handleRequest("Foo", createContext('YYY'))
+
+        then:
+        'XXX' == first
+        'YYY' == second
+        firstBean.is(handler.applicationContext.getBean(Context))
+        'YYY' == firstBean.awsRequestId
+        'YYY' == CurrentLambdaContext.get().awsRequestId
+    }
+
+    void "the current Lambda Context is bound per thread"() {
+        given:
+        Context main = createContext('main')
+        Context other = createContext('other')
+        String seenByOther = null
+
+        when:
+        CurrentLambdaContext.bind(main)
+        Thread thread = Thread.start {
+            CurrentLambdaContext.bind(other)
+            seenByOther = CurrentLambdaContext.get().awsRequestId
+        }
+        thread.join()
+
+        then:
+        'other' == seenByOther
+        'main' == CurrentLambdaContext.get().awsRequestId
+
+        cleanup:
+        CurrentLambdaContext.unbind()
+    }
+
+    void "threads without a bound context see none when invocations are handled concurrently"() {
+        given:
+        CurrentLambdaContext.setConcurrent(true)
+        ApplicationContextBuilder builder = ApplicationContext.builder()
+                .properties(Collections.singletonMap(
+                        "spec.name", "LambdaContextSpec"
+                ))
+        MicronautRequestHandler handler = new LambdaContextSpecHandler(builder)
+        String seenByOther = 'unset'
+        String seenByPropagated = null
+
+        when:
+        String output = handler.handleRequest("Foo", createContext('XXX'))
+
+        then: 'the handler unbinds the context once the invocation has been handled'
+        'XXX' == output
+        !CurrentLambdaContext.find().present
+
+        when:
+        CurrentLambdaContext.bind(createContext('main'))
+        Thread other = new Thread({ seenByOther = CurrentLambdaContext.get()?.awsRequestId } as Runnable)
+        other.start()
+        other.join()
+        Thread propagated = new Thread(CurrentLambdaContext.propagate({ seenByPropagated = CurrentLambdaContext.get()?.awsRequestId } as Runnable))
+        propagated.start()
+        propagated.join()
+
+        then:
+        seenByOther == null
+        'main' == seenByPropagated
+
+        cleanup:
+        CurrentLambdaContext.unbind()
+        CurrentLambdaContext.setConcurrent(false)
+        handler.close()
+    }
+
     static interface RequestIdProvider {
         @NonNull
         Optional<String> requestId();
@@ -103,9 +183,9 @@ class LambdaContextSpec extends Specification {
         }
     }
 
-    Context createContext() {
+    Context createContext(String requestId = 'XXX') {
         Stub(Context) {
-            getAwsRequestId() >> 'XXX'
+            getAwsRequestId() >> requestId
             getIdentity() >> Mock(CognitoIdentity)
             getClientContext() >> Mock(ClientContext)
             getClientContext() >> Mock(ClientContext)
@@ -0,0 +1,50 @@
+package io.micronaut.function.aws
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.PropertySource
+import spock.lang.Specification
+
+class LambdaResourceSizingSpec extends Specification {
+
+    void "the vCPUs are derived from the memory size"() {
+        expect:
+        LambdaResourceSizing.effectiveCpus(memorySize) == cpus
+
+        where:
+        memorySize | cpus
+        128        | 1
+        1769       | 1
+        1770       | 2
+        3008       | 2
+        10240      | 6
+    }
+
+    void "pools and buffers are sized from the memory size"() {
+        when:
+        Map<String, Object> properties = LambdaResourceSizing.properties(3008)
+
+        then:
+        properties['micronaut.executors.scheduled.core-pool-size'] == 2
+        properties['micronaut.netty.event-loops.default.num-threads'] == 2
+        !properties.containsKey('aws.netty-client.max-concurrency')
+        !properties.containsKey('aws.apache-client.max-connections')
+        properties['aws.custom-runtime.buffer-max-pooled'] == 3
+        properties['aws.custom-runtime.buffer-max-retained-capacity'] == 8 * 1024 * 1024
+        LambdaResourceSizing.properties(128)['aws.custom-runtime.buffer-max-retained-capacity'] == 2 * 1024 * 1024
+    }
+
+    void "configured values take precedence over the derived ones"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder()
+                .propertySources(PropertySource.of('lambda-resource-sizing', LambdaResourceSizing.properties(128), Integer.MIN_VALUE))
+                .properties('micronaut.executors.scheduled.core-pool-size': 4)
+                .start()
+
+        expect:
+        context.getProperty('micronaut.executors.scheduled.core-pool-size', Integer).get() == 4
+        context.getProperty('micronaut.netty.event-loops.default.num-threads', Integer).get() == 1
+
+        cleanup:
+        context.close()
+    }
+}
@@ -0,0 +1,99 @@
+package io.micronaut.function.aws
+
+import com.amazonaws.services.lambda.runtime.Context
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.ApplicationContextBuilder
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.function.aws.event.AfterExecutionEvent
+import jakarta.inject.Singleton
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class MicronautAsyncRequestHandlerSpec extends Specification {
+
+    void "calls started by the handler overlap and the output is resolved once"() {
+        given:
+        FanOutHandler handler = new FanOutHandler(ApplicationContext.builder().properties('spec.name': 'MicronautAsyncRequestHandlerSpec'))
+
+        when:
+        String output = handler.handleRequest('order', Mock(Context))
+
+        then:
+        output == 'order:customer:stock'
+        handler.applicationContext.getBean(LastEventListener).lastEvent.output == output
+
+        cleanup:
+        handler.close()
+    }
+
+    void "failures of the stage are rethrown and published"() {
+        given:
+        FanOutHandler handler = new FanOutHandler(ApplicationContext.builder().properties('spec.name': 'MicronautAsyncRequestHandlerSpec'))
+
+        when:
+        handler.handleRequest('fail', Mock(Context))
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == 'boom'
+        !handler.applicationContext.getBean(LastEventListener).lastEvent.success
+
+        cleanup:
+        handler.close()
+    }
+
+    void "publishers are converted to completion stages"() {
+        expect:
+        MicronautAsyncRequestHandler.toCompletionStage(Publishers.just('value')).toCompletableFuture().get() == 'value'
+
+        when:
+        MicronautAsyncRequestHandler.toCompletionStage(Publishers.empty()).toCompletableFuture().get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof NoSuchElementException
+    }
+
+    static class FanOutHandler extends MicronautAsyncRequestHandler<String, String> {
+
+        FanOutHandler(ApplicationContextBuilder builder) {
+            super(builder)
+        }
+
+        @Override
+        protected CompletionStage<String> execute(String input) {
+            if (input == 'fail') {
+                return CompletableFuture.failedFuture(new IllegalStateException('boom'))
+            }
+            // both calls must run at the same time to complete
+            CountDownLatch latch = new CountDownLatch(2)
+            CompletableFuture<String> customer = CompletableFuture.supplyAsync { call(latch, 'customer') }
+            CompletableFuture<String> stock = CompletableFuture.supplyAsync { call(latch, 'stock') }
+            customer.thenCombine(stock, { String c, String s -> "$input:$c:$s".toString() })
+        }
+
+        private static String call(CountDownLatch latch, String result) {
+            latch.countDown()
+            assert latch.await(5, TimeUnit.SECONDS)
+            result
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'MicronautAsyncRequestHandlerSpec')
+    @Singleton
+    static class LastEventListener implements ApplicationEventListener<AfterExecutionEvent> {
+        AfterExecutionEvent lastEvent
+
+        @Override
+        void onApplicationEvent(AfterExecutionEvent event) {
+            lastEvent = event
+        }
+    }
+}
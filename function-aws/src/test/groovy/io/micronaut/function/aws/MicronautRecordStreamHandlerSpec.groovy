@@ -0,0 +1,98 @@
+package io.micronaut.function.aws
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.events.KafkaEvent
+import com.amazonaws.services.lambda.runtime.events.SQSEvent
+import spock.lang.Specification
+
+class MicronautRecordStreamHandlerSpec extends Specification {
+
+    void "records are decoded one at a time"() {
+        given:
+        SqsHandler handler = new SqsHandler()
+        String event = '''{
+            "Other": {"Records": [{"messageId": "ignored"}], "text": "] } [ {"},
+            "Records": [
+                {"messageId": "1", "body": "{\\"nested\\": [1, 2]}", "attributes": {"MessageGroupId": "a"}},
+                {"messageId": "2", "body": "quote \\" and ] brackets }"}
+            ],
+            "Trailing": "not read"
+        }'''
+
+        when:
+        handler.handleRequest(new ByteArrayInputStream(event.bytes), new ByteArrayOutputStream(), Mock(Context))
+
+        then:
+        handler.messages*.messageId == ['1', '2']
+        handler.messages[0].body == '{"nested": [1, 2]}'
+        handler.messages[0].attributes == [MessageGroupId: 'a']
+        handler.messages[1].body == 'quote " and ] brackets }'
+
+        cleanup:
+        handler.close()
+    }
+
+    void "an event without records has no records"() {
+        given:
+        SqsHandler handler = new SqsHandler()
+
+        when:
+        handler.handleRequest(new ByteArrayInputStream(event.bytes), new ByteArrayOutputStream(), Mock(Context))
+
+        then:
+        handler.messages.isEmpty()
+
+        cleanup:
+        handler.close()
+
+        where:
+        event << ['{}', '{"Records": []}', '{"Records": null}', '{"eventSource": "aws:sqs"}']
+    }
+
+    void "records grouped by key are read in turn"() {
+        given:
+        KafkaHandler handler = new KafkaHandler()
+        String event = '''{
+            "eventSource": "aws:kafka",
+            "records": {
+                "orders-0": [{"topic": "orders", "partition": 0, "offset": 1}, {"topic": "orders", "partition": 0, "offset": 2}],
+                "orders-1": [],
+                "orders-2": [{"topic": "orders", "partition": 2, "offset": 7}]
+            }
+        }'''
+
+        when:
+        handler.handleRequest(new ByteArrayInputStream(event.bytes), new ByteArrayOutputStream(), Mock(Context))
+
+        then:
+        handler.records.collect { "$it.partition:$it.offset".toString() } == ['0:1', '0:2', '2:7']
+
+        cleanup:
+        handler.close()
+    }
+
+    static class SqsHandler extends MicronautRecordStreamHandler<SQSEvent.SQSMessage> {
+
+        final List<SQSEvent.SQSMessage> messages = []
+
+        @Override
+        protected void handleRecords(Iterator<SQSEvent.SQSMessage> records, OutputStream output, Context context) throws IOException {
+            records.forEachRemaining { messages << it }
+        }
+    }
+
+    static class KafkaHandler extends MicronautRecordStreamHandler<KafkaEvent.KafkaEventRecord> {
+
+        final List<KafkaEvent.KafkaEventRecord> records = []
+
+        @Override
+        protected String getRecordsField() {
+            'records'
+        }
+
+        @Override
+        protected void handleRecords(Iterator<KafkaEvent.KafkaEventRecord> records, OutputStream output, Context context) throws IOException {
+            records.forEachRemaining { this.records << it }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.micronaut.function.aws.batch
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse
+import com.amazonaws.services.lambda.runtime.events.SQSEvent
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.ApplicationContextBuilder
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class MicronautSqsBatchHandlerSpec extends Specification {
+
+    void "messages are processed concurrently and failures are reported"() {
+        given:
+        CountDownLatch latch = new CountDownLatch(3)
+        TestBatchHandler handler = new TestBatchHandler(ApplicationContext.builder().properties(['aws.lambda.batch.concurrency': 3]), { SQSEvent.SQSMessage message ->
+            latch.countDown()
+            // every message waits for the others, which only completes if they are processed concurrently
+            assert latch.await(5, TimeUnit.SECONDS)
+            if (message.body == 'fail') {
+                throw new IllegalStateException('boom')
+            }
+        })
+
+        when:
+        SQSBatchResponse response = handler.execute(event(message('1', 'ok'), message('2', 'fail'), message('3', 'ok')))
+
+        then:
+        response.batchItemFailures*.itemIdentifier == ['2']
+
+        cleanup:
+        handler.close()
+    }
+
+    void "messages of a FIFO message group are processed in order and skipped after a failure"() {
+        given:
+        Map<String, List<String>> processed = new ConcurrentHashMap<>()
+        TestBatchHandler handler = new TestBatchHandler(ApplicationContext.builder(), { SQSEvent.SQSMessage message ->
+            processed.computeIfAbsent(message.attributes.MessageGroupId, { new CopyOnWriteArrayList<>() }) << message.messageId
+            if (message.body == 'fail') {
+                throw new IllegalStateException('boom')
+            }
+        })
+
+        when:
+        SQSBatchResponse response = handler.execute(event(
+                message('a1', 'ok', 'a'),
+                message('b1', 'ok', 'b'),
+                message('a2', 'fail', 'a'),
+                message('b2', 'ok', 'b'),
+                message('a3', 'ok', 'a'),
+                message('b3', 'ok', 'b')))
+
+        then:
+        processed['a'] == ['a1', 'a2']
+        processed['b'] == ['b1', 'b2', 'b3']
+        response.batchItemFailures*.itemIdentifier == ['a2', 'a3']
+
+        cleanup:
+        handler.close()
+    }
+
+    void "an empty batch has no failures"() {
+        given:
+        TestBatchHandler handler = new TestBatchHandler(ApplicationContext.builder(), { throw new IllegalStateException() })
+
+        expect:
+        handler.execute(new SQSEvent()).batchItemFailures.isEmpty()
+
+        cleanup:
+        handler.close()
+    }
+
+    private static SQSEvent event(SQSEvent.SQSMessage... messages) {
+        SQSEvent event = new SQSEvent()
+        event.records = messages as List
+        event
+    }
+
+    private static SQSEvent.SQSMessage message(String messageId, String body, String messageGroupId = null) {
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage()
+        message.messageId = messageId
+        message.body = body
+        message.attributes = messageGroupId ? [MessageGroupId: messageGroupId] : [:]
+        message
+    }
+
+    static class TestBatchHandler extends MicronautSqsBatchHandler {
+
+        private final Closure<?> closure
+
+        TestBatchHandler(ApplicationContextBuilder builder, Closure<?> closure) {
+            super(builder)
+            this.closure = closure
+        }
+
+        @Override
+        protected void handleMessage(SQSEvent.SQSMessage message) throws Exception {
+            closure.call(message)
+        }
+    }
+}
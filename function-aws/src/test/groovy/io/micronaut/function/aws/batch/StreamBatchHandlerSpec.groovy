@@ -0,0 +1,167 @@
+package io.micronaut.function.aws.batch
+
+import com.amazonaws.services.lambda.runtime.Context
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent
+import com.amazonaws.services.lambda.runtime.events.KinesisEvent
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+
+class StreamBatchHandlerSpec extends Specification {
+
+    void "kinesis records keep their order per partition key and the earliest failure is the checkpoint"() {
+        given:
+        Map<String, List<String>> processed = new ConcurrentHashMap<>()
+        KinesisHandler handler = new KinesisHandler({ KinesisEvent.KinesisEventRecord record ->
+            processed.computeIfAbsent(record.kinesis.partitionKey, { new CopyOnWriteArrayList<>() }) << record.kinesis.sequenceNumber
+            if (record.kinesis.sequenceNumber in ['4', '5']) {
+                throw new IllegalStateException('boom')
+            }
+        })
+
+        when:
+        StreamsEventResponse response = handler.execute(kinesisEvent(
+                ['1', 'a'], ['2', 'b'], ['3', 'a'], ['4', 'b'], ['5', 'a'], ['6', 'b'], ['7', 'a']))
+
+        then:
+        processed['a'] == ['1', '3', '5']
+        processed['b'] == ['2', '4']
+        response.batchItemFailures*.itemIdentifier == ['4']
+
+        cleanup:
+        handler.close()
+    }
+
+    void "no checkpoint is reported when every record is processed"() {
+        given:
+        KinesisHandler handler = new KinesisHandler({})
+
+        expect:
+        handler.execute(kinesisEvent(['1', 'a'], ['2', 'b'])).batchItemFailures.isEmpty()
+        handler.execute(new KinesisEvent()).batchItemFailures.isEmpty()
+
+        cleanup:
+        handler.close()
+    }
+
+    void "dynamodb records keep their order per item key"() {
+        given:
+        Map<String, List<String>> processed = new ConcurrentHashMap<>()
+        DynamodbHandler handler = new DynamodbHandler({ DynamodbEvent.DynamodbStreamRecord record ->
+            processed.computeIfAbsent(record.dynamodb.keys.id.s, { new CopyOnWriteArrayList<>() }) << record.dynamodb.sequenceNumber
+            if (record.dynamodb.sequenceNumber == '3') {
+                throw new IllegalStateException('boom')
+            }
+        })
+
+        when:
+        StreamsEventResponse response = handler.execute(dynamodbEvent(['1', 'x'], ['2', 'y'], ['3', 'x'], ['4', 'y'], ['5', 'x']))
+
+        then:
+        processed['x'] == ['1', '3']
+        processed['y'][0] == '2'
+        response.batchItemFailures*.itemIdentifier == ['3']
+
+        cleanup:
+        handler.close()
+    }
+
+    void "records without payload are handled and a failed one without sequence number fails the batch with a clear message"() {
+        given:
+        KinesisHandler handler = new KinesisHandler({ KinesisEvent.KinesisEventRecord record ->
+            if (record.kinesis == null && record.eventID == 'broken') {
+                throw new IllegalStateException('boom')
+            }
+        })
+        KinesisEvent event = kinesisEvent(['1', 'a'])
+        event.records << new KinesisEvent.KinesisEventRecord(eventID: 'empty')
+
+        expect:
+        handler.execute(event).batchItemFailures.isEmpty()
+
+        when:
+        event.records << new KinesisEvent.KinesisEventRecord(eventID: 'broken')
+        handler.execute(event)
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == 'Record broken failed and has no sequence number to resume the batch from'
+
+        cleanup:
+        handler.close()
+    }
+
+    void "the event type is resolved through the batch handler base class"() {
+        given:
+        KinesisHandler handler = new KinesisHandler({ KinesisEvent.KinesisEventRecord record ->
+            throw new IllegalStateException('boom')
+        })
+
+        expect:
+        handler.handleRequest(kinesisEvent(['1', 'a']), Mock(Context)).batchItemFailures*.itemIdentifier == ['1']
+
+        cleanup:
+        handler.close()
+    }
+
+    private static KinesisEvent kinesisEvent(List<String>... records) {
+        KinesisEvent event = new KinesisEvent()
+        event.records = records.collect { List<String> r ->
+            KinesisEvent.Record kinesis = new KinesisEvent.Record()
+            kinesis.sequenceNumber = r[0]
+            kinesis.partitionKey = r[1]
+            KinesisEvent.KinesisEventRecord record = new KinesisEvent.KinesisEventRecord()
+            record.kinesis = kinesis
+            record
+        }
+        event
+    }
+
+    private static DynamodbEvent dynamodbEvent(List<String>... records) {
+        DynamodbEvent event = new DynamodbEvent()
+        event.records = records.collect { List<String> r ->
+            StreamRecord streamRecord = new StreamRecord()
+            streamRecord.sequenceNumber = r[0]
+            streamRecord.keys = [id: new AttributeValue().withS(r[1])]
+            DynamodbEvent.DynamodbStreamRecord record = new DynamodbEvent.DynamodbStreamRecord()
+            record.dynamodb = streamRecord
+            record
+        }
+        event
+    }
+
+    static class KinesisHandler extends MicronautKinesisBatchHandler {
+
+        private final Closure<?> closure
+
+        KinesisHandler(Closure<?> closure) {
+            super(ApplicationContext.builder().properties(['aws.lambda.batch.concurrency': 2]))
+            this.closure = closure
+        }
+
+        @Override
+        protected void handleRecord(KinesisEvent.KinesisEventRecord record) throws Exception {
+            closure.call(record)
+        }
+    }
+
+    static class DynamodbHandler extends MicronautDynamodbBatchHandler {
+
+        private final Closure<?> closure
+
+        DynamodbHandler(Closure<?> closure) {
+            super(ApplicationContext.builder().properties(['aws.lambda.batch.concurrency': 2]))
+            this.closure = closure
+        }
+
+        @Override
+        protected void handleRecord(DynamodbEvent.DynamodbStreamRecord record) throws Exception {
+            closure.call(record)
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.micronaut.function.aws.init
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.function.aws.LambdaApplicationContextBuilder
+import jakarta.inject.Singleton
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+import java.util.concurrent.ConcurrentHashMap
+
+@RestoreSystemProperties
+class ParallelSingletonInitializerSpec extends Specification {
+
+    static final Map<String, String> THREADS = new ConcurrentHashMap<>()
+
+    void "singletons are initialized in parallel once the context has started"() {
+        given:
+        System.setProperty(LambdaApplicationContextBuilder.PARALLEL_INIT_PROPERTY, 'true')
+        ApplicationContext context = new LambdaApplicationContextBuilder()
+                .properties('spec.name': 'ParallelSingletonInitializerSpec')
+                .start()
+
+        when:
+        StartupTimeline timeline = context.getBean(StartupTimeline)
+
+        then: 'the singletons and their dependencies have been created during startup'
+        THREADS.keySet().containsAll(['first', 'second', 'dependency'])
+        THREADS.values().every { it != Thread.currentThread().name }
+        timeline.entries*.beanName.containsAll([FirstService.name, SecondService.name])
+        timeline.accumulatedDuration.toMillis() >= 200
+        context.getBean(FirstService).dependency.is(context.getBean(SecondService).dependency)
+
+        cleanup:
+        context.close()
+        THREADS.clear()
+    }
+
+    void "singletons are initialized sequentially by default"() {
+        given:
+        ApplicationContext context = new LambdaApplicationContextBuilder()
+                .properties('spec.name': 'ParallelSingletonInitializerSpec')
+                .start()
+
+        expect:
+        THREADS.values().every { it == Thread.currentThread().name }
+        !context.containsBean(ParallelSingletonInitializer)
+        !context.containsBean(StartupTimeline)
+
+        cleanup:
+        context.close()
+        THREADS.clear()
+    }
+
+    @Requires(property = 'spec.name', value = 'ParallelSingletonInitializerSpec')
+    @Singleton
+    static class SharedDependency {
+        SharedDependency() {
+            THREADS.dependency = Thread.currentThread().name
+            Thread.sleep(50)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ParallelSingletonInitializerSpec')
+    @Singleton
+    static class FirstService {
+        final SharedDependency dependency
+
+        FirstService(SharedDependency dependency) {
+            this.dependency = dependency
+            THREADS.first = Thread.currentThread().name
+            Thread.sleep(100)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ParallelSingletonInitializerSpec')
+    @Singleton
+    static class SecondService {
+        final SharedDependency dependency
+
+        SecondService(SharedDependency dependency) {
+            this.dependency = dependency
+            THREADS.second = Thread.currentThread().name
+            Thread.sleep(100)
+        }
+    }
+}
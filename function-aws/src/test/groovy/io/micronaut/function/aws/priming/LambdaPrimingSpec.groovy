@@ -0,0 +1,150 @@
+package io.micronaut.function.aws.priming
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import jakarta.inject.Singleton
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class LambdaPrimingSpec extends Specification {
+
+    static final List<String> CALLS = new CopyOnWriteArrayList<>()
+
+    void setup() {
+        CALLS.clear()
+    }
+
+    void "priming beans run in order around the checkpoint and failures do not stop the others"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'LambdaPrimingSpec'])
+        LambdaPrimingResource resource = context.getBean(LambdaPrimingResource)
+
+        when:
+        resource.beforeCheckpoint(null)
+
+        then:
+        CALLS == ['first.before', 'failing.before', 'second.before']
+
+        when:
+        CALLS.clear()
+        resource.afterRestore(null)
+
+        then:
+        CALLS == ['first.after', 'second.after']
+
+        cleanup:
+        context.close()
+    }
+
+    void "the json mapper priming is registered"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'LambdaPrimingSpec'])
+
+        expect:
+        context.containsBean(JsonMapperPriming)
+
+        when:
+        context.getBean(JsonMapperPriming).beforeCheckpoint()
+
+        then:
+        noExceptionThrown()
+
+        cleanup:
+        context.close()
+    }
+
+    void "the environment is refreshed after restore"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'LambdaPrimingSpec'])
+        System.setProperty('lambda.priming.spec.credential', 'restored')
+
+        when:
+        context.getBean(LambdaPrimingResource).afterRestore(null)
+
+        then:
+        context.getBean(RefreshListener).events*.source*.keySet().flatten().contains('lambda.priming.spec.credential')
+        context.getProperty('lambda.priming.spec.credential', String).get() == 'restored'
+
+        cleanup:
+        System.clearProperty('lambda.priming.spec.credential')
+        context.close()
+    }
+
+    void "priming can be disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': 'LambdaPrimingSpec', (LambdaPrimingResource.ENABLED): 'false'])
+
+        expect:
+        !context.containsBean(LambdaPrimingResource)
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'LambdaPrimingSpec')
+    @Singleton
+    static class FirstPriming implements LambdaPriming {
+        @Override
+        void beforeCheckpoint() {
+            CALLS << 'first.before'
+        }
+
+        @Override
+        void afterRestore() {
+            CALLS << 'first.after'
+        }
+
+        @Override
+        int getOrder() {
+            1
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'LambdaPrimingSpec')
+    @Singleton
+    static class FailingPriming implements LambdaPriming {
+        @Override
+        void beforeCheckpoint() {
+            CALLS << 'failing.before'
+            throw new IllegalStateException('boom')
+        }
+
+        @Override
+        int getOrder() {
+            2
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'LambdaPrimingSpec')
+    @Singleton
+    static class SecondPriming implements LambdaPriming {
+        @Override
+        void beforeCheckpoint() {
+            CALLS << 'second.before'
+        }
+
+        @Override
+        void afterRestore() {
+            CALLS << 'second.after'
+        }
+
+        @Override
+        int getOrder() {
+            3
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'LambdaPrimingSpec')
+    @Singleton
+    static class RefreshListener implements ApplicationEventListener<RefreshEvent> {
+        final List<RefreshEvent> events = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(RefreshEvent event) {
+            events << event
+        }
+    }
+}
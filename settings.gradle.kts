@@ -42,6 +42,7 @@ include("function-client-aws-v2")
 include("test-suite-function-client-aws")
 include("test-suite")
 include("test-suite-aws-sdk-v2")
+include("test-suite-benchmarks")
 include("test-suite-graal")
 include("test-suite-graal-logging")
 include("test-suite-groovy")
@@ -59,6 +60,7 @@ configure<io.micronaut.build.MicronautBuildSettingsExtension> {
     importMicronautCatalog()
     importMicronautCatalog("micronaut-discovery-client")
     importMicronautCatalog("micronaut-groovy")
+    importMicronautCatalog("micronaut-micrometer")
     importMicronautCatalog("micronaut-mongodb")
     importMicronautCatalog("micronaut-reactor")
     importMicronautCatalog("micronaut-serde")
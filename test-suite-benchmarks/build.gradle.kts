@@ -0,0 +1,24 @@
+plugins {
+    id("java-library")
+    id("io.micronaut.build.internal.aws-tests-java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    annotationProcessor(platform(mn.micronaut.core.bom))
+    annotationProcessor(mn.micronaut.inject.java)
+    implementation(platform(mn.micronaut.core.bom))
+    implementation(projects.micronautFunctionAwsCustomRuntime)
+    implementation(projects.micronautFunctionAwsApiProxy)
+    implementation(mn.micronaut.jackson.databind)
+    implementation(mn.micronaut.http.client)
+    runtimeOnly(mn.snakeyaml)
+    testImplementation(libs.junit.jupiter.params)
+    jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
+
+jmh {
+    includes.addAll(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf()))
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import io.micronaut.aws.benchmarks.emulator.LambdaRuntimeApiEmulator;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-invocation cost of decoding the request and encoding the response when the {@link JsonMapper} and the
+ * {@link Argument} are looked up for every invocation, as the custom runtime used to, with the codec plan resolved once at startup,
+ * which also sends textual bodies without the Base64 round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecPlanBenchmark {
+
+    private ApplicationContext applicationContext;
+    private JsonMapper jsonMapper;
+    private Argument<APIGatewayProxyRequestEvent> requestArgument;
+    private byte[] payload;
+
+    /**
+     * Starts the application context and resolves the mapper.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+        requestArgument = Argument.of(APIGatewayProxyRequestEvent.class);
+        payload = LambdaRuntimeApiEmulator.fixture(EmulatedRuntime.PAYLOAD_V1.getFixture());
+    }
+
+    /**
+     * Closes the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * Decodes and encodes an event looking up the mapper for each conversion.
+     *
+     * @return The encoded response body
+     * @throws IOException if the conversion fails
+     */
+    @Benchmark
+    public String lookupPerInvocation() throws IOException {
+        APIGatewayProxyRequestEvent request = null;
+        if (applicationContext.containsBean(JsonMapper.class)) {
+            request = applicationContext.getBean(JsonMapper.class).readValue(payload, Argument.of(APIGatewayProxyRequestEvent.class));
+        }
+        byte[] body = null;
+        if (applicationContext.containsBean(JsonMapper.class)) {
+            body = applicationContext.getBean(JsonMapper.class).writeValueAsBytes(Map.of("message", request.getBody()));
+        }
+        return Base64.getEncoder().encodeToString(body);
+    }
+
+    /**
+     * Decodes and encodes an event with the mapper and argument resolved up front.
+     *
+     * @return The encoded response body
+     * @throws IOException if the conversion fails
+     */
+    @Benchmark
+    public String precompiledPlan() throws IOException {
+        APIGatewayProxyRequestEvent request = jsonMapper.readValue(payload, requestArgument);
+        byte[] body = jsonMapper.writeValueAsBytes(Map.of("message", request.getBody()));
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.aws.benchmarks.emulator.InvocationResult;
+import io.micronaut.aws.benchmarks.emulator.LambdaRuntimeApiEmulator;
+import io.micronaut.function.aws.runtime.LambdaRuntimeConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the API Gateway and ALB custom runtimes through the {@link LambdaRuntimeApiEmulator}, with each transport used to
+ * communicate with the Runtime API.
+ * <p>
+ * {@link Mode#Throughput} reports invocations per second, {@link Mode#SampleTime} reports the latency percentiles
+ * and the {@code gc} profiler configured in the build reports the allocation per invocation ({@code gc.alloc.rate.norm}).
+ * Run with {@code ./gradlew :test-suite-benchmarks:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CustomRuntimeBenchmark {
+
+    @Param({"PAYLOAD_V1", "PAYLOAD_V2", "ALB"})
+    private EmulatedRuntime runtime;
+
+    @Param({"SOCKET", "HTTP_CLIENT"})
+    private LambdaRuntimeConfiguration.TransportType transport;
+
+    /**
+     * Latency, in microseconds, added by the emulator to every Runtime API call.
+     */
+    @Param({"0"})
+    private long latencyMicros;
+
+    private LambdaRuntimeApiEmulator emulator;
+    private EmulatedRuntime.Running running;
+    private byte[] payload;
+
+    /**
+     * Starts the emulator and the runtime, and sends the first invocation, which pays for the cold start.
+     *
+     * @throws Exception if the first invocation fails
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        emulator = new LambdaRuntimeApiEmulator(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros)));
+        payload = LambdaRuntimeApiEmulator.fixture(runtime.getFixture());
+        running = runtime.start(emulator, transportArgument(transport));
+        emulator.invoke(payload).get(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the runtime and the emulator.
+     *
+     * @throws InterruptedException if interrupted while waiting for the runtime to stop
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running.close();
+    }
+
+    /**
+     * @param transport The transport used to communicate with the Runtime API
+     * @return The command line argument selecting the transport
+     */
+    static String transportArgument(LambdaRuntimeConfiguration.TransportType transport) {
+        return "--" + LambdaRuntimeConfiguration.PREFIX + ".transport=" + transport.name();
+    }
+
+    /**
+     * @return The result of an invocation
+     * @throws Exception if the invocation fails
+     */
+    @Benchmark
+    public InvocationResult invoke() throws Exception {
+        InvocationResult result = emulator.invoke(payload).get(10, TimeUnit.SECONDS);
+        if (result.error()) {
+            throw new IllegalStateException("Invocation failed: " + result.bodyAsString());
+        }
+        return result;
+    }
+}
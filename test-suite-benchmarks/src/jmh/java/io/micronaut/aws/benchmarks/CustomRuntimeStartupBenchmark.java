@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.aws.benchmarks.emulator.InvocationResult;
+import io.micronaut.aws.benchmarks.emulator.LambdaRuntimeApiEmulator;
+import io.micronaut.function.aws.runtime.LambdaRuntimeConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold start of the custom runtimes with each transport: the time from starting the runtime until the response
+ * of the first invocation has been posted to the {@link LambdaRuntimeApiEmulator}.
+ * Every fork starts a single runtime, so that each measurement is a cold start of a fresh JVM.
+ * Run with {@code ./gradlew :test-suite-benchmarks:jmh -PjmhIncludes=CustomRuntimeStartupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class CustomRuntimeStartupBenchmark {
+
+    @Param({"PAYLOAD_V1", "PAYLOAD_V2", "ALB"})
+    private EmulatedRuntime runtime;
+
+    @Param({"SOCKET", "HTTP_CLIENT"})
+    private LambdaRuntimeConfiguration.TransportType transport;
+
+    private LambdaRuntimeApiEmulator emulator;
+    private EmulatedRuntime.Running running;
+    private byte[] payload;
+
+    /**
+     * Loads the payload fixture.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        payload = LambdaRuntimeApiEmulator.fixture(runtime.getFixture());
+    }
+
+    /**
+     * Starts the emulator that the runtime started by the measured cold start polls.
+     *
+     * @throws IOException if the emulator cannot be started
+     */
+    @Setup(Level.Iteration)
+    public void startEmulator() throws IOException {
+        emulator = new LambdaRuntimeApiEmulator();
+    }
+
+    /**
+     * Stops the runtime started by the measured cold start and the emulator.
+     *
+     * @throws InterruptedException if interrupted while waiting for the runtime to stop
+     */
+    @TearDown(Level.Iteration)
+    public void stop() throws InterruptedException {
+        if (running != null) {
+            running.close();
+            running = null;
+        }
+        emulator.close();
+    }
+
+    /**
+     * @return The result of the first invocation of a freshly started runtime
+     * @throws Exception if the invocation fails
+     */
+    @Benchmark
+    public InvocationResult coldStart() throws Exception {
+        running = runtime.start(emulator, CustomRuntimeBenchmark.transportArgument(transport));
+        InvocationResult result = emulator.invoke(payload).get(1, TimeUnit.MINUTES);
+        if (result.error()) {
+            throw new IllegalStateException("Invocation failed: " + result.bodyAsString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.function.aws.DiagnosticInfoPopulator;
+import io.micronaut.function.aws.MicronautRequestHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MicronautRequestHandler#handleRequest(Object, Context)} with the Lambda context wiring resolved once,
+ * against the previous wiring which looked up its collaborators and registered the context singletons on every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandleRequestBenchmark {
+
+    private EchoHandler handler;
+    private ApplicationContext applicationContext;
+    private Context context;
+
+    /**
+     * Starts the handler and its application context.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        handler = new EchoHandler();
+        applicationContext = handler.getApplicationContext();
+        context = new BenchmarkContext();
+    }
+
+    /**
+     * Closes the handler.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        handler.close();
+    }
+
+    /**
+     * Handles an invocation with the lookups resolved once per handler.
+     *
+     * @return The handler output
+     */
+    @Benchmark
+    public String handleRequest() {
+        return handler.handleRequest("hello", context);
+    }
+
+    /**
+     * Handles an invocation with the bean lookups and registrations repeated per invocation.
+     *
+     * @return The handler output
+     */
+    @Benchmark
+    public String perInvocationLookups() {
+        DiagnosticInfoPopulator mdcPopulator = null;
+        if (applicationContext.containsBean(DiagnosticInfoPopulator.class)) {
+            mdcPopulator = applicationContext.getBean(DiagnosticInfoPopulator.class);
+        }
+        applicationContext.registerSingleton(Context.class, context);
+        applicationContext.registerSingleton(LambdaLogger.class, context.getLogger());
+        if (mdcPopulator != null) {
+            mdcPopulator.populateMappingDiagnosticContextValues(context);
+            mdcPopulator.populateMappingDiagnosticContextWithXrayTraceId();
+        }
+        return handler.execute("hello");
+    }
+
+    /**
+     * Handler echoing its input.
+     */
+    public static class EchoHandler extends MicronautRequestHandler<String, String> {
+        @Override
+        public String execute(String input) {
+            return input;
+        }
+    }
+
+    /**
+     * Lambda context with fixed values.
+     */
+    static class BenchmarkContext implements Context {
+
+        private final LambdaLogger logger = new LambdaLogger() {
+            @Override
+            public void log(String message) {
+            }
+
+            @Override
+            public void log(byte[] message) {
+            }
+        };
+
+        @Override
+        public String getAwsRequestId() {
+            return "8476a536-e9f4-11e8-9739-2dfe598c3fcd";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "/aws/lambda/benchmark";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "2018/11/17/[$LATEST]a1b2c3";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:aws:lambda:us-east-1:123456789012:function:benchmark";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 300_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 512;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return logger;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
+import com.amazonaws.services.lambda.runtime.events.ApplicationLoadBalancerRequestEvent;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.ApiGatewayServletRequest;
+import io.micronaut.function.aws.proxy.alb.ApplicationLoadBalancerServletRequest;
+import io.micronaut.function.aws.proxy.alb.ApplicationLoadBalancerServletResponse;
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletRequest;
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletResponse;
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPEventServletRequest;
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPResponseServletResponse;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.servlet.http.BodyBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the body of the API Gateway and ALB proxy requests, streaming the Base 64 decoding into the consumer
+ * and decoding the body once per request, against the previous path which decoded the body to a new array for every read and copied it again for the contents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyRequestBodyBenchmark {
+
+    @Param({"PAYLOAD_V1", "PAYLOAD_V2", "ALB"})
+    private RequestType requestType;
+
+    @Param({"1024", "102400", "5242880"})
+    private int bodySize;
+
+    @Param({"true", "false"})
+    private boolean base64Encoded;
+
+    private ApplicationContext applicationContext;
+    private ConversionService conversionService;
+    private BinaryTypeConfiguration binaryTypeConfiguration;
+    private BodyBuilder bodyBuilder;
+    private String body;
+
+    /**
+     * Starts the application context and creates the request body.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        conversionService = applicationContext.getConversionService();
+        binaryTypeConfiguration = applicationContext.getBean(BinaryTypeConfiguration.class);
+        bodyBuilder = applicationContext.getBean(BodyBuilder.class);
+        String json = jsonOfSize(bodySize);
+        body = base64Encoded ? Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8)) : json;
+    }
+
+    /**
+     * Closes the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * Reads the request body through the servlet request input stream.
+     *
+     * @return The number of bytes read
+     * @throws IOException if the body cannot be read
+     */
+    @Benchmark
+    public long readInputStream() throws IOException {
+        try (InputStream inputStream = createRequest().getInputStream()) {
+            return inputStream.transferTo(OutputStreamSink.INSTANCE);
+        }
+    }
+
+    /**
+     * Binds the request body as JSON.
+     *
+     * @return The bound body
+     */
+    @Benchmark
+    public Optional<Object> jsonBody() {
+        return createRequest().getBody();
+    }
+
+    /**
+     * Reads the request body the way the servlet requests did before.
+     *
+     * @return The number of bytes read
+     * @throws IOException if the body cannot be read
+     */
+    @Benchmark
+    public long previousReadInputStream() throws IOException {
+        // decode to a new array, then copy it again as the contents did
+        byte[] bytes = base64Encoded ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+        try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
+            return inputStream.readAllBytes().length;
+        }
+    }
+
+    private ApiGatewayServletRequest<Object, ?, ?> createRequest() {
+        Map<String, String> headers = Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        return switch (requestType) {
+            case PAYLOAD_V1 -> {
+                APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent()
+                    .withHttpMethod("POST")
+                    .withPath("/body")
+                    .withHeaders(headers)
+                    .withBody(body)
+                    .withIsBase64Encoded(base64Encoded);
+                yield new ApiGatewayProxyServletRequest<>(event, new ApiGatewayProxyServletResponse<>(conversionService, binaryTypeConfiguration) { }, conversionService, bodyBuilder);
+            }
+            case PAYLOAD_V2 -> {
+                APIGatewayV2HTTPEvent event = APIGatewayV2HTTPEvent.builder()
+                    .withRawPath("/body")
+                    .withRequestContext(APIGatewayV2HTTPEvent.RequestContext.builder()
+                        .withHttp(APIGatewayV2HTTPEvent.RequestContext.Http.builder().withMethod("POST").withPath("/body").build())
+                        .build())
+                    .withHeaders(headers)
+                    .withBody(body)
+                    .withIsBase64Encoded(base64Encoded)
+                    .build();
+                yield new APIGatewayV2HTTPEventServletRequest<>(event, new APIGatewayV2HTTPResponseServletResponse<>(conversionService, binaryTypeConfiguration) { }, conversionService, bodyBuilder);
+            }
+            case ALB -> {
+                ApplicationLoadBalancerRequestEvent event = new ApplicationLoadBalancerRequestEvent();
+                event.setHttpMethod("POST");
+                event.setPath("/body");
+                event.setHeaders(headers);
+                event.setBody(body);
+                event.setIsBase64Encoded(base64Encoded);
+                yield new ApplicationLoadBalancerServletRequest<>(event, new ApplicationLoadBalancerServletResponse<>(conversionService, binaryTypeConfiguration) { }, conversionService, bodyBuilder);
+            }
+        };
+    }
+
+    private static String jsonOfSize(int size) {
+        StringBuilder json = new StringBuilder(size + 32).append("{\"items\":[");
+        int index = 0;
+        while (json.length() < size - 16) {
+            if (index > 0) {
+                json.append(',');
+            }
+            json.append('"').append("item-").append(index++).append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Proxy event types.
+     */
+    public enum RequestType {
+        PAYLOAD_V1,
+        PAYLOAD_V2,
+        ALB
+    }
+
+    /**
+     * Output stream discarding everything written to it.
+     */
+    static final class OutputStreamSink extends OutputStream {
+
+        static final OutputStreamSink INSTANCE = new OutputStreamSink();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.function.BinaryTypeConfiguration;
+import io.micronaut.function.aws.proxy.AbstractServletHttpResponse;
+import io.micronaut.function.aws.proxy.MapCollapseUtils;
+import io.micronaut.function.aws.proxy.alb.ApplicationLoadBalancerServletResponse;
+import io.micronaut.function.aws.proxy.payload1.ApiGatewayProxyServletResponse;
+import io.micronaut.function.aws.proxy.payload2.APIGatewayV2HTTPResponseServletResponse;
+import io.micronaut.http.CaseInsensitiveMutableHttpHeaders;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time and, with the {@code gc} profiler, the allocations of encoding the API Gateway and ALB proxy responses,
+ * against the previous encoding which copied the body out of the buffer, MIME Base64 encoded it and always built both header maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyResponseEncodingBenchmark {
+
+    @Param({"PAYLOAD_V1", "PAYLOAD_V2", "ALB"})
+    private ResponseType responseType;
+
+    @Param({"1024", "102400", "1048576"})
+    private int bodySize;
+
+    @Param({"true", "false"})
+    private boolean binary;
+
+    private ApplicationContext applicationContext;
+    private ConversionService conversionService;
+    private BinaryTypeConfiguration binaryTypeConfiguration;
+    private byte[] payload;
+    private MediaType mediaType;
+
+    /**
+     * Starts the application context and creates the response body.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        conversionService = applicationContext.getConversionService();
+        binaryTypeConfiguration = applicationContext.getBean(BinaryTypeConfiguration.class);
+        payload = new byte[bodySize];
+        if (binary) {
+            new Random(42).nextBytes(payload);
+        } else {
+            for (int i = 0; i < bodySize; i++) {
+                payload[i] = (byte) ('a' + i % 26);
+            }
+        }
+        mediaType = binary ? MediaType.IMAGE_PNG_TYPE : MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    /**
+     * Closes the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * Encodes a response with the current servlet responses.
+     *
+     * @return The native response
+     * @throws IOException if the body cannot be written
+     */
+    @Benchmark
+    public Object encode() throws IOException {
+        AbstractServletHttpResponse<?, Object> response = createResponse();
+        response.contentType(mediaType);
+        response.header(HttpHeaders.SET_COOKIE, "a=1");
+        response.header(HttpHeaders.SET_COOKIE, "b=2");
+        response.getOutputStream().write(payload);
+        return response.getNativeResponse();
+    }
+
+    /**
+     * Encodes a response the way the servlet responses did before.
+     *
+     * @param blackhole The blackhole consuming the encoded parts
+     * @throws IOException if the body cannot be written
+     */
+    @Benchmark
+    public void previousEncode(Blackhole blackhole) throws IOException {
+        MutableHttpHeaders headers = new CaseInsensitiveMutableHttpHeaders(conversionService);
+        headers.contentType(mediaType);
+        headers.add(HttpHeaders.SET_COOKIE, "a=1");
+        headers.add(HttpHeaders.SET_COOKIE, "b=2");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(payload);
+        blackhole.consume(MapCollapseUtils.getSingleValueHeaders(headers));
+        blackhole.consume(MapCollapseUtils.getMultiHeaders(headers));
+        if (binary) {
+            blackhole.consume(Base64.getMimeEncoder().encodeToString(body.toByteArray()));
+        } else {
+            blackhole.consume(body.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private AbstractServletHttpResponse<?, Object> createResponse() {
+        return switch (responseType) {
+            case PAYLOAD_V1 -> new ApiGatewayProxyServletResponse<>(conversionService, binaryTypeConfiguration) { };
+            case PAYLOAD_V2 -> new APIGatewayV2HTTPResponseServletResponse<>(conversionService, binaryTypeConfiguration) { };
+            case ALB -> new ApplicationLoadBalancerServletResponse<>(conversionService, binaryTypeConfiguration) { };
+        };
+    }
+
+    /**
+     * Proxy response types.
+     */
+    public enum ResponseType {
+        PAYLOAD_V1,
+        PAYLOAD_V2,
+        ALB
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.aws.benchmarks.emulator.LambdaRuntimeApiEmulator;
+import io.micronaut.function.aws.runtime.APIGatewayV2HTTPEventMicronautLambdaRuntime;
+import io.micronaut.function.aws.runtime.AbstractMicronautLambdaRuntime;
+import io.micronaut.function.aws.runtime.ApplicationLoadBalancerMicronautLambdaRuntime;
+import io.micronaut.function.aws.runtime.MicronautLambdaRuntime;
+import io.micronaut.function.aws.runtime.ReservedRuntimeEnvironmentVariables;
+
+import java.net.MalformedURLException;
+import java.util.function.Function;
+
+/**
+ * The custom runtimes exercised by the benchmarks, each paired with the payload fixture it understands.
+ */
+public enum EmulatedRuntime {
+
+    PAYLOAD_V1("payload-v1", runtimeApi -> new MicronautLambdaRuntime() {
+        @Override
+        protected String getEnv(String name) {
+            return resolveEnv(name, runtimeApi, super.getEnv(name));
+        }
+    }),
+
+    PAYLOAD_V2("payload-v2", runtimeApi -> new APIGatewayV2HTTPEventMicronautLambdaRuntime() {
+        @Override
+        protected String getEnv(String name) {
+            return resolveEnv(name, runtimeApi, super.getEnv(name));
+        }
+    }),
+
+    ALB("alb", runtimeApi -> new ApplicationLoadBalancerMicronautLambdaRuntime() {
+        @Override
+        protected String getEnv(String name) {
+            return resolveEnv(name, runtimeApi, super.getEnv(name));
+        }
+    });
+
+    private final String fixture;
+    private final Function<String, AbstractMicronautLambdaRuntime<?, ?, ?, ?>> factory;
+
+    EmulatedRuntime(String fixture, Function<String, AbstractMicronautLambdaRuntime<?, ?, ?, ?>> factory) {
+        this.fixture = fixture;
+        this.factory = factory;
+    }
+
+    /**
+     * @return The name of the payload fixture sent to this runtime
+     */
+    public String getFixture() {
+        return fixture;
+    }
+
+    /**
+     * Starts the runtime on a daemon thread, polling the given emulator.
+     *
+     * @param emulator The Runtime API emulator
+     * @param args The command line arguments of the runtime, for example {@code --aws.custom-runtime.transport=HTTP_CLIENT}
+     * @return The running runtime, to close once done with it
+     */
+    public Running start(LambdaRuntimeApiEmulator emulator, String... args) {
+        String runtimeApi = emulator.getRuntimeApi();
+        AbstractMicronautLambdaRuntime<?, ?, ?, ?> runtime = factory.apply(runtimeApi);
+        Thread thread = new Thread(() -> {
+            try {
+                runtime.run(args);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid Runtime API " + runtimeApi, e);
+            }
+        }, "lambda-runtime-" + fixture);
+        thread.setDaemon(true);
+        thread.start();
+        return new Running(emulator, thread);
+    }
+
+    private static String resolveEnv(String name, String runtimeApi, String value) {
+        return ReservedRuntimeEnvironmentVariables.AWS_LAMBDA_RUNTIME_API.equals(name) ? runtimeApi : value;
+    }
+
+    /**
+     * A runtime started by {@link #start(LambdaRuntimeApiEmulator, String...)}.
+     */
+    public static final class Running implements AutoCloseable {
+
+        private static final long STOP_TIMEOUT_MILLIS = 30_000;
+
+        private final LambdaRuntimeApiEmulator emulator;
+        private final Thread thread;
+
+        private Running(LambdaRuntimeApiEmulator emulator, Thread thread) {
+            this.emulator = emulator;
+            this.thread = thread;
+        }
+
+        /**
+         * Stops the runtime. The emulator is closed, which fails the pending call to the {@code next} endpoint and ends the event
+         * loop of the runtime, and the thread running it is awaited.
+         *
+         * @throws InterruptedException if interrupted while waiting for the runtime to stop
+         * @throws IllegalStateException if the runtime does not stop in time
+         */
+        @Override
+        public void close() throws InterruptedException {
+            emulator.close();
+            thread.join(STOP_TIMEOUT_MILLIS);
+            if (thread.isAlive()) {
+                throw new IllegalStateException("The runtime " + thread.getName() + " did not stop");
+            }
+        }
+    }
+}
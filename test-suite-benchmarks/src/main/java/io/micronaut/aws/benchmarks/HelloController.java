@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+
+import java.util.Map;
+
+/**
+ * Controller invoked by the payload fixtures.
+ */
+@Controller("/hello")
+public class HelloController {
+
+    /**
+     * @param greeting The request body
+     * @return A greeting
+     */
+    @Post
+    public Map<String, String> hello(@Body Greeting greeting) {
+        return Map.of("message", "Hello " + greeting.name());
+    }
+
+    /**
+     * @param name The name to greet
+     */
+    @Introspected
+    public record Greeting(String name) {
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks.emulator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The outcome of an invocation sent through the {@link LambdaRuntimeApiEmulator}.
+ *
+ * @param requestId The request id
+ * @param error Whether the runtime reported the invocation as failed
+ * @param errorType The value of the {@code Lambda-Runtime-Function-Error-Type} header or {@code null}
+ * @param body The response or error body
+ * @param nanos The time elapsed between the invocation being queued and its response being received
+ */
+public record InvocationResult(String requestId, boolean error, String errorType, byte[] body, long nanos) {
+
+    /**
+     * @return The body decoded as UTF-8
+     */
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
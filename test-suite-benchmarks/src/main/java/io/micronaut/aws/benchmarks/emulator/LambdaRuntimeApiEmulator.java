@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aws.benchmarks.emulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process implementation of the <a href="https://docs.aws.amazon.com/lambda/latest/dg/runtimes-api.html">AWS Lambda Runtime API</a>.
+ * It serves the {@code next}, {@code response}, {@code error} and {@code init/error} endpoints so that a custom runtime can be driven
+ * through many invocations without deploying it.
+ *
+ * <pre>
+ * try (LambdaRuntimeApiEmulator emulator = new LambdaRuntimeApiEmulator(Duration.ZERO)) {
+ *     // start a runtime whose AWS_LAMBDA_RUNTIME_API points to emulator.getRuntimeApi()
+ *     InvocationResult result = emulator.invoke(LambdaRuntimeApiEmulator.fixture("payload-v2")).get();
+ * }
+ * </pre>
+ *
+ * @since 4.8.0
+ */
+public class LambdaRuntimeApiEmulator implements Closeable {
+
+    private static final String INVOCATION_PREFIX = "/2018-06-01/runtime/invocation/";
+    private static final String INIT_ERROR = "/2018-06-01/runtime/init/error";
+    private static final String NEXT = "next";
+    private static final String RESPONSE = "/response";
+    private static final String ERROR = "/error";
+    private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:123456789012:function:emulator";
+    private static final String ERROR_TYPE_HEADER = "Lambda-Runtime-Function-Error-Type";
+    private static final Duration DEFAULT_DEADLINE = Duration.ofMinutes(15);
+
+    private final HttpServer server;
+    private final ExecutorService executorService;
+    private final Duration latency;
+    private final BlockingQueue<PendingInvocation> queue = new LinkedBlockingQueue<>();
+    private final Map<String, PendingInvocation> inFlight = new ConcurrentHashMap<>();
+    private final List<String> initializationErrors = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Starts an emulator without artificial latency.
+     *
+     * @throws IOException if the server cannot be bound
+     */
+    public LambdaRuntimeApiEmulator() throws IOException {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * Starts an emulator listening on an ephemeral loopback port.
+     *
+     * @param latency Latency added to every Runtime API call, to simulate the round trip to the Lambda service
+     * @throws IOException if the server cannot be bound
+     */
+    public LambdaRuntimeApiEmulator(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executorService = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "lambda-runtime-api-emulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executorService);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return The value to use as {@code AWS_LAMBDA_RUNTIME_API}
+     */
+    public String getRuntimeApi() {
+        return server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return The bodies posted to the initialization error endpoint
+     */
+    public List<String> getInitializationErrors() {
+        return initializationErrors;
+    }
+
+    /**
+     * Queues an invocation. It is handed to the runtime on its next call to the {@code next} endpoint.
+     *
+     * @param payload The invocation event
+     * @return A future completed once the runtime has posted the response or the error
+     */
+    public CompletableFuture<InvocationResult> invoke(byte[] payload) {
+        PendingInvocation invocation = new PendingInvocation(UUID.randomUUID().toString(), payload, System.nanoTime());
+        queue.add(invocation);
+        return invocation.result;
+    }
+
+    /**
+     * Loads a payload fixture from the classpath resource {@code fixtures/<name>.json}.
+     *
+     * @param name The fixture name, for example {@code payload-v1}, {@code payload-v2} or {@code alb}
+     * @return The fixture content
+     */
+    public static byte[] fixture(String name) {
+        String resource = "fixtures/" + name + ".json";
+        try (InputStream inputStream = LambdaRuntimeApiEmulator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("No fixture found at " + resource);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops the emulator, failing the calls in progress. Closing an emulator which is already closed has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        server.stop(0);
+        executorService.shutdownNow();
+        inFlight.values().forEach(invocation -> invocation.result.cancel(false));
+        queue.forEach(invocation -> invocation.result.cancel(false));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            simulateLatency();
+            if (path.equals(INIT_ERROR)) {
+                initializationErrors.add(new String(body));
+                exchange.sendResponseHeaders(202, -1);
+            } else if (path.equals(INVOCATION_PREFIX + NEXT)) {
+                next(exchange);
+            } else if (path.startsWith(INVOCATION_PREFIX) && path.endsWith(RESPONSE)) {
+                complete(exchange, path.substring(INVOCATION_PREFIX.length(), path.length() - RESPONSE.length()), false, body);
+            } else if (path.startsWith(INVOCATION_PREFIX) && path.endsWith(ERROR)) {
+                complete(exchange, path.substring(INVOCATION_PREFIX.length(), path.length() - ERROR.length()), true, body);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        }
+    }
+
+    private void next(HttpExchange exchange) throws IOException {
+        PendingInvocation invocation;
+        try {
+            invocation = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+            return;
+        }
+        inFlight.put(invocation.requestId, invocation);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", invocation.requestId);
+        exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms", String.valueOf(System.currentTimeMillis() + DEFAULT_DEADLINE.toMillis()));
+        exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn", FUNCTION_ARN);
+        exchange.getResponseHeaders().add("Lambda-Runtime-Trace-Id", "Root=1-" + invocation.requestId.replace("-", "").substring(0, 8) + "-" + invocation.requestId.replace("-", "").substring(8) + ";Sampled=0");
+        exchange.sendResponseHeaders(200, invocation.payload.length);
+        exchange.getResponseBody().write(invocation.payload);
+    }
+
+    private void complete(HttpExchange exchange, String requestId, boolean error, byte[] body) throws IOException {
+        PendingInvocation invocation = inFlight.remove(requestId);
+        if (invocation == null) {
+            exchange.sendResponseHeaders(400, -1);
+            return;
+        }
+        String errorType = exchange.getRequestHeaders().getFirst(ERROR_TYPE_HEADER);
+        exchange.sendResponseHeaders(202, -1);
+        invocation.result.complete(new InvocationResult(requestId, error, errorType, body, System.nanoTime() - invocation.queuedAt));
+    }
+
+    private void simulateLatency() {
+        if (!latency.isZero()) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(latency.toNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record PendingInvocation(String requestId, byte[] payload, long queuedAt, CompletableFuture<InvocationResult> result) {
+        PendingInvocation(String requestId, byte[] payload, long queuedAt) {
+            this(requestId, payload, queuedAt, new CompletableFuture<>());
+        }
+    }
+}
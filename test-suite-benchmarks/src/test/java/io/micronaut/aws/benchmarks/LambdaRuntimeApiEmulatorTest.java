@@ -0,0 +1,46 @@
+package io.micronaut.aws.benchmarks;
+
+import io.micronaut.aws.benchmarks.emulator.InvocationResult;
+import io.micronaut.aws.benchmarks.emulator.LambdaRuntimeApiEmulator;
+import io.micronaut.function.aws.runtime.LambdaRuntimeConfiguration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LambdaRuntimeApiEmulatorTest {
+
+    @ParameterizedTest
+    @EnumSource(EmulatedRuntime.class)
+    void runtimeIsDrivenThroughTheEmulator(EmulatedRuntime runtime) throws Exception {
+        try (LambdaRuntimeApiEmulator emulator = new LambdaRuntimeApiEmulator();
+             EmulatedRuntime.Running ignored = runtime.start(emulator)) {
+            byte[] payload = LambdaRuntimeApiEmulator.fixture(runtime.getFixture());
+            for (int i = 0; i < 20; i++) {
+                InvocationResult result = emulator.invoke(payload).get(30, TimeUnit.SECONDS);
+                assertFalse(result.error(), result::bodyAsString);
+                assertTrue(result.bodyAsString().contains("Hello Micronaut"), result::bodyAsString);
+            }
+            assertEquals(0, emulator.getInitializationErrors().size());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LambdaRuntimeConfiguration.TransportType.class)
+    void runtimeIsDrivenThroughTheEmulatorWithEachTransport(LambdaRuntimeConfiguration.TransportType transport) throws Exception {
+        try (LambdaRuntimeApiEmulator emulator = new LambdaRuntimeApiEmulator();
+             EmulatedRuntime.Running ignored = EmulatedRuntime.PAYLOAD_V2.start(emulator, "--" + LambdaRuntimeConfiguration.PREFIX + ".transport=" + transport.name())) {
+            byte[] payload = LambdaRuntimeApiEmulator.fixture(EmulatedRuntime.PAYLOAD_V2.getFixture());
+            for (int i = 0; i < 5; i++) {
+                InvocationResult result = emulator.invoke(payload).get(30, TimeUnit.SECONDS);
+                assertFalse(result.error(), result::bodyAsString);
+                assertTrue(result.bodyAsString().contains("Hello Micronaut"), result::bodyAsString);
+            }
+            assertEquals(0, emulator.getInitializationErrors().size());
+        }
+    }
+}